@@ -1,6 +1,7 @@
 package com.laundrypro.DTO;
 
 import com.laundrypro.model.Notification;
+import com.laundrypro.repository.projection.NotificationRow;
 
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
@@ -19,18 +20,43 @@ public class NotificationDTO {
     }
 
     public NotificationDTO(Notification notification) {
+        this(notification, notification.isRead(), notification.getReadAt());
+    }
+
+    // Broadcast rows are shared, so their read state comes from the reader's own receipts
+    public NotificationDTO(Notification notification, boolean read, LocalDateTime readAt) {
         this.id = notification.getNotificationID();
         this.message = notification.getMessage();
         this.type = notification.getType();
         this.entityId = notification.getEntityId();
         this.entityType = notification.getEntityType();
-        this.isRead = notification.isRead();
+        this.isRead = read;
 
         DateTimeFormatter formatter = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
         this.createdAt = notification.getCreatedAt().format(formatter);
 
-        if (notification.getReadAt() != null) {
-            this.readAt = notification.getReadAt().format(formatter);
+        if (readAt != null) {
+            this.readAt = readAt.format(formatter);
+        }
+    }
+
+    public NotificationDTO(NotificationRow row) {
+        this(row, row.isRead(), row.getReadAt());
+    }
+
+    public NotificationDTO(NotificationRow row, boolean read, LocalDateTime readAt) {
+        this.id = row.getNotificationId();
+        this.message = row.getMessage();
+        this.type = row.getType();
+        this.entityId = row.getEntityId();
+        this.entityType = row.getEntityType();
+        this.isRead = read;
+
+        DateTimeFormatter formatter = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+        this.createdAt = row.getCreatedAt().format(formatter);
+
+        if (readAt != null) {
+            this.readAt = readAt.format(formatter);
         }
     }
 
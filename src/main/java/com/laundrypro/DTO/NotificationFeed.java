@@ -0,0 +1,20 @@
+package com.laundrypro.DTO;
+
+import java.util.List;
+
+public class NotificationFeed {
+    private List<NotificationDTO> items;
+    private String nextCursor; // null on the last page
+
+    public NotificationFeed() {}
+
+    public NotificationFeed(List<NotificationDTO> items, String nextCursor) {
+        this.items = items;
+        this.nextCursor = nextCursor;
+    }
+
+    public List<NotificationDTO> getItems() { return items; }
+    public void setItems(List<NotificationDTO> items) { this.items = items; }
+    public String getNextCursor() { return nextCursor; }
+    public void setNextCursor(String nextCursor) { this.nextCursor = nextCursor; }
+}
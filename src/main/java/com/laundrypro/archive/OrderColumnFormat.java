@@ -0,0 +1,45 @@
+package com.laundrypro.archive;
+
+/**
+ * Layout of an archived period's order facts. All numbers are big-endian.
+ * <pre>
+ * int     MAGIC, int VERSION
+ * long    period start, long period end (epoch days, inclusive)
+ * long    row count
+ * dict    service types, dict statuses  (int count, then per entry: short byte length + UTF-8)
+ * long[2] offset and length of each column, in COLUMNS order
+ * column data
+ * </pre>
+ * Columns hold one value per row, in row order:
+ * <ul>
+ *   <li>date: epoch seconds, zigzag varint delta from the previous row (rows are written in
+ *       date order, so most deltas take one or two bytes)</li>
+ *   <li>customer: varint of customer id + 1, 0 for none</li>
+ *   <li>service type, status: varint index into the file's dictionary</li>
+ *   <li>cents: zigzag varint of the order total in cents</li>
+ * </ul>
+ * Nothing needs to be inflated before reading, so a reader scans the columns straight out
+ * of a memory-mapped file.
+ */
+final class OrderColumnFormat {
+
+    static final int MAGIC = 0x4C504F43; // "LPOC"
+    static final int VERSION = 1;
+
+    static final int DATE = 0;
+    static final int CUSTOMER = 1;
+    static final int SERVICE_TYPE = 2;
+    static final int CENTS = 3;
+    static final int STATUS = 4;
+    static final int COLUMNS = 5;
+
+    private OrderColumnFormat() { }
+
+    static long zigzag(long v) {
+        return (v << 1) ^ (v >> 63);
+    }
+
+    static long unzigzag(long v) {
+        return (v >>> 1) ^ -(v & 1);
+    }
+}
@@ -0,0 +1,137 @@
+package com.laundrypro.archive;
+
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Reads an {@link OrderColumnFormat} file through read-only memory mappings, one per column,
+ * so the file as a whole may exceed 2 GB; a single column may not. The mappings are shared
+ * by all scans of this reader and released by the garbage collector once the reader is
+ * unreachable; pages stay in the OS cache between readers.
+ */
+public final class OrderColumnReader {
+
+    public static final int NO_CUSTOMER = -1;
+
+    // Receives one archived order per call, in date order
+    @FunctionalInterface
+    public interface Visitor {
+        void order(long epochSecond, int customerId, int serviceType, long cents, int status);
+    }
+
+    private final LocalDate periodStart;
+    private final LocalDate periodEnd;
+    private final long rows;
+    private final List<String> serviceTypes;
+    private final List<String> statuses;
+    private final ByteBuffer[] columns = new ByteBuffer[OrderColumnFormat.COLUMNS];
+
+    private OrderColumnReader(FileChannel channel) throws IOException {
+        long size = channel.size();
+        // The header is small and read as a stream; only the columns are mapped
+        DataInputStream header = new DataInputStream(new BufferedInputStream(Channels.newInputStream(channel)));
+        if (size < 8 || header.readInt() != OrderColumnFormat.MAGIC) {
+            throw new IllegalArgumentException("Not an order column file");
+        }
+        int version = header.readInt();
+        if (version != OrderColumnFormat.VERSION) {
+            throw new IllegalArgumentException("Unsupported order column file version " + version);
+        }
+        long[] offsets = new long[OrderColumnFormat.COLUMNS];
+        long[] lengths = new long[OrderColumnFormat.COLUMNS];
+        try {
+            periodStart = LocalDate.ofEpochDay(header.readLong());
+            periodEnd = LocalDate.ofEpochDay(header.readLong());
+            rows = header.readLong();
+            serviceTypes = readDictionary(header);
+            statuses = readDictionary(header);
+            for (int i = 0; i < OrderColumnFormat.COLUMNS; i++) {
+                offsets[i] = header.readLong();
+                lengths[i] = header.readLong();
+            }
+        } catch (EOFException e) {
+            throw new IllegalArgumentException("Order column file is truncated");
+        }
+        for (int i = 0; i < OrderColumnFormat.COLUMNS; i++) {
+            if (offsets[i] < 0 || lengths[i] < 0 || lengths[i] > size - offsets[i]) {
+                throw new IllegalArgumentException("Order column file is truncated");
+            }
+            // A ByteBuffer is indexed by int
+            if (lengths[i] > Integer.MAX_VALUE) {
+                throw new IllegalArgumentException("Order column " + i + " is larger than 2 GB");
+            }
+            columns[i] = channel.map(FileChannel.MapMode.READ_ONLY, offsets[i], lengths[i]);
+        }
+    }
+
+    public static OrderColumnReader open(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            // The mappings stay valid after the channel is closed
+            return new OrderColumnReader(channel);
+        }
+    }
+
+    public LocalDate getPeriodStart() { return periodStart; }
+    public LocalDate getPeriodEnd() { return periodEnd; }
+    public long getRows() { return rows; }
+    public List<String> getServiceTypes() { return serviceTypes; }
+    public List<String> getStatuses() { return statuses; }
+
+    // Decodes the five columns in lockstep and hands every row to the visitor
+    public void scan(Visitor visitor) {
+        ByteBuffer date = column(OrderColumnFormat.DATE);
+        ByteBuffer customer = column(OrderColumnFormat.CUSTOMER);
+        ByteBuffer serviceType = column(OrderColumnFormat.SERVICE_TYPE);
+        ByteBuffer cents = column(OrderColumnFormat.CENTS);
+        ByteBuffer status = column(OrderColumnFormat.STATUS);
+        long second = 0;
+        for (long i = 0; i < rows; i++) {
+            second += OrderColumnFormat.unzigzag(readVarLong(date));
+            visitor.order(second,
+                    (int) (readVarLong(customer) - 1),
+                    (int) readVarLong(serviceType),
+                    OrderColumnFormat.unzigzag(readVarLong(cents)),
+                    (int) readVarLong(status));
+        }
+    }
+
+    private ByteBuffer column(int column) {
+        return columns[column].duplicate();
+    }
+
+    private static long readVarLong(ByteBuffer buffer) {
+        long value = 0;
+        int shift = 0;
+        byte b;
+        do {
+            b = buffer.get();
+            value |= (long) (b & 0x7F) << shift;
+            shift += 7;
+        } while (b < 0);
+        return value;
+    }
+
+    private static List<String> readDictionary(DataInputStream header) throws IOException {
+        int count = header.readInt();
+        if (count < 0) throw new IllegalArgumentException("Order column file is corrupt");
+        List<String> values = new ArrayList<>(Math.min(count, 1024));
+        for (int i = 0; i < count; i++) {
+            byte[] bytes = new byte[header.readUnsignedShort()];
+            header.readFully(bytes);
+            values.add(new String(bytes, StandardCharsets.UTF_8));
+        }
+        return Collections.unmodifiableList(values);
+    }
+}
@@ -0,0 +1,135 @@
+package com.laundrypro.archive;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.LocalDate;
+import java.util.*;
+
+/**
+ * Collects order facts column by column and writes them as one {@link OrderColumnFormat}
+ * file. Columns are buffered in memory at a few bytes per row until {@link #writeTo}, each
+ * up to {@link #MAX_COLUMN_BYTES}; at one to five bytes a value that is hundreds of millions
+ * of orders per period, and the same limit the reader's per-column mapping has.
+ */
+public final class OrderColumnWriter {
+
+    // Largest byte array the JVM reliably allocates
+    public static final int MAX_COLUMN_BYTES = Integer.MAX_VALUE - 8;
+
+    private final LocalDate periodStart;
+    private final LocalDate periodEnd;
+    private final ColumnBuffer[] columns = new ColumnBuffer[OrderColumnFormat.COLUMNS];
+    private final Map<String, Integer> serviceTypes = new LinkedHashMap<>();
+    private final Map<String, Integer> statuses = new LinkedHashMap<>();
+    private long previousSecond;
+    private long rows;
+
+    public OrderColumnWriter(LocalDate periodStart, LocalDate periodEnd) {
+        this.periodStart = periodStart;
+        this.periodEnd = periodEnd;
+        for (int i = 0; i < columns.length; i++) columns[i] = new ColumnBuffer();
+    }
+
+    public void add(Date date, Integer customerId, String serviceType, long cents, String status) {
+        long second = Math.floorDiv(date.getTime(), 1000L);
+        columns[OrderColumnFormat.DATE].writeVarLong(OrderColumnFormat.zigzag(second - previousSecond));
+        previousSecond = second;
+        columns[OrderColumnFormat.CUSTOMER].writeVarLong(customerId == null ? 0L : customerId + 1L);
+        columns[OrderColumnFormat.SERVICE_TYPE].writeVarLong(index(serviceTypes, serviceType));
+        columns[OrderColumnFormat.CENTS].writeVarLong(OrderColumnFormat.zigzag(cents));
+        columns[OrderColumnFormat.STATUS].writeVarLong(index(statuses, status));
+        rows++;
+    }
+
+    public long getRows() { return rows; }
+
+    // Writes to a temporary sibling first and moves it into place, so readers never see a partial file
+    public long writeTo(Path path) throws IOException {
+        Path dir = path.toAbsolutePath().getParent();
+        Files.createDirectories(dir);
+        Path tmp = Files.createTempFile(dir, path.getFileName().toString(), ".tmp");
+        try {
+            try (OutputStream file = Files.newOutputStream(tmp);
+                 DataOutputStream out = new DataOutputStream(new BufferedOutputStream(file, 64 * 1024))) {
+                writeHeaderAndColumns(out);
+            }
+            Files.move(tmp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(tmp);
+        }
+        return Files.size(path);
+    }
+
+    private void writeHeaderAndColumns(DataOutputStream out) throws IOException {
+        ByteArrayOutputStream headerBytes = new ByteArrayOutputStream();
+        DataOutputStream header = new DataOutputStream(headerBytes);
+        header.writeInt(OrderColumnFormat.MAGIC);
+        header.writeInt(OrderColumnFormat.VERSION);
+        header.writeLong(periodStart.toEpochDay());
+        header.writeLong(periodEnd.toEpochDay());
+        header.writeLong(rows);
+        writeDictionary(header, serviceTypes.keySet());
+        writeDictionary(header, statuses.keySet());
+
+        long offset = header.size() + OrderColumnFormat.COLUMNS * 16L;
+        for (ColumnBuffer column : columns) {
+            header.writeLong(offset);
+            header.writeLong(column.size());
+            offset += column.size();
+        }
+
+        headerBytes.writeTo(out);
+        for (ColumnBuffer column : columns) {
+            column.writeTo(out);
+        }
+    }
+
+    private static void writeDictionary(DataOutputStream out, Set<String> values) throws IOException {
+        out.writeInt(values.size());
+        for (String value : values) {
+            byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+            out.writeShort(bytes.length);
+            out.write(bytes);
+        }
+    }
+
+    private static int index(Map<String, Integer> dictionary, String value) {
+        String key = value == null ? "" : value.trim();
+        return dictionary.computeIfAbsent(key, k -> dictionary.size());
+    }
+
+    // Unsynchronised growable byte array with varint writes
+    private static final class ColumnBuffer {
+        private byte[] bytes = new byte[4096];
+        private int size;
+
+        void writeVarLong(long v) {
+            if (size + 10 > bytes.length) grow();
+            while ((v & ~0x7FL) != 0) {
+                bytes[size++] = (byte) ((v & 0x7F) | 0x80);
+                v >>>= 7;
+            }
+            bytes[size++] = (byte) v;
+        }
+
+        private void grow() {
+            if (bytes.length >= MAX_COLUMN_BYTES) {
+                throw new IllegalStateException("Order column exceeds " + MAX_COLUMN_BYTES + " bytes; archive a shorter period");
+            }
+            bytes = Arrays.copyOf(bytes, (int) Math.min((long) bytes.length * 2, MAX_COLUMN_BYTES));
+        }
+
+        int size() { return size; }
+
+        void writeTo(OutputStream out) throws IOException {
+            out.write(bytes, 0, size);
+        }
+    }
+}
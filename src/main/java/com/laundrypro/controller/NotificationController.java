@@ -2,10 +2,17 @@ package com.laundrypro.controller;
 
 import com.laundrypro.DTO.NotificationDTO;
 import com.laundrypro.service.NotificationService;
+import com.laundrypro.web.notification.NotificationStream;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Map;
 
@@ -14,10 +21,12 @@ import java.util.Map;
 public class NotificationController {
 
     private final NotificationService notificationService;
+    private final NotificationStream notificationStream;
 
     @Autowired
-    public NotificationController(NotificationService notificationService) {
+    public NotificationController(NotificationService notificationService, NotificationStream notificationStream) {
         this.notificationService = notificationService;
+        this.notificationStream = notificationStream;
     }
 
     // Staff
@@ -26,6 +35,19 @@ public class NotificationController {
         return ResponseEntity.ok(notificationService.getNotificationsForStaff(staffId));
     }
 
+    // Staff feed, newest first; pass the previous page's nextCursor to continue
+    @GetMapping("/staff/{staffId}/feed")
+    public ResponseEntity<?> getStaffFeed(@PathVariable Long staffId,
+                                          @RequestParam(required = false) String cursor,
+                                          @RequestParam(defaultValue = "20") int size,
+                                          @RequestParam(defaultValue = "false") boolean unreadOnly) {
+        try {
+            return ResponseEntity.ok(notificationService.getStaffFeed(staffId, unreadOnly, cursor, size));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+
     @GetMapping("/staff/{staffId}/unread")
     public ResponseEntity<List<NotificationDTO>> getUnreadNotificationsForStaff(@PathVariable Long staffId) {
         return ResponseEntity.ok(notificationService.getUnreadNotificationsForStaff(staffId));
@@ -37,12 +59,34 @@ public class NotificationController {
         return ResponseEntity.ok(Map.of("count", count));
     }
 
+    // Push channel; browsers resume with the Last-Event-ID header, other clients may pass lastEventId
+    @GetMapping(path = "/staff/{staffId}/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<SseEmitter> streamForStaff(
+            @PathVariable Long staffId,
+            @RequestHeader(value = "Last-Event-ID", required = false) String lastEventIdHeader,
+            @RequestParam(required = false) Long lastEventId) {
+        return streamResponse(notificationStream.subscribeStaff(staffId, resumeFrom(lastEventIdHeader, lastEventId)));
+    }
+
     // Customer
     @GetMapping("/customer/{customerId}")
     public ResponseEntity<List<NotificationDTO>> getNotificationsForCustomer(@PathVariable Integer customerId) {
         return ResponseEntity.ok(notificationService.getNotificationsForCustomer(customerId));
     }
 
+    // Customer feed, newest first; pass the previous page's nextCursor to continue
+    @GetMapping("/customer/{customerId}/feed")
+    public ResponseEntity<?> getCustomerFeed(@PathVariable Integer customerId,
+                                             @RequestParam(required = false) String cursor,
+                                             @RequestParam(defaultValue = "20") int size,
+                                             @RequestParam(defaultValue = "false") boolean unreadOnly) {
+        try {
+            return ResponseEntity.ok(notificationService.getCustomerFeed(customerId, unreadOnly, cursor, size));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+
     @GetMapping("/customer/{customerId}/unread")
     public ResponseEntity<List<NotificationDTO>> getUnreadNotificationsForCustomer(@PathVariable Integer customerId) {
         return ResponseEntity.ok(notificationService.getUnreadNotificationsForCustomer(customerId));
@@ -54,13 +98,108 @@ public class NotificationController {
         return ResponseEntity.ok(Map.of("count", count));
     }
 
+    @GetMapping(path = "/customer/{customerId}/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<SseEmitter> streamForCustomer(
+            @PathVariable Integer customerId,
+            @RequestHeader(value = "Last-Event-ID", required = false) String lastEventIdHeader,
+            @RequestParam(required = false) Long lastEventId) {
+        return streamResponse(notificationStream.subscribeCustomer(customerId, resumeFrom(lastEventIdHeader, lastEventId)));
+    }
+
+    // Bulk operations answer with the number of notifications they changed
+    @PutMapping("/staff/{staffId}/read-all")
+    public ResponseEntity<Map<String, Long>> markAllAsReadForStaff(@PathVariable Long staffId) {
+        return affected(notificationService.markAllAsReadForStaff(staffId));
+    }
+
+    @PutMapping("/staff/{staffId}/read")
+    public ResponseEntity<?> markAsReadForStaff(@PathVariable Long staffId, @RequestBody List<Long> ids) {
+        try {
+            return affected(notificationService.markAsReadForStaff(staffId, ids));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+
+    @DeleteMapping("/staff/{staffId}")
+    public ResponseEntity<Map<String, Long>> deleteAllForStaff(@PathVariable Long staffId) {
+        return affected(notificationService.deleteAllForStaff(staffId));
+    }
+
+    @DeleteMapping("/staff/{staffId}/read")
+    public ResponseEntity<Map<String, Long>> deleteReadForStaff(
+            @PathVariable Long staffId,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime before) {
+        return affected(notificationService.deleteReadForStaff(staffId, before));
+    }
+
+    @PutMapping("/customer/{customerId}/read-all")
+    public ResponseEntity<Map<String, Long>> markAllAsReadForCustomer(@PathVariable Integer customerId) {
+        return affected(notificationService.markAllAsReadForCustomer(customerId));
+    }
+
+    @PutMapping("/customer/{customerId}/read")
+    public ResponseEntity<?> markAsReadForCustomer(@PathVariable Integer customerId, @RequestBody List<Long> ids) {
+        try {
+            return affected(notificationService.markAsReadForCustomer(customerId, ids));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+
+    @DeleteMapping("/customer/{customerId}")
+    public ResponseEntity<Map<String, Long>> deleteAllForCustomer(@PathVariable Integer customerId) {
+        return affected(notificationService.deleteAllForCustomer(customerId));
+    }
+
+    @DeleteMapping("/customer/{customerId}/read")
+    public ResponseEntity<Map<String, Long>> deleteReadForCustomer(
+            @PathVariable Integer customerId,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime before) {
+        return affected(notificationService.deleteReadForCustomer(customerId, before));
+    }
+
+    // staffId picks the reader's copy of a staff broadcast; other notifications ignore it
     @PutMapping("/{notificationId}/read")
-    public ResponseEntity<?> markAsRead(@PathVariable Long notificationId) {
-        return notificationService.markNotificationAsRead(notificationId) ? ResponseEntity.ok().build() : ResponseEntity.notFound().build();
+    public ResponseEntity<?> markAsRead(@PathVariable Long notificationId,
+                                        @RequestParam(required = false) Long staffId) {
+        try {
+            return notificationService.markNotificationAsRead(notificationId, staffId) ? ResponseEntity.ok().build() : ResponseEntity.notFound().build();
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
     }
 
     @DeleteMapping("/{notificationId}")
-    public ResponseEntity<?> deleteNotification(@PathVariable Long notificationId) {
-        return notificationService.deleteNotification(notificationId) ? ResponseEntity.ok().build() : ResponseEntity.notFound().build();
+    public ResponseEntity<?> deleteNotification(@PathVariable Long notificationId,
+                                                @RequestParam(required = false) Long staffId) {
+        try {
+            return notificationService.deleteNotification(notificationId, staffId) ? ResponseEntity.ok().build() : ResponseEntity.notFound().build();
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+
+    private static ResponseEntity<Map<String, Long>> affected(long count) {
+        return ResponseEntity.ok(Map.of("affected", count));
+    }
+
+    // Refused streams fall back to polling in the page
+    private static ResponseEntity<SseEmitter> streamResponse(NotificationStream.Subscription subscription) {
+        if (subscription.getEmitter() != null) return ResponseEntity.ok(subscription.getEmitter());
+        HttpStatus status = subscription.getRefusal() == NotificationStream.Refusal.RECIPIENT_FULL
+                ? HttpStatus.TOO_MANY_REQUESTS : HttpStatus.SERVICE_UNAVAILABLE;
+        return ResponseEntity.status(status).header(HttpHeaders.RETRY_AFTER, "60").build();
+    }
+
+    // An unparsable Last-Event-ID is ignored rather than failing the reconnect
+    private static Long resumeFrom(String header, Long param) {
+        if (param != null) return param;
+        if (header == null || header.isBlank()) return null;
+        try {
+            return Long.valueOf(header.trim());
+        } catch (NumberFormatException e) {
+            return null;
+        }
     }
 }
@@ -1,21 +1,50 @@
 package com.laundrypro.controller.admin;
 
+import com.laundrypro.service.CustomerOrderIndexService;
+import com.laundrypro.service.CustomerSketchService;
+import com.laundrypro.service.OrderRollupService;
 import com.laundrypro.service.admin.AdminDashboardService;
+import com.laundrypro.service.admin.AnalyticsCache;
 import com.laundrypro.service.admin.AnalyticsService;
+import com.laundrypro.service.admin.AnalyticsSnapshotService;
+import com.laundrypro.web.admin.AdminOverviewStream;
 import com.laundrypro.web.admin.dto.AdminOverviewStats;
-import com.laundrypro.web.admin.dto.AnalyticsResponse;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.time.LocalDate;
+import java.util.Map;
 
 @RestController
 @RequestMapping("/api/admin/stats")
 public class AdminDashboardController {
 
     private final AdminDashboardService dashboardService;
+    private final AnalyticsCache analyticsCache;
     private final AnalyticsService analyticsService;
+    private final AnalyticsSnapshotService snapshotService;
+    private final OrderRollupService rollupService;
+    private final CustomerOrderIndexService customerIndexService;
+    private final CustomerSketchService customerSketchService;
+    private final AdminOverviewStream overviewStream;
 
-    public AdminDashboardController(AdminDashboardService dashboardService, AnalyticsService analyticsService) {
+    public AdminDashboardController(AdminDashboardService dashboardService, AnalyticsCache analyticsCache,
+                                    AnalyticsService analyticsService, AnalyticsSnapshotService snapshotService,
+                                    OrderRollupService rollupService, CustomerOrderIndexService customerIndexService,
+                                    CustomerSketchService customerSketchService, AdminOverviewStream overviewStream) {
         this.dashboardService = dashboardService;
+        this.analyticsCache = analyticsCache;
         this.analyticsService = analyticsService;
+        this.snapshotService = snapshotService;
+        this.rollupService = rollupService;
+        this.customerIndexService = customerIndexService;
+        this.customerSketchService = customerSketchService;
+        this.overviewStream = overviewStream;
     }
 
     @GetMapping("/overview")
@@ -23,8 +52,82 @@ public class AdminDashboardController {
         return dashboardService.overview();
     }
 
+    // Live overview: a full "overview" event, then only the changed fields whenever orders change
+    @GetMapping(path = "/overview/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<SseEmitter> overviewStream() {
+        SseEmitter emitter = overviewStream.subscribe();
+        if (emitter == null) {
+            // Too many open dashboards; the page falls back to polling /overview
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .header(HttpHeaders.RETRY_AFTER, "60")
+                    .build();
+        }
+        return ResponseEntity.ok(emitter);
+    }
+
+    @GetMapping("/overview/stream/stats")
+    public Map<String, Object> overviewStreamStats() {
+        return overviewStream.stats();
+    }
+
+    // Fixed ranges are served from today's snapshot (or the cache with fresh=true / when no
+    // snapshot exists yet); a from/to pair (e.g. for audits) is computed directly
     @GetMapping("/analytics")
-    public AnalyticsResponse analytics(@RequestParam(defaultValue = "month") String timeRange) {
-        return analyticsService.getAnalytics(timeRange);
+    public ResponseEntity<?> analytics(
+            @RequestParam(defaultValue = "month") String timeRange,
+            @RequestParam(defaultValue = "false") boolean fresh,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        if (from == null && to == null) {
+            if (fresh) {
+                return ResponseEntity.ok(analyticsCache.getCurrent(timeRange));
+            }
+            return snapshotService.findCurrent(timeRange)
+                    .<ResponseEntity<?>>map(s -> ResponseEntity.ok()
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .header("X-Analytics-Generated-At", s.getGeneratedAt().toString())
+                            .body(s.getPayload()))
+                    .orElseGet(() -> ResponseEntity.ok(analyticsCache.get(timeRange)));
+        }
+        try {
+            return ResponseEntity.ok(analyticsService.getAnalytics(from, to));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+
+    // Recomputes the stored snapshots of all fixed ranges now
+    @PostMapping("/analytics/snapshots/refresh")
+    public Map<String, Object> refreshAnalyticsSnapshots() {
+        return snapshotService.refreshAll();
+    }
+
+    @GetMapping("/analytics/cache")
+    public Map<String, Object> analyticsCacheStats() {
+        return analyticsCache.stats();
+    }
+
+    // Regenerates the daily order rollups; without bounds the whole order history is rebuilt
+    @PostMapping("/rollups/rebuild")
+    public OrderRollupService.RebuildResult rebuildRollups(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(defaultValue = "31") int chunkDays) {
+        return rollupService.rebuild(from, to, chunkDays);
+    }
+
+    // Regenerates the per-customer first/last order index from Orders
+    @PostMapping("/customer-index/rebuild")
+    public Map<String, Integer> rebuildCustomerIndex() {
+        return Map.of("customers", customerIndexService.rebuild());
+    }
+
+    // Regenerates the per-day distinct-customer sketches; without bounds the whole order history is rebuilt
+    @PostMapping("/customer-sketches/rebuild")
+    public OrderRollupService.RebuildResult rebuildCustomerSketches(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(defaultValue = "31") int chunkDays) {
+        return customerSketchService.rebuild(from, to, chunkDays);
     }
 }
@@ -0,0 +1,39 @@
+package com.laundrypro.controller.admin;
+
+import com.laundrypro.service.NotificationRetentionService;
+import com.laundrypro.web.notification.NotificationStream;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/admin/notifications")
+public class AdminNotificationsController {
+
+    private final NotificationStream notificationStream;
+    private final NotificationRetentionService retentionService;
+
+    public AdminNotificationsController(NotificationStream notificationStream,
+                                        NotificationRetentionService retentionService) {
+        this.notificationStream = notificationStream;
+        this.retentionService = retentionService;
+    }
+
+    // Open push connections of the notification stream, against its limits
+    @GetMapping("/stream/stats")
+    public Map<String, Object> streamStats() {
+        return notificationStream.stats();
+    }
+
+    // Rows moved and purged by the retention job, with run durations
+    @GetMapping("/retention/stats")
+    public Map<String, Object> retentionStats() {
+        return retentionService.stats();
+    }
+
+    // Runs a retention pass now instead of waiting for the schedule
+    @PostMapping("/retention/run")
+    public Map<String, Object> runRetention() {
+        return retentionService.run();
+    }
+}
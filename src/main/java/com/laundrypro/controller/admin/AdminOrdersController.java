@@ -2,20 +2,36 @@ package com.laundrypro.controller.admin;
 
 import com.laundrypro.model.Orders;
 import com.laundrypro.service.OrdersService;
+import com.laundrypro.service.admin.OrderExportFormat;
+import com.laundrypro.service.admin.OrderExportService;
+import com.laundrypro.service.admin.ReportPeriod;
+import com.laundrypro.service.admin.ReportService;
 import org.springframework.data.domain.*;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
 import java.util.Date;
+import java.util.NoSuchElementException;
 
 @RestController
 @RequestMapping("/api/admin/orders")
 public class AdminOrdersController {
 
     private final OrdersService orders;
+    private final OrderExportService exportService;
+    private final ReportService reportService;
 
-    public AdminOrdersController(OrdersService orders) {
+    public AdminOrdersController(OrdersService orders, OrderExportService exportService, ReportService reportService) {
         this.orders = orders;
+        this.exportService = exportService;
+        this.reportService = reportService;
     }
 
     @PostMapping
@@ -67,4 +83,39 @@ public class AdminOrdersController {
         }
         return orders.list(pageable);
     }
+
+    // Streams every order of a saved report's period, a fixed time range or a from/to pair as CSV or NDJSON
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> export(
+            @RequestParam(defaultValue = "csv") String format,
+            @RequestParam(defaultValue = "false") boolean gzip,
+            @RequestParam(required = false) Integer reportId,
+            @RequestParam(required = false) String timeRange,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        OrderExportFormat exportFormat;
+        ReportPeriod period;
+        try {
+            exportFormat = OrderExportFormat.parse(format);
+            period = reportService.resolvePeriod(reportId, timeRange, from, to);
+        } catch (IllegalArgumentException e) {
+            return plainText(HttpStatus.BAD_REQUEST, e.getMessage());
+        } catch (NoSuchElementException e) {
+            return plainText(HttpStatus.NOT_FOUND, e.getMessage());
+        }
+
+        String fileName = "orders-" + period.getFrom() + "-to-" + period.getTo() + "." + exportFormat.getExtension()
+                + (gzip ? ".gz" : "");
+        StreamingResponseBody body = out -> exportService.export(period, exportFormat, gzip, out);
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(gzip ? "application/gzip" : exportFormat.getContentType()))
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + fileName + "\"")
+                .body(body);
+    }
+
+    private static ResponseEntity<StreamingResponseBody> plainText(HttpStatus status, String message) {
+        return ResponseEntity.status(status)
+                .contentType(MediaType.TEXT_PLAIN)
+                .body(out -> out.write(message.getBytes(StandardCharsets.UTF_8)));
+    }
 }
@@ -0,0 +1,31 @@
+package com.laundrypro.controller.admin;
+
+import com.laundrypro.service.outbox.OutboxRelay;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/admin/outbox")
+public class AdminOutboxController {
+
+    private final OutboxRelay outboxRelay;
+
+    public AdminOutboxController(OutboxRelay outboxRelay) {
+        this.outboxRelay = outboxRelay;
+    }
+
+    // Backlog, lag and delivery counters of the outbox relay
+    @GetMapping("/stats")
+    public Map<String, Object> stats() {
+        return outboxRelay.stats();
+    }
+
+    // Drains due events now instead of waiting for the next poll
+    @PostMapping("/relay")
+    public ResponseEntity<?> relay() {
+        outboxRelay.wakeUp();
+        return ResponseEntity.accepted().build();
+    }
+}
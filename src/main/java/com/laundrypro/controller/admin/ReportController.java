@@ -1,42 +1,112 @@
 package com.laundrypro.controller.admin;
 
 import com.laundrypro.model.Report;
+import com.laundrypro.service.admin.PeriodComparisonService;
+import com.laundrypro.service.admin.ReportArchiveService;
+import com.laundrypro.service.admin.ReportJob;
+import com.laundrypro.service.admin.ReportJobService;
+import com.laundrypro.service.admin.ReportPeriod;
 import com.laundrypro.service.admin.ReportService;
+import com.laundrypro.web.admin.dto.ReportPage;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.LocalDate;
 import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.concurrent.RejectedExecutionException;
 
 @RestController
 @RequestMapping("/api/admin/reports")
 public class ReportController {
 
     private final ReportService reportService;
+    private final ReportJobService reportJobService;
+    private final ReportArchiveService archiveService;
+    private final PeriodComparisonService comparisonService;
 
-    public ReportController(ReportService reportService) {
+    public ReportController(ReportService reportService, ReportJobService reportJobService,
+                            ReportArchiveService archiveService, PeriodComparisonService comparisonService) {
         this.reportService = reportService;
+        this.reportJobService = reportJobService;
+        this.archiveService = archiveService;
+        this.comparisonService = comparisonService;
     }
 
+    // Queues the report and returns its job at once; poll /jobs/{jobId} for the report id
     @PostMapping("/save")
-    public ResponseEntity<Report> saveReport(
+    public ResponseEntity<?> saveReport(
             @RequestParam String timeRange,
             @RequestParam String generatedBy) {
         try {
-            Report report = reportService.saveReport(timeRange, generatedBy);
-            return ResponseEntity.status(HttpStatus.CREATED).body(report);
-        } catch (Exception e) {
-            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+            ReportJob job = reportJobService.submit(timeRange, generatedBy);
+            return ResponseEntity.status(HttpStatus.ACCEPTED).body(job);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        } catch (RejectedExecutionException e) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body("Report queue is full, try again shortly");
         }
     }
 
+    @GetMapping("/jobs/{jobId}")
+    public ResponseEntity<ReportJob> getJob(@PathVariable String jobId) {
+        return reportJobService.find(jobId)
+                .map(ResponseEntity::ok)
+                .orElseGet(() -> ResponseEntity.status(HttpStatus.NOT_FOUND).build());
+    }
+
+    @GetMapping("/jobs/stats")
+    public Map<String, Object> jobStats() {
+        return reportJobService.stats();
+    }
+
+    // Report history, newest first; pass the previous page's nextCursor to continue
     @GetMapping
-    public ResponseEntity<List<Report>> getAllReports() {
+    public ResponseEntity<?> getReports(
+            @RequestParam(required = false) String timeRange,
+            @RequestParam(required = false) String generatedBy,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size) {
         try {
-            List<Report> reports = reportService.getAllReports();
-            return ResponseEntity.ok(reports);
-        } catch (Exception e) {
-            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+            ReportPage page = reportService.getReportPage(timeRange, generatedBy, from, to, cursor, size);
+            return ResponseEntity.ok(page);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+
+    /**
+     * Period-over-period comparison. The period is a saved report, a time range ending today
+     * or a from/to pair; the baseline is given the same way with baseline-prefixed parameters
+     * and defaults to the equally long period just before.
+     */
+    @GetMapping("/compare")
+    public ResponseEntity<?> compare(
+            @RequestParam(required = false) Integer reportId,
+            @RequestParam(required = false) String timeRange,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(required = false) Integer baselineReportId,
+            @RequestParam(required = false) String baselineTimeRange,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate baselineFrom,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate baselineTo) {
+        try {
+            ReportPeriod period = reportService.resolvePeriod(reportId, timeRange, from, to);
+            boolean baselineGiven = baselineReportId != null || baselineTimeRange != null
+                    || baselineFrom != null || baselineTo != null;
+            ReportPeriod baseline = baselineGiven
+                    ? reportService.resolvePeriod(baselineReportId, baselineTimeRange, baselineFrom, baselineTo)
+                    : null;
+            return ResponseEntity.ok(comparisonService.compare(period, baseline));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        } catch (NoSuchElementException e) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(e.getMessage());
         }
     }
 
@@ -50,6 +120,31 @@ public class ReportController {
         }
     }
 
+    // Drill-down of a saved report's period from its on-disk archive; from/to narrow it to a sub-range
+    @GetMapping("/{id}/archive")
+    public ResponseEntity<?> getArchive(
+            @PathVariable Integer id,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        try {
+            return ResponseEntity.ok(archiveService.summarize(id, from, to));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        } catch (NoSuchElementException e) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(e.getMessage());
+        }
+    }
+
+    // (Re)writes the archive of a report, e.g. one saved before archiving was introduced
+    @PostMapping("/{id}/archive")
+    public ResponseEntity<?> rebuildArchive(@PathVariable Integer id) {
+        try {
+            return ResponseEntity.ok(Map.of("bytes", archiveService.archive(id)));
+        } catch (NoSuchElementException e) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(e.getMessage());
+        }
+    }
+
     @DeleteMapping("/{id}")
     public ResponseEntity<Void> deleteReport(@PathVariable Integer id) {
         try {
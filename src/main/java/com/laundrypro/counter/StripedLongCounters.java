@@ -0,0 +1,203 @@
+package com.laundrypro.counter;
+
+import java.util.Arrays;
+
+/**
+ * Counters keyed by {@code long}, split into independently locked stripes so updates to
+ * different keys rarely contend. Each stripe is an open-addressing hash table over
+ * primitive arrays, so there is no boxing and no per-entry object. A key is either
+ * present with a value or absent; callers seed absent keys themselves.
+ */
+public final class StripedLongCounters {
+
+    // Returned by get for keys that are not present
+    public static final long ABSENT = Long.MIN_VALUE;
+
+    private static final int INITIAL_CAPACITY = 16;
+
+    private final Stripe[] stripes;
+    private final int stripeMask;
+
+    public StripedLongCounters(int stripeCount) {
+        if (stripeCount < 1) throw new IllegalArgumentException("Stripe count must be positive");
+        int n = Integer.highestOneBit(stripeCount - 1) << 1;
+        if (stripeCount == 1) n = 1;
+        stripes = new Stripe[n];
+        for (int i = 0; i < n; i++) stripes[i] = new Stripe();
+        stripeMask = n - 1;
+    }
+
+    public long get(long key) {
+        Stripe s = stripeFor(key);
+        synchronized (s) {
+            int slot = s.find(key);
+            return slot < 0 ? ABSENT : s.values[slot];
+        }
+    }
+
+    // Stores the value unless the key is present; returns the value now held
+    public long putIfAbsent(long key, long value) {
+        Stripe s = stripeFor(key);
+        synchronized (s) {
+            int slot = s.find(key);
+            if (slot >= 0) return s.values[slot];
+            s.insert(key, value);
+            return value;
+        }
+    }
+
+    public void put(long key, long value) {
+        Stripe s = stripeFor(key);
+        synchronized (s) {
+            int slot = s.find(key);
+            if (slot >= 0) s.values[slot] = value;
+            else s.insert(key, value);
+        }
+    }
+
+    // Adds to a present key only; returns false when the key is absent
+    public boolean addIfPresent(long key, long delta) {
+        Stripe s = stripeFor(key);
+        synchronized (s) {
+            int slot = s.find(key);
+            if (slot < 0) return false;
+            s.values[slot] += delta;
+            return true;
+        }
+    }
+
+    // Adds to every present key, one stripe at a time
+    public void addToAll(long delta) {
+        for (Stripe s : stripes) {
+            synchronized (s) {
+                for (int i = 0; i < s.used.length; i++) {
+                    if (s.used[i]) s.values[i] += delta;
+                }
+            }
+        }
+    }
+
+    public boolean remove(long key) {
+        Stripe s = stripeFor(key);
+        synchronized (s) {
+            int slot = s.find(key);
+            if (slot < 0) return false;
+            s.delete(slot);
+            return true;
+        }
+    }
+
+    public int size() {
+        int size = 0;
+        for (Stripe s : stripes) {
+            synchronized (s) {
+                size += s.size;
+            }
+        }
+        return size;
+    }
+
+    // Snapshot of the present keys; keys added or removed meanwhile may or may not appear
+    public long[] keys() {
+        long[] keys = new long[0];
+        int n = 0;
+        for (Stripe s : stripes) {
+            synchronized (s) {
+                if (n + s.size > keys.length) keys = Arrays.copyOf(keys, n + s.size);
+                for (int i = 0; i < s.used.length; i++) {
+                    if (s.used[i]) keys[n++] = s.keys[i];
+                }
+            }
+        }
+        return n == keys.length ? keys : Arrays.copyOf(keys, n);
+    }
+
+    public void clear() {
+        for (Stripe s : stripes) {
+            synchronized (s) {
+                s.reset(INITIAL_CAPACITY);
+            }
+        }
+    }
+
+    private Stripe stripeFor(long key) {
+        return stripes[(int) (mix(key) >>> 40) & stripeMask];
+    }
+
+    // Murmur3 finaliser; the stripe takes high bits and the slot low bits of the same hash
+    static long mix(long key) {
+        long h = key;
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return h;
+    }
+
+    /** Linear-probing table kept at most half full; guarded by its own monitor. */
+    private static final class Stripe {
+        long[] keys;
+        long[] values;
+        boolean[] used;
+        int size;
+
+        Stripe() {
+            reset(INITIAL_CAPACITY);
+        }
+
+        void reset(int capacity) {
+            keys = new long[capacity];
+            values = new long[capacity];
+            used = new boolean[capacity];
+            size = 0;
+        }
+
+        int find(long key) {
+            int mask = keys.length - 1;
+            for (int i = (int) mix(key) & mask; used[i]; i = (i + 1) & mask) {
+                if (keys[i] == key) return i;
+            }
+            return -1;
+        }
+
+        void insert(long key, long value) {
+            if ((size + 1) * 2 > keys.length) grow();
+            int mask = keys.length - 1;
+            int i = (int) mix(key) & mask;
+            while (used[i]) i = (i + 1) & mask;
+            keys[i] = key;
+            values[i] = value;
+            used[i] = true;
+            size++;
+        }
+
+        // Backward-shift deletion: later entries of the probe run move up so lookups need no tombstones
+        void delete(int slot) {
+            int mask = keys.length - 1;
+            int hole = slot;
+            for (int i = (slot + 1) & mask; used[i]; i = (i + 1) & mask) {
+                int home = (int) mix(keys[i]) & mask;
+                // Move the entry if its home slot is not cyclically within (hole, i]
+                boolean movable = hole <= i ? (home <= hole || home > i) : (home <= hole && home > i);
+                if (movable) {
+                    keys[hole] = keys[i];
+                    values[hole] = values[i];
+                    hole = i;
+                }
+            }
+            used[hole] = false;
+            size--;
+        }
+
+        private void grow() {
+            long[] oldKeys = keys;
+            long[] oldValues = values;
+            boolean[] oldUsed = used;
+            reset(oldKeys.length * 2);
+            for (int i = 0; i < oldKeys.length; i++) {
+                if (oldUsed[i]) insert(oldKeys[i], oldValues[i]);
+            }
+        }
+    }
+}
@@ -0,0 +1,44 @@
+package com.laundrypro.model;
+
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+
+/**
+ * Precomputed analytics response for one fixed time range, stored as the JSON the
+ * admin endpoint returns. Written by {@link com.laundrypro.service.admin.AnalyticsSnapshotService}.
+ */
+@Entity
+@Table(name = "Analytics_Snapshot")
+public class AnalyticsSnapshot {
+
+    @Id
+    @Column(name = "Time_Range", length = 16)
+    private String timeRange;
+
+    @Column(name = "Payload", nullable = false, columnDefinition = "NVARCHAR(MAX)")
+    private String payload;
+
+    @Column(name = "Generated_At", nullable = false)
+    private LocalDateTime generatedAt;
+
+    @Column(name = "Compute_Millis", nullable = false)
+    private long computeMillis;
+
+    public AnalyticsSnapshot() { }
+
+    public AnalyticsSnapshot(String timeRange, String payload, LocalDateTime generatedAt, long computeMillis) {
+        this.timeRange = timeRange;
+        this.payload = payload;
+        this.generatedAt = generatedAt;
+        this.computeMillis = computeMillis;
+    }
+
+    public String getTimeRange() { return timeRange; }
+    public void setTimeRange(String timeRange) { this.timeRange = timeRange; }
+    public String getPayload() { return payload; }
+    public void setPayload(String payload) { this.payload = payload; }
+    public LocalDateTime getGeneratedAt() { return generatedAt; }
+    public void setGeneratedAt(LocalDateTime generatedAt) { this.generatedAt = generatedAt; }
+    public long getComputeMillis() { return computeMillis; }
+    public void setComputeMillis(long computeMillis) { this.computeMillis = computeMillis; }
+}
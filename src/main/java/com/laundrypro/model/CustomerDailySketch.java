@@ -0,0 +1,38 @@
+package com.laundrypro.model;
+
+import jakarta.persistence.*;
+import java.time.LocalDate;
+
+/**
+ * HyperLogLog registers of the customers that ordered on one calendar day.
+ * Maintained by {@link com.laundrypro.service.CustomerSketchService}.
+ */
+@Entity
+@Table(name = "Customer_Daily_Sketch")
+public class CustomerDailySketch {
+
+    @Id
+    @Column(name = "Sketch_Date")
+    private LocalDate sketchDate;
+
+    @Column(name = "Sketch_Precision", nullable = false)
+    private int precision;
+
+    @Column(name = "Registers", nullable = false, columnDefinition = "VARBINARY(MAX)")
+    private byte[] registers;
+
+    public CustomerDailySketch() { }
+
+    public CustomerDailySketch(LocalDate sketchDate, int precision, byte[] registers) {
+        this.sketchDate = sketchDate;
+        this.precision = precision;
+        this.registers = registers;
+    }
+
+    public LocalDate getSketchDate() { return sketchDate; }
+    public void setSketchDate(LocalDate sketchDate) { this.sketchDate = sketchDate; }
+    public int getPrecision() { return precision; }
+    public void setPrecision(int precision) { this.precision = precision; }
+    public byte[] getRegisters() { return registers; }
+    public void setRegisters(byte[] registers) { this.registers = registers; }
+}
@@ -0,0 +1,44 @@
+package com.laundrypro.model;
+
+import jakarta.persistence.*;
+import java.time.LocalDate;
+
+/**
+ * First and last order day per customer, maintained on order writes so retention
+ * and new-customer metrics never have to scan the order history.
+ */
+@Entity
+@Table(name = "Customer_Order_Index")
+public class CustomerOrderIndex {
+
+    @Id
+    @Column(name = "Customer_ID")
+    private Integer customerId;
+
+    @Column(name = "First_Order_Date", nullable = false)
+    private LocalDate firstOrderDate;
+
+    @Column(name = "Last_Order_Date", nullable = false)
+    private LocalDate lastOrderDate;
+
+    @Column(name = "Order_Count", nullable = false)
+    private long orderCount;
+
+    public CustomerOrderIndex() { }
+
+    public CustomerOrderIndex(Integer customerId, LocalDate firstOrderDate, LocalDate lastOrderDate, long orderCount) {
+        this.customerId = customerId;
+        this.firstOrderDate = firstOrderDate;
+        this.lastOrderDate = lastOrderDate;
+        this.orderCount = orderCount;
+    }
+
+    public Integer getCustomerId() { return customerId; }
+    public void setCustomerId(Integer customerId) { this.customerId = customerId; }
+    public LocalDate getFirstOrderDate() { return firstOrderDate; }
+    public void setFirstOrderDate(LocalDate firstOrderDate) { this.firstOrderDate = firstOrderDate; }
+    public LocalDate getLastOrderDate() { return lastOrderDate; }
+    public void setLastOrderDate(LocalDate lastOrderDate) { this.lastOrderDate = lastOrderDate; }
+    public long getOrderCount() { return orderCount; }
+    public void setOrderCount(long orderCount) { this.orderCount = orderCount; }
+}
@@ -7,6 +7,9 @@ import java.time.LocalDateTime;
 @Table(name = "Notifications")
 public class Notification {
 
+    // Audience of broadcast rows, which are stored once and read by every staff member
+    public static final String AUDIENCE_ALL_STAFF = "ALL_STAFF";
+
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long notificationID;
@@ -36,6 +39,10 @@ public class Notification {
     @Column(name = "Customer_ID")
     private Integer customerId;
 
+    // Null for notifications addressed to one staff member or customer
+    @Column(name = "Audience")
+    private String audience;
+
     // Default constructor
     public Notification() { }
 
@@ -140,4 +147,16 @@ public class Notification {
     public void setCustomerId(Integer customerId) {
         this.customerId = customerId;
     }
+
+    public String getAudience() {
+        return audience;
+    }
+
+    public void setAudience(String audience) {
+        this.audience = audience;
+    }
+
+    public boolean isBroadcast() {
+        return audience != null;
+    }
 }
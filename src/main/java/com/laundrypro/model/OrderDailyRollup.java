@@ -0,0 +1,72 @@
+package com.laundrypro.model;
+
+import jakarta.persistence.*;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * Pre-aggregated order totals for one calendar day and one service type.
+ * Maintained by {@link com.laundrypro.service.OrderRollupService}; orders without
+ * a service type are stored under the empty string.
+ */
+@Entity
+@Table(name = "Order_Daily_Rollup",
+       uniqueConstraints = @UniqueConstraint(name = "UQ_Order_Daily_Rollup", columnNames = {"Rollup_Date", "Service_Type"}))
+public class OrderDailyRollup {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "Rollup_ID")
+    private Long rollupId;
+
+    @Column(name = "Rollup_Date", nullable = false)
+    private LocalDate rollupDate;
+
+    @Column(name = "Service_Type", nullable = false)
+    private String serviceType;
+
+    @Column(name = "Order_Count", nullable = false)
+    private long orderCount;
+
+    @Column(name = "Completed_Count", nullable = false)
+    private long completedCount;
+
+    @Column(name = "Revenue", nullable = false, precision = 15, scale = 2)
+    private BigDecimal revenue;
+
+    @Column(name = "Tax", nullable = false, precision = 15, scale = 2)
+    private BigDecimal tax;
+
+    @Column(name = "Distinct_Customers", nullable = false)
+    private long distinctCustomers;
+
+    public OrderDailyRollup() { }
+
+    public OrderDailyRollup(LocalDate rollupDate, String serviceType, long orderCount, long completedCount,
+                            BigDecimal revenue, BigDecimal tax, long distinctCustomers) {
+        this.rollupDate = rollupDate;
+        this.serviceType = serviceType;
+        this.orderCount = orderCount;
+        this.completedCount = completedCount;
+        this.revenue = revenue;
+        this.tax = tax;
+        this.distinctCustomers = distinctCustomers;
+    }
+
+    public Long getRollupId() { return rollupId; }
+    public void setRollupId(Long rollupId) { this.rollupId = rollupId; }
+    public LocalDate getRollupDate() { return rollupDate; }
+    public void setRollupDate(LocalDate rollupDate) { this.rollupDate = rollupDate; }
+    public String getServiceType() { return serviceType; }
+    public void setServiceType(String serviceType) { this.serviceType = serviceType; }
+    public long getOrderCount() { return orderCount; }
+    public void setOrderCount(long orderCount) { this.orderCount = orderCount; }
+    public long getCompletedCount() { return completedCount; }
+    public void setCompletedCount(long completedCount) { this.completedCount = completedCount; }
+    public BigDecimal getRevenue() { return revenue; }
+    public void setRevenue(BigDecimal revenue) { this.revenue = revenue; }
+    public BigDecimal getTax() { return tax; }
+    public void setTax(BigDecimal tax) { this.tax = tax; }
+    public long getDistinctCustomers() { return distinctCustomers; }
+    public void setDistinctCustomers(long distinctCustomers) { this.distinctCustomers = distinctCustomers; }
+}
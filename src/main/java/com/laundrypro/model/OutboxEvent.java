@@ -0,0 +1,67 @@
+package com.laundrypro.model;
+
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+
+/**
+ * A side effect of an order change, written in the order's transaction and delivered
+ * afterwards by the outbox relay. The payload is a small JSON object. An optional dedup key
+ * names a logical event that can only happen once, so appending it twice is a no-op;
+ * consumers skip redeliveries of an event by its id.
+ */
+@Entity
+@Table(name = "Outbox_Event")
+public class OutboxEvent {
+
+    public static final String ORDER_CREATED = "ORDER_CREATED";
+    public static final String ORDER_STATUS_CHANGED = "ORDER_STATUS_CHANGED";
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "Event_ID")
+    private Long eventId;
+
+    @Column(name = "Event_Type", nullable = false)
+    private String eventType;
+
+    @Column(name = "Aggregate_ID")
+    private Integer aggregateId;
+
+    @Column(name = "Dedup_Key")
+    private String dedupKey;
+
+    @Column(name = "Payload", nullable = false)
+    private String payload;
+
+    @Column(name = "Created_At", nullable = false)
+    private LocalDateTime createdAt;
+
+    @Column(name = "Attempts", nullable = false)
+    private int attempts;
+
+    @Column(name = "Next_Attempt_At", nullable = false)
+    private LocalDateTime nextAttemptAt;
+
+    @Column(name = "Processed_At")
+    private LocalDateTime processedAt;
+
+    @Column(name = "Failed_At")
+    private LocalDateTime failedAt;
+
+    @Column(name = "Last_Error")
+    private String lastError;
+
+    public OutboxEvent() { }
+
+    public Long getEventId() { return eventId; }
+    public String getEventType() { return eventType; }
+    public Integer getAggregateId() { return aggregateId; }
+    public String getDedupKey() { return dedupKey; }
+    public String getPayload() { return payload; }
+    public LocalDateTime getCreatedAt() { return createdAt; }
+    public int getAttempts() { return attempts; }
+    public LocalDateTime getNextAttemptAt() { return nextAttemptAt; }
+    public LocalDateTime getProcessedAt() { return processedAt; }
+    public LocalDateTime getFailedAt() { return failedAt; }
+    public String getLastError() { return lastError; }
+}
@@ -0,0 +1,87 @@
+package com.laundrypro.model;
+
+import jakarta.persistence.*;
+import java.time.LocalDate;
+
+/**
+ * Pre-aggregated review ratings for one calendar day and one rating dimension
+ * ({@link #OVERALL}, {@link #SERVICE} or {@link #PLATFORM}). Holds the rating sum and
+ * count plus a 1-5 star histogram. Maintained by {@link com.laundrypro.service.ReviewRatingService}.
+ */
+@Entity
+@Table(name = "Review_Daily_Rating",
+       uniqueConstraints = @UniqueConstraint(name = "UQ_Review_Daily_Rating", columnNames = {"Rating_Date", "Dimension"}))
+public class ReviewDailyRating {
+
+    public static final String OVERALL = "rating";
+    public static final String SERVICE = "service";
+    public static final String PLATFORM = "platform";
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "Rating_ID")
+    private Long ratingId;
+
+    @Column(name = "Rating_Date", nullable = false)
+    private LocalDate ratingDate;
+
+    @Column(name = "Dimension", nullable = false, length = 16)
+    private String dimension;
+
+    @Column(name = "Rating_Sum", nullable = false)
+    private long ratingSum;
+
+    @Column(name = "Rating_Count", nullable = false)
+    private long ratingCount;
+
+    @Column(name = "Count_1", nullable = false)
+    private long count1;
+
+    @Column(name = "Count_2", nullable = false)
+    private long count2;
+
+    @Column(name = "Count_3", nullable = false)
+    private long count3;
+
+    @Column(name = "Count_4", nullable = false)
+    private long count4;
+
+    @Column(name = "Count_5", nullable = false)
+    private long count5;
+
+    public ReviewDailyRating() { }
+
+    public ReviewDailyRating(LocalDate ratingDate, String dimension, long ratingSum, long ratingCount,
+                             long count1, long count2, long count3, long count4, long count5) {
+        this.ratingDate = ratingDate;
+        this.dimension = dimension;
+        this.ratingSum = ratingSum;
+        this.ratingCount = ratingCount;
+        this.count1 = count1;
+        this.count2 = count2;
+        this.count3 = count3;
+        this.count4 = count4;
+        this.count5 = count5;
+    }
+
+    public Long getRatingId() { return ratingId; }
+    public void setRatingId(Long ratingId) { this.ratingId = ratingId; }
+    public LocalDate getRatingDate() { return ratingDate; }
+    public void setRatingDate(LocalDate ratingDate) { this.ratingDate = ratingDate; }
+    public String getDimension() { return dimension; }
+    public void setDimension(String dimension) { this.dimension = dimension; }
+    public long getRatingSum() { return ratingSum; }
+    public void setRatingSum(long ratingSum) { this.ratingSum = ratingSum; }
+    public long getRatingCount() { return ratingCount; }
+    public void setRatingCount(long ratingCount) { this.ratingCount = ratingCount; }
+    public long getCount1() { return count1; }
+    public void setCount1(long count1) { this.count1 = count1; }
+    public long getCount2() { return count2; }
+    public void setCount2(long count2) { this.count2 = count2; }
+    public long getCount3() { return count3; }
+    public void setCount3(long count3) { this.count3 = count3; }
+    public long getCount4() { return count4; }
+    public void setCount4(long count4) { this.count4 = count4; }
+    public long getCount5() { return count5; }
+    public void setCount5(long count5) { this.count5 = count5; }
+}
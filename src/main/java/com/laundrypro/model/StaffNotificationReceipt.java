@@ -0,0 +1,38 @@
+package com.laundrypro.model;
+
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+
+/**
+ * One staff member's read or dismissal of one broadcast notification above their read
+ * watermark. Dismissals are kept below the watermark too, since they hide the broadcast.
+ */
+@Entity
+@Table(name = "Staff_Notification_Receipt")
+public class StaffNotificationReceipt {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "Receipt_ID")
+    private Long receiptId;
+
+    @Column(name = "Staff_ID", nullable = false)
+    private Long staffId;
+
+    @Column(name = "Notification_ID", nullable = false)
+    private Long notificationId;
+
+    @Column(name = "Read_At")
+    private LocalDateTime readAt;
+
+    @Column(name = "Dismissed", nullable = false)
+    private boolean dismissed;
+
+    public StaffNotificationReceipt() { }
+
+    public Long getReceiptId() { return receiptId; }
+    public Long getStaffId() { return staffId; }
+    public Long getNotificationId() { return notificationId; }
+    public LocalDateTime getReadAt() { return readAt; }
+    public boolean isDismissed() { return dismissed; }
+}
@@ -0,0 +1,33 @@
+package com.laundrypro.model;
+
+import jakarta.persistence.*;
+
+/**
+ * A staff member's position in the broadcast notifications. Broadcasts with an id up to
+ * the visible-after mark predate the staff member and are not shown; those up to the read
+ * watermark count as read. Reads and dismissals above the watermark are kept as
+ * {@link StaffNotificationReceipt}s.
+ */
+@Entity
+@Table(name = "Staff_Notification_State")
+public class StaffNotificationState {
+
+    @Id
+    @Column(name = "Staff_ID")
+    private Long staffId;
+
+    @Column(name = "Visible_After", nullable = false)
+    private long visibleAfter;
+
+    @Column(name = "Read_Watermark", nullable = false)
+    private long readWatermark;
+
+    public StaffNotificationState() { }
+
+    public Long getStaffId() { return staffId; }
+    public void setStaffId(Long staffId) { this.staffId = staffId; }
+    public long getVisibleAfter() { return visibleAfter; }
+    public void setVisibleAfter(long visibleAfter) { this.visibleAfter = visibleAfter; }
+    public long getReadWatermark() { return readWatermark; }
+    public void setReadWatermark(long readWatermark) { this.readWatermark = readWatermark; }
+}
@@ -0,0 +1,36 @@
+package com.laundrypro.money;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+/**
+ * Conversions between {@link BigDecimal} amounts and {@code long} minor units (cents).
+ * <p>
+ * Order amounts are stored as DECIMAL(10,2), so every stored value converts exactly.
+ * Aggregation code keeps cents in {@code long}s and converts back with {@link #toDecimal}
+ * only when building a DTO.
+ */
+public final class Cents {
+
+    public static final int SCALE = 2;
+
+    private Cents() { }
+
+    // Exact conversion; fails with ArithmeticException if the amount has sub-cent digits or overflows
+    public static long fromDecimal(BigDecimal amount) {
+        if (amount == null) return 0L;
+        return amount.scale() == SCALE
+                ? amount.scaleByPowerOfTen(SCALE).longValueExact()
+                : amount.setScale(SCALE, RoundingMode.UNNECESSARY).scaleByPowerOfTen(SCALE).longValueExact();
+    }
+
+    // For computed amounts that may carry more than two decimals
+    public static long fromDecimalRounded(BigDecimal amount) {
+        if (amount == null) return 0L;
+        return amount.setScale(SCALE, RoundingMode.HALF_UP).scaleByPowerOfTen(SCALE).longValueExact();
+    }
+
+    public static BigDecimal toDecimal(long cents) {
+        return BigDecimal.valueOf(cents, SCALE);
+    }
+}
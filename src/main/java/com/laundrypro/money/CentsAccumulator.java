@@ -0,0 +1,45 @@
+package com.laundrypro.money;
+
+import java.math.BigDecimal;
+
+/**
+ * Mutable running total of money amounts in cents. Adding never allocates, and overflow
+ * fails loudly instead of wrapping. Not thread-safe; use one per aggregating thread and
+ * {@link #merge} the results.
+ */
+public final class CentsAccumulator {
+
+    private long cents;
+    private long count;
+
+    public CentsAccumulator add(BigDecimal amount) {
+        if (amount != null) addCents(Cents.fromDecimal(amount));
+        return this;
+    }
+
+    public CentsAccumulator addCents(long amountCents) {
+        cents = Math.addExact(cents, amountCents);
+        count++;
+        return this;
+    }
+
+    public CentsAccumulator merge(CentsAccumulator other) {
+        cents = Math.addExact(cents, other.cents);
+        count += other.count;
+        return this;
+    }
+
+    public void reset() {
+        cents = 0L;
+        count = 0L;
+    }
+
+    public long getCents() { return cents; }
+
+    // Number of non-null amounts added
+    public long getCount() { return count; }
+
+    public BigDecimal toDecimal() {
+        return Cents.toDecimal(cents);
+    }
+}
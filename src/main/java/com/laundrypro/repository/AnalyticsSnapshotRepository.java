@@ -0,0 +1,7 @@
+package com.laundrypro.repository;
+
+import com.laundrypro.model.AnalyticsSnapshot;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+public interface AnalyticsSnapshotRepository extends JpaRepository<AnalyticsSnapshot, String> {
+}
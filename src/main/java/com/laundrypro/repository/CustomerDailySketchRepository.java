@@ -0,0 +1,36 @@
+package com.laundrypro.repository;
+
+import com.laundrypro.model.CustomerDailySketch;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+
+public interface CustomerDailySketchRepository extends JpaRepository<CustomerDailySketch, LocalDate> {
+
+    List<CustomerDailySketch> findBySketchDateBetween(LocalDate start, LocalDate end);
+
+    // Row lock so concurrent orders of the same day merge their registers one after another
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT s FROM CustomerDailySketch s WHERE s.sketchDate = :day")
+    Optional<CustomerDailySketch> findForUpdate(@Param("day") LocalDate day);
+
+    // Creates the day's empty sketch if missing; atomic so the first orders of a day cannot collide
+    @Modifying
+    @Query(value = "MERGE Customer_Daily_Sketch WITH (HOLDLOCK) AS t " +
+            "USING (SELECT :day AS Sketch_Date) AS s ON t.Sketch_Date = s.Sketch_Date " +
+            "WHEN NOT MATCHED THEN INSERT (Sketch_Date, Sketch_Precision, Registers) " +
+            "VALUES (s.Sketch_Date, :precision, :registers);", nativeQuery = true)
+    int insertIfMissing(@Param("day") LocalDate day, @Param("precision") int precision,
+                        @Param("registers") byte[] registers);
+
+    @Modifying
+    @Query("DELETE FROM CustomerDailySketch s WHERE s.sketchDate >= :start AND s.sketchDate <= :end")
+    int deleteBySketchDateRange(@Param("start") LocalDate start, @Param("end") LocalDate end);
+}
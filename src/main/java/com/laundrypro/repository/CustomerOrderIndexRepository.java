@@ -0,0 +1,46 @@
+package com.laundrypro.repository;
+
+import com.laundrypro.model.CustomerOrderIndex;
+import com.laundrypro.repository.projection.MonthlyCount;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDate;
+import java.util.List;
+
+public interface CustomerOrderIndexRepository extends JpaRepository<CustomerOrderIndex, Integer> {
+
+    // Customers whose first order falls in the inclusive range
+    long countByFirstOrderDateBetween(LocalDate start, LocalDate end);
+
+    // New customers per calendar month
+    @Query("SELECT MIN(c.firstOrderDate) AS periodStart, COUNT(c) AS customerCount FROM CustomerOrderIndex c " +
+           "WHERE c.firstOrderDate >= :start AND c.firstOrderDate <= :end " +
+           "GROUP BY YEAR(c.firstOrderDate), MONTH(c.firstOrderDate)")
+    List<MonthlyCount> countFirstOrdersByMonth(@Param("start") LocalDate start, @Param("end") LocalDate end);
+
+    // Atomic upsert so concurrent first orders of the same customer cannot collide on the key
+    @Modifying
+    @Query(value = "MERGE Customer_Order_Index WITH (HOLDLOCK) AS t " +
+            "USING (SELECT :customerId AS Customer_ID, :day AS Order_Date) AS s ON t.Customer_ID = s.Customer_ID " +
+            "WHEN MATCHED THEN UPDATE SET " +
+            "First_Order_Date = CASE WHEN s.Order_Date < t.First_Order_Date THEN s.Order_Date ELSE t.First_Order_Date END, " +
+            "Last_Order_Date = CASE WHEN s.Order_Date > t.Last_Order_Date THEN s.Order_Date ELSE t.Last_Order_Date END, " +
+            "Order_Count = t.Order_Count + 1 " +
+            "WHEN NOT MATCHED THEN INSERT (Customer_ID, First_Order_Date, Last_Order_Date, Order_Count) " +
+            "VALUES (s.Customer_ID, s.Order_Date, s.Order_Date, 1);", nativeQuery = true)
+    int recordOrder(@Param("customerId") Integer customerId, @Param("day") LocalDate day);
+
+    @Modifying
+    @Query(value = "DELETE FROM Customer_Order_Index", nativeQuery = true)
+    int deleteAllRows();
+
+    // Set-based rebuild; no order rows are transferred to the application
+    @Modifying
+    @Query(value = "INSERT INTO Customer_Order_Index (Customer_ID, First_Order_Date, Last_Order_Date, Order_Count) " +
+            "SELECT Customer_ID, CAST(MIN([Date]) AS DATE), CAST(MAX([Date]) AS DATE), COUNT(*) " +
+            "FROM Orders GROUP BY Customer_ID", nativeQuery = true)
+    int insertFromOrders();
+}
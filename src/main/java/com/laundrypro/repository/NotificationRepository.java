@@ -1,13 +1,19 @@
 package com.laundrypro.repository;
 
 import com.laundrypro.model.Notification;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
 @Repository
-public interface NotificationRepository extends JpaRepository<Notification, Long> {
+public interface NotificationRepository extends JpaRepository<Notification, Long>, NotificationRepositoryCustom {
 
     // Find notifications for a specific staff member
     List<Notification> findByStaffIdOrderByCreatedAtDesc(Long staffId);
@@ -18,6 +24,114 @@ public interface NotificationRepository extends JpaRepository<Notification, Long
     // Count unread notifications for a staff member
     long countByStaffIdAndIsReadFalse(Long staffId);
 
+    @Modifying
+    @Query("UPDATE Notification n SET n.isRead = true, n.readAt = :now WHERE n.staffId = :staffId AND n.isRead = false")
+    int markAllReadForStaff(@Param("staffId") Long staffId, @Param("now") LocalDateTime now);
+
+    // Bulk operations are single statements scoped to the recipient and return the rows they changed
+    @Modifying
+    @Query("UPDATE Notification n SET n.isRead = true, n.readAt = :now WHERE n.staffId = :staffId " +
+           "AND n.notificationID IN :ids AND n.isRead = false")
+    int markReadForStaff(@Param("staffId") Long staffId, @Param("ids") Collection<Long> ids, @Param("now") LocalDateTime now);
+
+    @Modifying
+    @Query("DELETE FROM Notification n WHERE n.staffId = :staffId")
+    int deleteAllForStaff(@Param("staffId") Long staffId);
+
+    @Modifying
+    @Query("DELETE FROM Notification n WHERE n.staffId = :staffId AND n.isRead = true AND n.createdAt < :before")
+    int deleteReadForStaffBefore(@Param("staffId") Long staffId, @Param("before") LocalDateTime before);
+
+    @Modifying
+    @Query("UPDATE Notification n SET n.isRead = true, n.readAt = :now WHERE n.customerId = :customerId AND n.isRead = false")
+    int markAllReadForCustomer(@Param("customerId") Integer customerId, @Param("now") LocalDateTime now);
+
+    @Modifying
+    @Query("UPDATE Notification n SET n.isRead = true, n.readAt = :now WHERE n.customerId = :customerId " +
+           "AND n.notificationID IN :ids AND n.isRead = false")
+    int markReadForCustomer(@Param("customerId") Integer customerId, @Param("ids") Collection<Long> ids,
+                            @Param("now") LocalDateTime now);
+
+    @Modifying
+    @Query("DELETE FROM Notification n WHERE n.customerId = :customerId")
+    int deleteAllForCustomer(@Param("customerId") Integer customerId);
+
+    @Modifying
+    @Query("DELETE FROM Notification n WHERE n.customerId = :customerId AND n.isRead = true AND n.createdAt < :before")
+    int deleteReadForCustomerBefore(@Param("customerId") Integer customerId, @Param("before") LocalDateTime before);
+
+    // Broadcasts a staff member can see, newest first, without the ones they dismissed
+    @Query("SELECT n FROM Notification n WHERE n.audience = :audience AND n.notificationID > :visibleAfter " +
+           "AND NOT EXISTS (SELECT r FROM StaffNotificationReceipt r WHERE r.staffId = :staffId " +
+           "AND r.notificationId = n.notificationID AND r.dismissed = true) " +
+           "ORDER BY n.notificationID DESC")
+    List<Notification> findBroadcastsForStaff(@Param("audience") String audience,
+                                              @Param("visibleAfter") long visibleAfter,
+                                              @Param("staffId") Long staffId);
+
+    // Broadcasts created after a given id, oldest first, for resuming a push stream
+    @Query("SELECT n FROM Notification n WHERE n.audience = :audience AND n.notificationID > :after " +
+           "AND NOT EXISTS (SELECT r FROM StaffNotificationReceipt r WHERE r.staffId = :staffId " +
+           "AND r.notificationId = n.notificationID AND r.dismissed = true) " +
+           "ORDER BY n.notificationID ASC")
+    List<Notification> findBroadcastsForStaffAfter(@Param("audience") String audience,
+                                                   @Param("after") long after,
+                                                   @Param("staffId") Long staffId,
+                                                   Pageable page);
+
+    List<Notification> findByStaffIdAndNotificationIDGreaterThanOrderByNotificationIDAsc(Long staffId, Long after, Pageable page);
+
+    List<Notification> findByCustomerIdAndNotificationIDGreaterThanOrderByNotificationIDAsc(Integer customerId, Long after, Pageable page);
+
+    @Query("SELECT COALESCE(MAX(n.notificationID), 0) FROM Notification n")
+    long findLatestId();
+
+    long countByAudienceAndNotificationIDGreaterThan(String audience, Long notificationId);
+
+    @Query("SELECT COALESCE(MAX(n.notificationID), 0) FROM Notification n WHERE n.audience = :audience")
+    long findLatestIdByAudience(@Param("audience") String audience);
+
+    // Newest broadcast created before a time, at or below an id
+    @Query("SELECT COALESCE(MAX(n.notificationID), 0) FROM Notification n WHERE n.audience = :audience " +
+           "AND n.notificationID <= :upTo AND n.createdAt < :before")
+    long findLatestIdByAudienceBefore(@Param("audience") String audience, @Param("upTo") long upTo,
+                                      @Param("before") LocalDateTime before);
+
+    long countByAudienceAndNotificationIDBetween(String audience, Long from, Long to);
+
+    // Retention: read notifications past the cutoff, oldest first. UPDLOCK holds the batch until it is
+    // moved, READPAST skips rows users hold, ROWLOCK keeps the locks fine-grained
+    @Query(value = "SELECT TOP (:limit) CAST(n.NotificationID AS BIGINT) FROM Notifications n WITH (UPDLOCK, READPAST, ROWLOCK) " +
+            "WHERE n.Audience IS NULL AND n.Is_Read = 1 AND n.Created_At < :cutoff ORDER BY n.Created_At",
+            nativeQuery = true)
+    List<Long> findArchivableIds(@Param("cutoff") LocalDateTime cutoff, @Param("limit") int limit);
+
+    // Broadcasts past the cutoff that no staff member still has unread
+    @Query(value = "SELECT TOP (:limit) CAST(n.NotificationID AS BIGINT) FROM Notifications n WITH (UPDLOCK, READPAST, ROWLOCK) " +
+            "WHERE n.Audience = :audience AND n.Created_At < :cutoff " +
+            "AND NOT EXISTS (SELECT 1 FROM Staff_Notification_State s " +
+            "WHERE s.Read_Watermark < n.NotificationID AND s.Visible_After < n.NotificationID " +
+            "AND NOT EXISTS (SELECT 1 FROM Staff_Notification_Receipt r WHERE r.Staff_ID = s.Staff_ID " +
+            "AND r.Notification_ID = n.NotificationID AND (r.Read_At IS NOT NULL OR r.Dismissed = 1))) " +
+            "ORDER BY n.Created_At", nativeQuery = true)
+    List<Long> findArchivableBroadcastIds(@Param("audience") String audience, @Param("cutoff") LocalDateTime cutoff,
+                                          @Param("limit") int limit);
+
+    @Modifying
+    @Query(value = "INSERT INTO Notifications_Archive (NotificationID, Message, Type, Entity_ID, Entity_Type, Staff_ID, " +
+            "Customer_ID, Audience, Is_Read, Created_At, Read_At, Archived_At) " +
+            "SELECT NotificationID, Message, Type, Entity_ID, Entity_Type, Staff_ID, Customer_ID, Audience, Is_Read, " +
+            "Created_At, Read_At, SYSDATETIME() FROM Notifications WHERE NotificationID IN (:ids)", nativeQuery = true)
+    int copyToArchive(@Param("ids") Collection<Long> ids);
+
+    @Modifying
+    @Query("DELETE FROM Notification n WHERE n.notificationID IN :ids")
+    int deleteByIds(@Param("ids") Collection<Long> ids);
+
+    @Modifying
+    @Query(value = "DELETE TOP (:limit) FROM Notifications_Archive WHERE Archived_At < :cutoff", nativeQuery = true)
+    int purgeArchive(@Param("cutoff") LocalDateTime cutoff, @Param("limit") int limit);
+
     // Customer-specific
     List<Notification> findByCustomerIdOrderByCreatedAtDesc(Integer customerId);
 
@@ -0,0 +1,30 @@
+package com.laundrypro.repository;
+
+import com.laundrypro.repository.projection.NotificationRow;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface NotificationRepositoryCustom {
+
+    /**
+     * Up to {@code limit} of the staff member's own notifications, newest first by
+     * (createdAt, notificationID), strictly after the (afterDate, afterId) position when one
+     * is given.
+     */
+    List<NotificationRow> findStaffFeed(Long staffId, boolean unreadOnly,
+                                        LocalDateTime afterDate, Long afterId, int limit);
+
+    // Same for a customer's notifications
+    List<NotificationRow> findCustomerFeed(Integer customerId, boolean unreadOnly,
+                                           LocalDateTime afterDate, Long afterId, int limit);
+
+    /**
+     * Broadcasts the staff member can see, in the same order, without the ones they
+     * dismissed. With {@code unreadOnly} only broadcasts above the read watermark that have
+     * no read receipt are returned. The read flag of these rows is not the staff member's;
+     * callers resolve it from the watermark and receipts.
+     */
+    List<NotificationRow> findBroadcastFeed(Long staffId, long visibleAfter, long readWatermark, boolean unreadOnly,
+                                            LocalDateTime afterDate, Long afterId, int limit);
+}
@@ -0,0 +1,80 @@
+package com.laundrypro.repository;
+
+import com.laundrypro.model.Notification;
+import com.laundrypro.repository.projection.NotificationRow;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.TypedQuery;
+
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+// Keyset pagination over idx_notification_staff_feed, idx_notification_customer_feed and
+// idx_notification_audience_feed; only the columns of a feed row are selected, which those indexes cover
+public class NotificationRepositoryImpl implements NotificationRepositoryCustom {
+
+    private static final String SELECT_ROW = "SELECT new com.laundrypro.repository.projection.NotificationRow(" +
+            "n.notificationID, n.message, n.type, n.entityId, n.entityType, n.isRead, n.createdAt, n.readAt) " +
+            "FROM Notification n WHERE ";
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<NotificationRow> findStaffFeed(Long staffId, boolean unreadOnly,
+                                               LocalDateTime afterDate, Long afterId, int limit) {
+        StringBuilder jpql = new StringBuilder(SELECT_ROW).append("n.staffId = :staffId");
+        Map<String, Object> params = new LinkedHashMap<>();
+        params.put("staffId", staffId);
+        if (unreadOnly) jpql.append(" AND n.isRead = false");
+        return page(jpql, params, afterDate, afterId, limit);
+    }
+
+    @Override
+    public List<NotificationRow> findCustomerFeed(Integer customerId, boolean unreadOnly,
+                                                  LocalDateTime afterDate, Long afterId, int limit) {
+        StringBuilder jpql = new StringBuilder(SELECT_ROW).append("n.customerId = :customerId");
+        Map<String, Object> params = new LinkedHashMap<>();
+        params.put("customerId", customerId);
+        if (unreadOnly) jpql.append(" AND n.isRead = false");
+        return page(jpql, params, afterDate, afterId, limit);
+    }
+
+    @Override
+    public List<NotificationRow> findBroadcastFeed(Long staffId, long visibleAfter, long readWatermark, boolean unreadOnly,
+                                                   LocalDateTime afterDate, Long afterId, int limit) {
+        StringBuilder jpql = new StringBuilder(SELECT_ROW)
+                .append("n.audience = :audience AND n.notificationID > :visibleAfter")
+                .append(" AND NOT EXISTS (SELECT r FROM StaffNotificationReceipt r WHERE r.staffId = :staffId")
+                .append(" AND r.notificationId = n.notificationID AND ");
+        Map<String, Object> params = new LinkedHashMap<>();
+        params.put("audience", Notification.AUDIENCE_ALL_STAFF);
+        params.put("staffId", staffId);
+        if (unreadOnly) {
+            // Everything up to the watermark is read, so the seek starts above it
+            jpql.append("(r.dismissed = true OR r.readAt IS NOT NULL))");
+            params.put("visibleAfter", Math.max(visibleAfter, readWatermark));
+        } else {
+            jpql.append("r.dismissed = true)");
+            params.put("visibleAfter", visibleAfter);
+        }
+        return page(jpql, params, afterDate, afterId, limit);
+    }
+
+    private List<NotificationRow> page(StringBuilder jpql, Map<String, Object> params,
+                                       LocalDateTime afterDate, Long afterId, int limit) {
+        if (afterDate != null && afterId != null) {
+            // Written as a range on Created_At plus a tie-break so the index can seek to the position
+            jpql.append(" AND n.createdAt <= :afterDate AND (n.createdAt < :afterDate OR n.notificationID < :afterId)");
+            params.put("afterDate", afterDate);
+            params.put("afterId", afterId);
+        }
+        jpql.append(" ORDER BY n.createdAt DESC, n.notificationID DESC");
+
+        TypedQuery<NotificationRow> query = entityManager.createQuery(jpql.toString(), NotificationRow.class);
+        params.forEach(query::setParameter);
+        return query.setMaxResults(limit).getResultList();
+    }
+}
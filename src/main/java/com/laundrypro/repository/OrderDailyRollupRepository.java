@@ -0,0 +1,63 @@
+package com.laundrypro.repository;
+
+import com.laundrypro.model.OrderDailyRollup;
+import com.laundrypro.repository.projection.PeriodTotals;
+import com.laundrypro.repository.projection.ServiceTypeTotals;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+public interface OrderDailyRollupRepository extends JpaRepository<OrderDailyRollup, Long> {
+
+    // Rollup rows for an inclusive day range
+    List<OrderDailyRollup> findByRollupDateBetweenOrderByRollupDateAsc(LocalDate start, LocalDate end);
+
+    // Totals per day across all service types
+    @Query("SELECT r.rollupDate AS periodStart, SUM(r.orderCount) AS orderCount, " +
+           "SUM(r.completedCount) AS completedCount, SUM(r.revenue) AS revenue " +
+           "FROM OrderDailyRollup r WHERE r.rollupDate >= :start AND r.rollupDate <= :end " +
+           "GROUP BY r.rollupDate ORDER BY r.rollupDate")
+    List<PeriodTotals> sumByDay(@Param("start") LocalDate start, @Param("end") LocalDate end);
+
+    // Totals per calendar month; periodStart is the month's first day with data inside the window,
+    // not necessarily the 1st, so callers bucket by the month it falls in
+    @Query("SELECT MIN(r.rollupDate) AS periodStart, SUM(r.orderCount) AS orderCount, " +
+           "SUM(r.completedCount) AS completedCount, SUM(r.revenue) AS revenue " +
+           "FROM OrderDailyRollup r WHERE r.rollupDate >= :start AND r.rollupDate <= :end " +
+           "GROUP BY YEAR(r.rollupDate), MONTH(r.rollupDate) ORDER BY MIN(r.rollupDate)")
+    List<PeriodTotals> sumByMonth(@Param("start") LocalDate start, @Param("end") LocalDate end);
+
+    // Totals per service type; orders without a service type are excluded
+    @Query("SELECT r.serviceType AS serviceType, SUM(r.orderCount) AS orderCount, SUM(r.revenue) AS revenue " +
+           "FROM OrderDailyRollup r WHERE r.rollupDate >= :start AND r.rollupDate <= :end AND r.serviceType <> '' " +
+           "GROUP BY r.serviceType")
+    List<ServiceTypeTotals> sumByServiceType(@Param("start") LocalDate start, @Param("end") LocalDate end);
+
+    // Adds one write's difference to its (day, service type) row in a single statement: creates the
+    // row if missing, drops it once no orders are left. HOLDLOCK keeps concurrent first orders of a
+    // day from both inserting.
+    @Modifying
+    @Query(value = "MERGE Order_Daily_Rollup WITH (HOLDLOCK) AS t " +
+            "USING (SELECT :day AS Rollup_Date, :serviceType AS Service_Type) AS s " +
+            "ON t.Rollup_Date = s.Rollup_Date AND t.Service_Type = s.Service_Type " +
+            "WHEN MATCHED AND t.Order_Count + :orders <= 0 THEN DELETE " +
+            "WHEN MATCHED THEN UPDATE SET Order_Count = t.Order_Count + :orders, " +
+            "Completed_Count = t.Completed_Count + :completed, Revenue = t.Revenue + :revenue, " +
+            "Tax = t.Tax + :tax, Distinct_Customers = t.Distinct_Customers + :customers " +
+            "WHEN NOT MATCHED AND :orders > 0 THEN INSERT " +
+            "(Rollup_Date, Service_Type, Order_Count, Completed_Count, Revenue, Tax, Distinct_Customers) " +
+            "VALUES (s.Rollup_Date, s.Service_Type, :orders, :completed, :revenue, :tax, :customers);", nativeQuery = true)
+    int applyDelta(@Param("day") LocalDate day, @Param("serviceType") String serviceType,
+                   @Param("orders") long orders, @Param("completed") long completed,
+                   @Param("revenue") BigDecimal revenue, @Param("tax") BigDecimal tax,
+                   @Param("customers") long customers);
+
+    @Modifying
+    @Query("DELETE FROM OrderDailyRollup r WHERE r.rollupDate >= :start AND r.rollupDate <= :end")
+    int deleteByRollupDateRange(@Param("start") LocalDate start, @Param("end") LocalDate end);
+}
@@ -1,15 +1,24 @@
 package com.laundrypro.repository;
 
 import com.laundrypro.model.Orders;
+import com.laundrypro.repository.projection.CustomerOrderDate;
+import com.laundrypro.repository.projection.CustomerOrderSpan;
+import com.laundrypro.repository.projection.OrderExportRow;
+import com.laundrypro.repository.projection.OrderScalar;
+import com.laundrypro.repository.projection.StatusCount;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 
 import java.math.BigDecimal;
 import java.util.Date;
 import java.util.List;
+import java.util.stream.Stream;
 
 
 public interface OrdersRepository extends JpaRepository<Orders, Integer> {
@@ -27,4 +36,62 @@ public interface OrdersRepository extends JpaRepository<Orders, Integer> {
     BigDecimal sumRevenueBetween(@Param("startDate") Date startDate, @Param("endDate") Date endDate);
 
     List<Orders> findByDateBetween(Date start, Date end);
+
+    @Query("SELECT o.status AS status, COUNT(o) AS orderCount FROM Orders o " +
+           "WHERE o.date >= :startDate AND o.date < :endDate GROUP BY o.status")
+    List<StatusCount> countByStatusBetween(@Param("startDate") Date startDate, @Param("endDate") Date endDate);
+
+    // The customer's other orders of one service type in [startDate, endDate), for the rollups' distinct customers
+    @Query("SELECT COUNT(o) FROM Orders o WHERE o.customerId = :customerId AND o.orderId <> :orderId " +
+           "AND o.date >= :startDate AND o.date < :endDate AND COALESCE(TRIM(o.serviceType), '') = :serviceType")
+    long countOtherOrdersOfCustomer(@Param("customerId") Integer customerId, @Param("orderId") Integer orderId,
+                                    @Param("serviceType") String serviceType,
+                                    @Param("startDate") Date startDate, @Param("endDate") Date endDate);
+
+    // Forward-only scan of [startDate, endDate) in date order; must be consumed inside a transaction and closed
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "false")
+    })
+    @Query("SELECT o.date AS date, o.customerId AS customerId, o.serviceType AS serviceType, " +
+           "o.total AS total, o.tax AS tax, o.status AS status " +
+           "FROM Orders o WHERE o.date >= :startDate AND o.date < :endDate ORDER BY o.date")
+    Stream<OrderScalar> streamScalarsBetween(@Param("startDate") Date startDate, @Param("endDate") Date endDate);
+
+    // Export rows of [startDate, endDate) in date order over a forward-only cursor; nothing is kept in the persistence context
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "5000"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "false")
+    })
+    @Query("SELECT o.orderId AS orderId, o.date AS date, o.customerId AS customerId, o.customerName AS customerName, " +
+           "o.serviceType AS serviceType, o.subTotal AS subTotal, o.tax AS tax, o.total AS total, " +
+           "o.status AS status, o.paymentId AS paymentId, o.staffId AS staffId " +
+           "FROM Orders o WHERE o.date >= :startDate AND o.date < :endDate ORDER BY o.date, o.orderId")
+    Stream<OrderExportRow> streamExportRowsBetween(@Param("startDate") Date startDate, @Param("endDate") Date endDate);
+
+    // Order dates and customers of [startDate, endDate) in date order, for rebuilding customer sketches;
+    // the caller buckets them into days, so the database server's zone never decides the day
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT o.date AS date, o.customerId AS customerId " +
+           "FROM Orders o WHERE o.date >= :startDate AND o.date < :endDate ORDER BY o.date")
+    Stream<CustomerOrderDate> streamCustomerOrderDatesBetween(@Param("startDate") Date startDate, @Param("endDate") Date endDate);
+
+    // Distinct ordering customers of [startDate, endDate)
+    @Query("SELECT COUNT(DISTINCT o.customerId) FROM Orders o WHERE o.date >= :startDate AND o.date < :endDate")
+    long countDistinctCustomersBetween(@Param("startDate") Date startDate, @Param("endDate") Date endDate);
+
+    @Query("SELECT MIN(o.date) AS firstOrder, MAX(o.date) AS lastOrder, COUNT(o) AS orderCount " +
+           "FROM Orders o WHERE o.customerId = :customerId")
+    CustomerOrderSpan findOrderSpanByCustomerId(@Param("customerId") Integer customerId);
+
+    @Query("SELECT MIN(o.date) FROM Orders o")
+    Date findEarliestOrderDate();
+
+    @Query("SELECT MAX(o.date) FROM Orders o")
+    Date findLatestOrderDate();
 }
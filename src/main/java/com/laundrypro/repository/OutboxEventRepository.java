@@ -0,0 +1,74 @@
+package com.laundrypro.repository;
+
+import com.laundrypro.model.OutboxEvent;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+public interface OutboxEventRepository extends JpaRepository<OutboxEvent, Long> {
+
+    // Returns 0 when an event with the dedup key was appended before; a null key never matches
+    @Modifying
+    @Query(value = "MERGE Outbox_Event WITH (HOLDLOCK) AS t " +
+            "USING (SELECT :dedupKey AS Dedup_Key) AS s ON t.Dedup_Key = s.Dedup_Key " +
+            "WHEN NOT MATCHED THEN INSERT (Event_Type, Aggregate_ID, Dedup_Key, Payload, Created_At, Attempts, Next_Attempt_At) " +
+            "VALUES (:eventType, :aggregateId, s.Dedup_Key, :payload, :now, 0, :now);", nativeQuery = true)
+    int append(@Param("eventType") String eventType, @Param("aggregateId") Integer aggregateId,
+               @Param("dedupKey") String dedupKey, @Param("payload") String payload, @Param("now") LocalDateTime now);
+
+    // Due events, oldest first; READPAST lets relays on other nodes take the next ones
+    @Query(value = "SELECT TOP (:limit) Event_ID FROM Outbox_Event WITH (UPDLOCK, READPAST, ROWLOCK) " +
+            "WHERE Processed_At IS NULL AND Failed_At IS NULL AND Next_Attempt_At <= :now ORDER BY Event_ID",
+            nativeQuery = true)
+    List<Long> findDueIds(@Param("now") LocalDateTime now, @Param("limit") int limit);
+
+    // Claims the events until the lease runs out; a relay that dies mid-batch leaves them to be retried
+    @Modifying
+    @Query("UPDATE OutboxEvent e SET e.nextAttemptAt = :leaseUntil, e.attempts = e.attempts + 1 WHERE e.eventId IN :ids")
+    int lease(@Param("ids") Collection<Long> ids, @Param("leaseUntil") LocalDateTime leaseUntil);
+
+    List<OutboxEvent> findByEventIdInOrderByEventIdAsc(Collection<Long> ids);
+
+    @Modifying
+    @Query("UPDATE OutboxEvent e SET e.processedAt = :now, e.lastError = null WHERE e.eventId = :id")
+    int markProcessed(@Param("id") Long id, @Param("now") LocalDateTime now);
+
+    @Modifying
+    @Query("UPDATE OutboxEvent e SET e.nextAttemptAt = :retryAt, e.lastError = :error WHERE e.eventId = :id")
+    int scheduleRetry(@Param("id") Long id, @Param("retryAt") LocalDateTime retryAt, @Param("error") String error);
+
+    @Modifying
+    @Query("UPDATE OutboxEvent e SET e.failedAt = :now, e.lastError = :error WHERE e.eventId = :id")
+    int markFailed(@Param("id") Long id, @Param("now") LocalDateTime now, @Param("error") String error);
+
+    // Returns 1 the first time a consumer takes the event, 0 on redelivery
+    @Modifying
+    @Query(value = "MERGE Outbox_Delivery WITH (HOLDLOCK) AS t " +
+            "USING (SELECT :eventId AS Event_ID, :consumer AS Consumer) AS s " +
+            "ON t.Event_ID = s.Event_ID AND t.Consumer = s.Consumer " +
+            "WHEN NOT MATCHED THEN INSERT (Event_ID, Consumer, Delivered_At) " +
+            "VALUES (s.Event_ID, s.Consumer, :now);", nativeQuery = true)
+    int recordDelivery(@Param("eventId") Long eventId, @Param("consumer") String consumer,
+                       @Param("now") LocalDateTime now);
+
+    @Query("SELECT COUNT(e) FROM OutboxEvent e WHERE e.processedAt IS NULL AND e.failedAt IS NULL")
+    long countPending();
+
+    long countByFailedAtIsNotNull();
+
+    @Query("SELECT MIN(e.createdAt) FROM OutboxEvent e WHERE e.processedAt IS NULL AND e.failedAt IS NULL")
+    LocalDateTime findOldestPendingCreatedAt();
+
+    @Modifying
+    @Query(value = "DELETE TOP (:limit) FROM Outbox_Event WHERE Processed_At < :cutoff", nativeQuery = true)
+    int purgeProcessed(@Param("cutoff") LocalDateTime cutoff, @Param("limit") int limit);
+
+    @Modifying
+    @Query(value = "DELETE TOP (:limit) FROM Outbox_Delivery WHERE Delivered_At < :cutoff", nativeQuery = true)
+    int purgeDeliveries(@Param("cutoff") LocalDateTime cutoff, @Param("limit") int limit);
+}
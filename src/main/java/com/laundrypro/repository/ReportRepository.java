@@ -8,7 +8,7 @@ import org.springframework.data.jpa.repository.JpaRepository;
 import java.time.LocalDateTime;
 import java.util.List;
 
-public interface ReportRepository extends JpaRepository<Report, Integer> {
+public interface ReportRepository extends JpaRepository<Report, Integer>, ReportRepositoryCustom {
 
     // Find reports by date range
     List<Report> findByReportDateBetween(LocalDateTime startDate, LocalDateTime endDate);
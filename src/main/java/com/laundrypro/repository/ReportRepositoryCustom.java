@@ -0,0 +1,17 @@
+package com.laundrypro.repository;
+
+import com.laundrypro.model.Report;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface ReportRepositoryCustom {
+
+    /**
+     * Up to {@code limit} reports, newest first by (reportDate, reportId), strictly after the
+     * (afterDate, afterId) position when one is given. Null filters are left out of the query
+     * rather than matched against null, so each combination gets its own index-friendly plan.
+     */
+    List<Report> findPage(String timeRange, String generatedBy, LocalDateTime from, LocalDateTime to,
+                          LocalDateTime afterDate, Integer afterId, int limit);
+}
@@ -0,0 +1,52 @@
+package com.laundrypro.repository;
+
+import com.laundrypro.model.Report;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.TypedQuery;
+
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+// Keyset pagination over idx_report_date (Report_Date DESC, Report_ID DESC)
+public class ReportRepositoryImpl implements ReportRepositoryCustom {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<Report> findPage(String timeRange, String generatedBy, LocalDateTime from, LocalDateTime to,
+                                 LocalDateTime afterDate, Integer afterId, int limit) {
+        StringBuilder jpql = new StringBuilder("SELECT r FROM Report r WHERE 1 = 1");
+        Map<String, Object> params = new LinkedHashMap<>();
+        if (timeRange != null) {
+            jpql.append(" AND r.timeRange = :timeRange");
+            params.put("timeRange", timeRange);
+        }
+        if (generatedBy != null) {
+            jpql.append(" AND r.generatedBy = :generatedBy");
+            params.put("generatedBy", generatedBy);
+        }
+        if (from != null) {
+            jpql.append(" AND r.reportDate >= :from");
+            params.put("from", from);
+        }
+        if (to != null) {
+            jpql.append(" AND r.reportDate < :to");
+            params.put("to", to);
+        }
+        if (afterDate != null && afterId != null) {
+            // Written as a range on Report_Date plus a tie-break so the index can seek to the position
+            jpql.append(" AND r.reportDate <= :afterDate AND (r.reportDate < :afterDate OR r.reportId < :afterId)");
+            params.put("afterDate", afterDate);
+            params.put("afterId", afterId);
+        }
+        jpql.append(" ORDER BY r.reportDate DESC, r.reportId DESC");
+
+        TypedQuery<Report> query = entityManager.createQuery(jpql.toString(), Report.class);
+        params.forEach(query::setParameter);
+        return query.setMaxResults(limit).getResultList();
+    }
+}
@@ -0,0 +1,39 @@
+package com.laundrypro.repository;
+
+import com.laundrypro.model.ReviewDailyRating;
+import com.laundrypro.repository.projection.RatingTotals;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDate;
+import java.util.List;
+
+public interface ReviewDailyRatingRepository extends JpaRepository<ReviewDailyRating, Long> {
+
+    // Daily rows of every dimension for an inclusive day range
+    List<ReviewDailyRating> findByRatingDateBetweenOrderByRatingDateAsc(LocalDate start, LocalDate end);
+
+    // Totals of one dimension over an inclusive day range
+    @Query("SELECT COALESCE(SUM(r.ratingSum), 0) AS ratingSum, COALESCE(SUM(r.ratingCount), 0) AS ratingCount, " +
+           "COALESCE(SUM(r.count1), 0) AS count1, COALESCE(SUM(r.count2), 0) AS count2, " +
+           "COALESCE(SUM(r.count3), 0) AS count3, COALESCE(SUM(r.count4), 0) AS count4, " +
+           "COALESCE(SUM(r.count5), 0) AS count5 " +
+           "FROM ReviewDailyRating r WHERE r.dimension = :dimension " +
+           "AND r.ratingDate >= :start AND r.ratingDate <= :end")
+    RatingTotals sumByDimensionBetween(@Param("dimension") String dimension,
+                                       @Param("start") LocalDate start, @Param("end") LocalDate end);
+
+    // Totals of one dimension over all days
+    @Query("SELECT COALESCE(SUM(r.ratingSum), 0) AS ratingSum, COALESCE(SUM(r.ratingCount), 0) AS ratingCount, " +
+           "COALESCE(SUM(r.count1), 0) AS count1, COALESCE(SUM(r.count2), 0) AS count2, " +
+           "COALESCE(SUM(r.count3), 0) AS count3, COALESCE(SUM(r.count4), 0) AS count4, " +
+           "COALESCE(SUM(r.count5), 0) AS count5 " +
+           "FROM ReviewDailyRating r WHERE r.dimension = :dimension")
+    RatingTotals sumByDimension(@Param("dimension") String dimension);
+
+    @Modifying
+    @Query("DELETE FROM ReviewDailyRating r WHERE r.ratingDate >= :start AND r.ratingDate <= :end")
+    int deleteByRatingDateRange(@Param("start") LocalDate start, @Param("end") LocalDate end);
+}
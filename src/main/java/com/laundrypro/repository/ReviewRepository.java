@@ -1,13 +1,56 @@
 package com.laundrypro.repository;
 
 import com.laundrypro.model.Review;
+import com.laundrypro.repository.projection.RatingDayTotals;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 @Repository
 public interface ReviewRepository extends JpaRepository<Review, Integer> {
 
     List<Review> findByCustomerId(Integer customerId);
+
+    @Query("SELECT r.createdAt FROM Review r WHERE r.reviewId = :id")
+    LocalDateTime findCreatedAtById(@Param("id") Integer id);
+
+    @Query("SELECT MIN(r.createdAt) FROM Review r")
+    LocalDateTime findEarliestCreatedAt();
+
+    // Overall rating totals per day for [start, end)
+    @Query("SELECT CAST(r.createdAt AS LocalDate) AS day, SUM(r.rating) AS ratingSum, COUNT(r.rating) AS ratingCount, " +
+           "SUM(CASE WHEN r.rating = 1 THEN 1 ELSE 0 END) AS count1, " +
+           "SUM(CASE WHEN r.rating = 2 THEN 1 ELSE 0 END) AS count2, " +
+           "SUM(CASE WHEN r.rating = 3 THEN 1 ELSE 0 END) AS count3, " +
+           "SUM(CASE WHEN r.rating = 4 THEN 1 ELSE 0 END) AS count4, " +
+           "SUM(CASE WHEN r.rating = 5 THEN 1 ELSE 0 END) AS count5 " +
+           "FROM Review r WHERE r.createdAt >= :start AND r.createdAt < :end AND r.rating IS NOT NULL " +
+           "GROUP BY CAST(r.createdAt AS LocalDate)")
+    List<RatingDayTotals> aggregateRatingByDay(@Param("start") LocalDateTime start, @Param("end") LocalDateTime end);
+
+    // Service rating totals per day for [start, end)
+    @Query("SELECT CAST(r.createdAt AS LocalDate) AS day, SUM(r.serviceRating) AS ratingSum, COUNT(r.serviceRating) AS ratingCount, " +
+           "SUM(CASE WHEN r.serviceRating = 1 THEN 1 ELSE 0 END) AS count1, " +
+           "SUM(CASE WHEN r.serviceRating = 2 THEN 1 ELSE 0 END) AS count2, " +
+           "SUM(CASE WHEN r.serviceRating = 3 THEN 1 ELSE 0 END) AS count3, " +
+           "SUM(CASE WHEN r.serviceRating = 4 THEN 1 ELSE 0 END) AS count4, " +
+           "SUM(CASE WHEN r.serviceRating = 5 THEN 1 ELSE 0 END) AS count5 " +
+           "FROM Review r WHERE r.createdAt >= :start AND r.createdAt < :end AND r.serviceRating IS NOT NULL " +
+           "GROUP BY CAST(r.createdAt AS LocalDate)")
+    List<RatingDayTotals> aggregateServiceRatingByDay(@Param("start") LocalDateTime start, @Param("end") LocalDateTime end);
+
+    // Platform rating totals per day for [start, end)
+    @Query("SELECT CAST(r.createdAt AS LocalDate) AS day, SUM(r.platformRating) AS ratingSum, COUNT(r.platformRating) AS ratingCount, " +
+           "SUM(CASE WHEN r.platformRating = 1 THEN 1 ELSE 0 END) AS count1, " +
+           "SUM(CASE WHEN r.platformRating = 2 THEN 1 ELSE 0 END) AS count2, " +
+           "SUM(CASE WHEN r.platformRating = 3 THEN 1 ELSE 0 END) AS count3, " +
+           "SUM(CASE WHEN r.platformRating = 4 THEN 1 ELSE 0 END) AS count4, " +
+           "SUM(CASE WHEN r.platformRating = 5 THEN 1 ELSE 0 END) AS count5 " +
+           "FROM Review r WHERE r.createdAt >= :start AND r.createdAt < :end AND r.platformRating IS NOT NULL " +
+           "GROUP BY CAST(r.createdAt AS LocalDate)")
+    List<RatingDayTotals> aggregatePlatformRatingByDay(@Param("start") LocalDateTime start, @Param("end") LocalDateTime end);
 }
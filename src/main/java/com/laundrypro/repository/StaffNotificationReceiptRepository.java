@@ -0,0 +1,89 @@
+package com.laundrypro.repository;
+
+import com.laundrypro.model.StaffNotificationReceipt;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+public interface StaffNotificationReceiptRepository extends JpaRepository<StaffNotificationReceipt, Long> {
+
+    Optional<StaffNotificationReceipt> findByStaffIdAndNotificationId(Long staffId, Long notificationId);
+
+    List<StaffNotificationReceipt> findByStaffIdAndNotificationIdIn(Long staffId, Collection<Long> notificationIds);
+
+    // Receipts that still matter for the read state: above the watermark, or dismissals
+    @Query("SELECT r FROM StaffNotificationReceipt r WHERE r.staffId = :staffId " +
+           "AND (r.notificationId > :watermark OR r.dismissed = true)")
+    List<StaffNotificationReceipt> findLive(@Param("staffId") Long staffId, @Param("watermark") long watermark);
+
+    // Broadcasts above the watermark that are no longer unread for the staff member
+    @Query("SELECT COUNT(r) FROM StaffNotificationReceipt r WHERE r.staffId = :staffId " +
+           "AND r.notificationId > :watermark AND (r.readAt IS NOT NULL OR r.dismissed = true)")
+    long countSettledAbove(@Param("staffId") Long staffId, @Param("watermark") long watermark);
+
+    long countByStaffIdAndDismissedTrueAndNotificationIdBetween(Long staffId, Long from, Long to);
+
+    // Returns 1 when the broadcast went from unread to read, 0 when it was already read or dismissed
+    @Modifying
+    @Query(value = "MERGE Staff_Notification_Receipt WITH (HOLDLOCK) AS t " +
+            "USING (SELECT :staffId AS Staff_ID, :notificationId AS Notification_ID) AS s " +
+            "ON t.Staff_ID = s.Staff_ID AND t.Notification_ID = s.Notification_ID " +
+            "WHEN MATCHED AND t.Read_At IS NULL AND t.Dismissed = 0 THEN UPDATE SET Read_At = :readAt " +
+            "WHEN NOT MATCHED THEN INSERT (Staff_ID, Notification_ID, Read_At, Dismissed) " +
+            "VALUES (s.Staff_ID, s.Notification_ID, :readAt, 0);", nativeQuery = true)
+    int markRead(@Param("staffId") Long staffId, @Param("notificationId") Long notificationId,
+                 @Param("readAt") LocalDateTime readAt);
+
+    // Returns 1 when the broadcast was newly dismissed
+    @Modifying
+    @Query(value = "MERGE Staff_Notification_Receipt WITH (HOLDLOCK) AS t " +
+            "USING (SELECT :staffId AS Staff_ID, :notificationId AS Notification_ID) AS s " +
+            "ON t.Staff_ID = s.Staff_ID AND t.Notification_ID = s.Notification_ID " +
+            "WHEN MATCHED AND t.Dismissed = 0 THEN UPDATE SET Dismissed = 1 " +
+            "WHEN NOT MATCHED THEN INSERT (Staff_ID, Notification_ID, Read_At, Dismissed) " +
+            "VALUES (s.Staff_ID, s.Notification_ID, NULL, 1);", nativeQuery = true)
+    int dismiss(@Param("staffId") Long staffId, @Param("notificationId") Long notificationId);
+
+    // markRead for a list of ids in one statement; ids that are not visible unread broadcasts are skipped
+    @Modifying
+    @Query(value = "MERGE Staff_Notification_Receipt WITH (HOLDLOCK) AS t " +
+            "USING (SELECT :staffId AS Staff_ID, n.NotificationID AS Notification_ID FROM Notifications n " +
+            "WHERE n.NotificationID IN (:ids) AND n.Audience = :audience AND n.NotificationID > :above) AS s " +
+            "ON t.Staff_ID = s.Staff_ID AND t.Notification_ID = s.Notification_ID " +
+            "WHEN MATCHED AND t.Read_At IS NULL AND t.Dismissed = 0 THEN UPDATE SET Read_At = :readAt " +
+            "WHEN NOT MATCHED THEN INSERT (Staff_ID, Notification_ID, Read_At, Dismissed) " +
+            "VALUES (s.Staff_ID, s.Notification_ID, :readAt, 0);", nativeQuery = true)
+    int markReadAll(@Param("staffId") Long staffId, @Param("ids") Collection<Long> ids,
+                    @Param("audience") String audience, @Param("above") long above,
+                    @Param("readAt") LocalDateTime readAt);
+
+    // Read receipts of broadcasts created before a time become dismissals
+    @Modifying
+    @Query("UPDATE StaffNotificationReceipt r SET r.dismissed = true WHERE r.staffId = :staffId " +
+           "AND r.dismissed = false AND r.readAt IS NOT NULL AND r.notificationId IN " +
+           "(SELECT n.notificationID FROM Notification n WHERE n.audience = :audience AND n.createdAt < :before)")
+    int dismissReadBefore(@Param("staffId") Long staffId, @Param("audience") String audience,
+                          @Param("before") LocalDateTime before);
+
+    // Read receipts at or below a new watermark carry no information any more
+    @Modifying
+    @Query("DELETE FROM StaffNotificationReceipt r WHERE r.staffId = :staffId " +
+           "AND r.notificationId <= :watermark AND r.dismissed = false")
+    int deleteReadUpTo(@Param("staffId") Long staffId, @Param("watermark") long watermark);
+
+    @Modifying
+    @Query("DELETE FROM StaffNotificationReceipt r WHERE r.notificationId IN :ids")
+    int deleteByNotificationIds(@Param("ids") Collection<Long> ids);
+
+    // Every receipt at or below Visible_After, once those broadcasts are hidden
+    @Modifying
+    @Query("DELETE FROM StaffNotificationReceipt r WHERE r.staffId = :staffId AND r.notificationId <= :visibleAfter")
+    int deleteUpTo(@Param("staffId") Long staffId, @Param("visibleAfter") long visibleAfter);
+
+}
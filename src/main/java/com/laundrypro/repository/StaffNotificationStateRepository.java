@@ -0,0 +1,30 @@
+package com.laundrypro.repository;
+
+import com.laundrypro.model.StaffNotificationState;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+public interface StaffNotificationStateRepository extends JpaRepository<StaffNotificationState, Long> {
+
+    // A staff member seen for the first time starts after the broadcasts that already exist
+    @Modifying
+    @Query(value = "MERGE Staff_Notification_State WITH (HOLDLOCK) AS t " +
+            "USING (SELECT :staffId AS Staff_ID) AS s ON t.Staff_ID = s.Staff_ID " +
+            "WHEN NOT MATCHED THEN INSERT (Staff_ID, Visible_After, Read_Watermark) " +
+            "VALUES (s.Staff_ID, :latest, :latest);", nativeQuery = true)
+    int insertIfMissing(@Param("staffId") Long staffId, @Param("latest") long latestBroadcastId);
+
+    // Only moves forward, so a stale "mark all read" cannot unread newer broadcasts
+    @Modifying
+    @Query("UPDATE StaffNotificationState s SET s.readWatermark = :watermark " +
+           "WHERE s.staffId = :staffId AND s.readWatermark < :watermark")
+    int advanceReadWatermark(@Param("staffId") Long staffId, @Param("watermark") long watermark);
+
+    // Hides broadcasts up to an id; forward only, like the watermark
+    @Modifying
+    @Query("UPDATE StaffNotificationState s SET s.visibleAfter = :visibleAfter " +
+           "WHERE s.staffId = :staffId AND s.visibleAfter < :visibleAfter")
+    int advanceVisibleAfter(@Param("staffId") Long staffId, @Param("visibleAfter") long visibleAfter);
+}
@@ -0,0 +1,11 @@
+package com.laundrypro.repository.projection;
+
+import java.util.Date;
+
+/**
+ * When a customer placed an order; the day is taken in Java, in the application's zone.
+ */
+public interface CustomerOrderDate {
+    Date getDate();
+    Integer getCustomerId();
+}
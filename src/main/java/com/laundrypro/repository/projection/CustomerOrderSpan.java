@@ -0,0 +1,9 @@
+package com.laundrypro.repository.projection;
+
+import java.util.Date;
+
+public interface CustomerOrderSpan {
+    Date getFirstOrder();
+    Date getLastOrder();
+    long getOrderCount();
+}
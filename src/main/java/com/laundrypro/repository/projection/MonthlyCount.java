@@ -0,0 +1,11 @@
+package com.laundrypro.repository.projection;
+
+import java.time.LocalDate;
+
+/**
+ * A count for one calendar month; periodStart is any day inside that month.
+ */
+public interface MonthlyCount {
+    LocalDate getPeriodStart();
+    long getCustomerCount();
+}
@@ -0,0 +1,39 @@
+package com.laundrypro.repository.projection;
+
+import java.time.LocalDateTime;
+
+/**
+ * The notification columns a feed page shows. A class rather than an interface projection
+ * because the feed queries are built by hand and select it with a constructor expression.
+ */
+public class NotificationRow {
+    private final Long notificationId;
+    private final String message;
+    private final String type;
+    private final Long entityId;
+    private final String entityType;
+    private final boolean read;
+    private final LocalDateTime createdAt;
+    private final LocalDateTime readAt;
+
+    public NotificationRow(Long notificationId, String message, String type, Long entityId, String entityType,
+                           boolean read, LocalDateTime createdAt, LocalDateTime readAt) {
+        this.notificationId = notificationId;
+        this.message = message;
+        this.type = type;
+        this.entityId = entityId;
+        this.entityType = entityType;
+        this.read = read;
+        this.createdAt = createdAt;
+        this.readAt = readAt;
+    }
+
+    public Long getNotificationId() { return notificationId; }
+    public String getMessage() { return message; }
+    public String getType() { return type; }
+    public Long getEntityId() { return entityId; }
+    public String getEntityType() { return entityType; }
+    public boolean isRead() { return read; }
+    public LocalDateTime getCreatedAt() { return createdAt; }
+    public LocalDateTime getReadAt() { return readAt; }
+}
@@ -0,0 +1,21 @@
+package com.laundrypro.repository.projection;
+
+import java.math.BigDecimal;
+import java.util.Date;
+
+/**
+ * The order columns written by the accounting export, one row per order.
+ */
+public interface OrderExportRow {
+    Integer getOrderId();
+    Date getDate();
+    Integer getCustomerId();
+    String getCustomerName();
+    String getServiceType();
+    BigDecimal getSubTotal();
+    BigDecimal getTax();
+    BigDecimal getTotal();
+    String getStatus();
+    Integer getPaymentId();
+    Integer getStaffId();
+}
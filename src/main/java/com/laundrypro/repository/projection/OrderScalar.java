@@ -0,0 +1,16 @@
+package com.laundrypro.repository.projection;
+
+import java.math.BigDecimal;
+import java.util.Date;
+
+/**
+ * The order columns needed for aggregation, read without materialising {@code Orders} entities.
+ */
+public interface OrderScalar {
+    Date getDate();
+    Integer getCustomerId();
+    String getServiceType();
+    BigDecimal getTotal();
+    BigDecimal getTax();
+    String getStatus();
+}
@@ -0,0 +1,14 @@
+package com.laundrypro.repository.projection;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * Order totals for one day or month; periodStart is the first day that has data in the group.
+ */
+public interface PeriodTotals {
+    LocalDate getPeriodStart();
+    long getOrderCount();
+    long getCompletedCount();
+    BigDecimal getRevenue();
+}
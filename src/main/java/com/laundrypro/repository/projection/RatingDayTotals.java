@@ -0,0 +1,10 @@
+package com.laundrypro.repository.projection;
+
+import java.time.LocalDate;
+
+/**
+ * Rating totals of one dimension for one calendar day.
+ */
+public interface RatingDayTotals extends RatingTotals {
+    LocalDate getDay();
+}
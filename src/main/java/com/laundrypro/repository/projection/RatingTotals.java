@@ -0,0 +1,14 @@
+package com.laundrypro.repository.projection;
+
+/**
+ * Sum, count and 1-5 star histogram of one rating dimension.
+ */
+public interface RatingTotals {
+    long getRatingSum();
+    long getRatingCount();
+    long getCount1();
+    long getCount2();
+    long getCount3();
+    long getCount4();
+    long getCount5();
+}
@@ -0,0 +1,9 @@
+package com.laundrypro.repository.projection;
+
+import java.math.BigDecimal;
+
+public interface ServiceTypeTotals {
+    String getServiceType();
+    long getOrderCount();
+    BigDecimal getRevenue();
+}
@@ -0,0 +1,6 @@
+package com.laundrypro.repository.projection;
+
+public interface StatusCount {
+    String getStatus();
+    long getOrderCount();
+}
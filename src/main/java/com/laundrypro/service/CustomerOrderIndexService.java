@@ -0,0 +1,60 @@
+package com.laundrypro.service;
+
+import com.laundrypro.model.CustomerOrderIndex;
+import com.laundrypro.repository.CustomerOrderIndexRepository;
+import com.laundrypro.repository.OrdersRepository;
+import com.laundrypro.repository.projection.CustomerOrderSpan;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+
+/**
+ * Maintains the per-customer first/last order index used by retention and new-customer metrics.
+ */
+@Service
+@Transactional
+public class CustomerOrderIndexService {
+
+    private final CustomerOrderIndexRepository indexRepository;
+    private final OrdersRepository ordersRepository;
+
+    public CustomerOrderIndexService(CustomerOrderIndexRepository indexRepository,
+                                     OrdersRepository ordersRepository) {
+        this.indexRepository = indexRepository;
+        this.ordersRepository = ordersRepository;
+    }
+
+    // Called for every newly created order, inside the order transaction
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordOrder(Integer customerId, LocalDate day) {
+        if (customerId == null || day == null) return;
+        indexRepository.recordOrder(customerId, day);
+    }
+
+    // Recomputes the entries of customers whose orders were moved or deleted
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void refreshCustomers(Integer... customerIds) {
+        for (Integer customerId : customerIds) {
+            if (customerId == null) continue;
+            CustomerOrderSpan span = ordersRepository.findOrderSpanByCustomerId(customerId);
+            if (span == null || span.getOrderCount() == 0) {
+                indexRepository.findById(customerId).ifPresent(indexRepository::delete);
+                continue;
+            }
+            CustomerOrderIndex entry = indexRepository.findById(customerId)
+                    .orElseGet(() -> new CustomerOrderIndex(customerId, null, null, 0));
+            entry.setFirstOrderDate(OrderRollupService.dayOf(span.getFirstOrder()));
+            entry.setLastOrderDate(OrderRollupService.dayOf(span.getLastOrder()));
+            entry.setOrderCount(span.getOrderCount());
+            indexRepository.save(entry);
+        }
+    }
+
+    // Regenerates the whole index from Orders with one set-based statement
+    public int rebuild() {
+        indexRepository.deleteAllRows();
+        return indexRepository.insertFromOrders();
+    }
+}
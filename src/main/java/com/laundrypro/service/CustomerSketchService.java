@@ -0,0 +1,149 @@
+package com.laundrypro.service;
+
+import com.laundrypro.model.CustomerDailySketch;
+import com.laundrypro.repository.CustomerDailySketchRepository;
+import com.laundrypro.repository.OrdersRepository;
+import com.laundrypro.repository.projection.CustomerOrderDate;
+import com.laundrypro.sketch.HyperLogLog;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.ZoneId;
+import java.util.*;
+import java.util.stream.Stream;
+
+/**
+ * Maintains one HyperLogLog sketch of ordering customers per day and answers approximate
+ * distinct-customer questions for any range by merging the days' sketches.
+ * <p>
+ * Sketches only grow: an order moved to another day or customer is added to the new one,
+ * but its old membership stays until {@link #rebuild} regenerates the range from Orders.
+ */
+@Service
+public class CustomerSketchService {
+
+    private final CustomerDailySketchRepository sketchRepository;
+    private final OrdersRepository ordersRepository;
+    private final TransactionTemplate chunkTransaction;
+
+    public CustomerSketchService(CustomerDailySketchRepository sketchRepository,
+                                 OrdersRepository ordersRepository,
+                                 PlatformTransactionManager transactionManager) {
+        this.sketchRepository = sketchRepository;
+        this.ordersRepository = ordersRepository;
+        this.chunkTransaction = new TransactionTemplate(transactionManager);
+        this.chunkTransaction.setPropagationBehavior(TransactionTemplate.PROPAGATION_REQUIRES_NEW);
+    }
+
+    // Adds the customer to the day's sketch inside the caller's transaction
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordOrder(LocalDate day, Integer customerId) {
+        if (day == null || customerId == null) return;
+        sketchRepository.insertIfMissing(day, HyperLogLog.DEFAULT_PRECISION,
+                new byte[1 << HyperLogLog.DEFAULT_PRECISION]);
+        CustomerDailySketch row = sketchRepository.findForUpdate(day)
+                .orElseThrow(() -> new IllegalStateException("Customer sketch missing for " + day));
+        HyperLogLog sketch = HyperLogLog.fromBytes(row.getPrecision(), row.getRegisters());
+        if (sketch.offer(customerId)) {
+            row.setRegisters(sketch.toBytes());
+        }
+    }
+
+    // Approximate distinct customers over the inclusive range
+    @Transactional(readOnly = true)
+    public long estimateDistinctCustomers(LocalDate start, LocalDate end) {
+        return merge(start, end).estimate();
+    }
+
+    // Approximate distinct customers per calendar month of the inclusive range
+    @Transactional(readOnly = true)
+    public Map<YearMonth, Long> estimateDistinctCustomersByMonth(LocalDate start, LocalDate end) {
+        Map<YearMonth, Long> estimates = new LinkedHashMap<>();
+        mergeByMonth(start, end).forEach((month, sketch) -> estimates.put(month, sketch.estimate()));
+        return estimates;
+    }
+
+    // The union of the day sketches of the inclusive range
+    @Transactional(readOnly = true)
+    public HyperLogLog merge(LocalDate start, LocalDate end) {
+        HyperLogLog merged = new HyperLogLog();
+        for (CustomerDailySketch row : sketchRepository.findBySketchDateBetween(start, end)) {
+            merged.merge(HyperLogLog.fromBytes(row.getPrecision(), row.getRegisters()));
+        }
+        return merged;
+    }
+
+    // The union of the day sketches of each calendar month of the inclusive range, in month order
+    @Transactional(readOnly = true)
+    public Map<YearMonth, HyperLogLog> mergeByMonth(LocalDate start, LocalDate end) {
+        Map<YearMonth, HyperLogLog> months = new TreeMap<>();
+        for (CustomerDailySketch row : sketchRepository.findBySketchDateBetween(start, end)) {
+            months.computeIfAbsent(YearMonth.from(row.getSketchDate()), m -> new HyperLogLog(row.getPrecision()))
+                    .merge(HyperLogLog.fromBytes(row.getPrecision(), row.getRegisters()));
+        }
+        return months;
+    }
+
+    /**
+     * Regenerates the sketches of [from, to] from Orders, chunk by chunk, each chunk in its
+     * own transaction. Either bound may be null, in which case the earliest / latest order
+     * date is used.
+     */
+    public OrderRollupService.RebuildResult rebuild(LocalDate from, LocalDate to, int chunkDays) {
+        long started = System.currentTimeMillis();
+        if (chunkDays <= 0) chunkDays = OrderRollupService.DEFAULT_CHUNK_DAYS;
+        if (from == null) from = OrderRollupService.dayOf(ordersRepository.findEarliestOrderDate());
+        if (to == null) to = OrderRollupService.dayOf(ordersRepository.findLatestOrderDate());
+        if (from == null || to == null || to.isBefore(from)) {
+            return new OrderRollupService.RebuildResult(0, 0, 0, System.currentTimeMillis() - started);
+        }
+
+        int chunks = 0;
+        long rows = 0;
+        LocalDate chunkStart = from;
+        while (!chunkStart.isAfter(to)) {
+            LocalDate chunkEnd = chunkStart.plusDays(chunkDays - 1L);
+            if (chunkEnd.isAfter(to)) chunkEnd = to;
+            final LocalDate s = chunkStart;
+            final LocalDate e = chunkEnd;
+            Integer written = chunkTransaction.execute(status -> replaceRange(s, e));
+            rows += written == null ? 0 : written;
+            chunks++;
+            chunkStart = chunkEnd.plusDays(1);
+        }
+
+        long days = java.time.temporal.ChronoUnit.DAYS.between(from, to) + 1;
+        return new OrderRollupService.RebuildResult(days, chunks, rows, System.currentTimeMillis() - started);
+    }
+
+    private int replaceRange(LocalDate start, LocalDate end) {
+        sketchRepository.deleteBySketchDateRange(start, end);
+
+        ZoneId zoneId = ZoneId.systemDefault();
+        Date startDate = Date.from(start.atStartOfDay(zoneId).toInstant());
+        Date endDate = Date.from(end.plusDays(1).atStartOfDay(zoneId).toInstant());
+
+        // Built in memory (one 4 KiB sketch per day) and written once the cursor is closed
+        Map<LocalDate, HyperLogLog> sketches = new TreeMap<>();
+        // Days as recordOrder takes them, so a rebuilt sketch matches the incremental one
+        try (Stream<CustomerOrderDate> orders = ordersRepository.streamCustomerOrderDatesBetween(startDate, endDate)) {
+            orders.forEach(o -> {
+                if (o.getCustomerId() != null) {
+                    sketches.computeIfAbsent(OrderRollupService.dayOf(o.getDate()), d -> new HyperLogLog())
+                            .offer(o.getCustomerId());
+                }
+            });
+        }
+
+        List<CustomerDailySketch> rows = new ArrayList<>(sketches.size());
+        sketches.forEach((day, sketch) ->
+                rows.add(new CustomerDailySketch(day, sketch.getPrecision(), sketch.toBytes())));
+        sketchRepository.saveAll(rows);
+        return rows.size();
+    }
+}
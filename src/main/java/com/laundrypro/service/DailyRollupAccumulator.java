@@ -0,0 +1,89 @@
+package com.laundrypro.service;
+
+import com.laundrypro.model.OrderDailyRollup;
+import com.laundrypro.money.CentsAccumulator;
+import com.laundrypro.repository.projection.OrderScalar;
+
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.*;
+import java.util.function.Consumer;
+
+/**
+ * Folds a date-ordered stream of orders into {@link OrderDailyRollup} rows, holding only the
+ * day currently being read. When the day changes the finished rows are handed to the sink,
+ * so memory is bounded by one day's distinct customers whatever the size of the range.
+ * Days are taken in the given zone, and totals follow the same rules as the deltas
+ * {@link OrderRollupService#recordChange} applies on order writes.
+ */
+public class DailyRollupAccumulator {
+
+    private final ZoneId zone;
+    private final Consumer<List<OrderDailyRollup>> sink;
+    private final Map<String, DayTotals> byServiceType = new HashMap<>();
+
+    private LocalDate currentDay;
+    private long orders;
+    private long rows;
+
+    public DailyRollupAccumulator(ZoneId zone, Consumer<List<OrderDailyRollup>> sink) {
+        this.zone = zone;
+        this.sink = sink;
+    }
+
+    public void add(OrderScalar order) {
+        LocalDate day = order.getDate().toInstant().atZone(zone).toLocalDate();
+        if (currentDay != null && day.isBefore(currentDay)) {
+            throw new IllegalArgumentException("Orders must arrive in date order: " + day + " after " + currentDay);
+        }
+        if (!day.equals(currentDay)) {
+            flush();
+            currentDay = day;
+        }
+
+        String serviceType = order.getServiceType() == null ? "" : order.getServiceType().trim();
+        DayTotals totals = byServiceType.computeIfAbsent(serviceType, k -> new DayTotals());
+        totals.orderCount++;
+        if (isCompleted(order.getStatus())) totals.completedCount++;
+        totals.revenue.add(order.getTotal());
+        totals.tax.add(order.getTax());
+        if (order.getCustomerId() != null) totals.customers.add(order.getCustomerId());
+        orders++;
+    }
+
+    // Emits the rows of the last day; call once the stream is exhausted
+    public void finish() {
+        flush();
+        currentDay = null;
+    }
+
+    public long getOrders() { return orders; }
+    public long getRows() { return rows; }
+
+    private void flush() {
+        if (currentDay == null || byServiceType.isEmpty()) return;
+        List<OrderDailyRollup> out = new ArrayList<>(byServiceType.size());
+        for (Map.Entry<String, DayTotals> e : byServiceType.entrySet()) {
+            DayTotals t = e.getValue();
+            out.add(new OrderDailyRollup(currentDay, e.getKey(), t.orderCount, t.completedCount,
+                    t.revenue.toDecimal(), t.tax.toDecimal(), t.customers.size()));
+        }
+        byServiceType.clear();
+        rows += out.size();
+        sink.accept(out);
+    }
+
+    static boolean isCompleted(String status) {
+        if (status == null) return false;
+        String s = status.toLowerCase(Locale.ROOT);
+        return s.contains("complete") || s.contains("delivered");
+    }
+
+    private static final class DayTotals {
+        private long orderCount;
+        private long completedCount;
+        private final CentsAccumulator revenue = new CentsAccumulator();
+        private final CentsAccumulator tax = new CentsAccumulator();
+        private final Set<Integer> customers = new HashSet<>();
+    }
+}
@@ -0,0 +1,44 @@
+package com.laundrypro.service;
+
+import com.laundrypro.repository.projection.NotificationRow;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+
+/**
+ * Position in a notification feed: the (createdAt, notificationId) of the last notification
+ * on a page. Handed to clients as an opaque URL-safe token.
+ */
+final class NotificationCursor {
+
+    private final LocalDateTime createdAt;
+    private final Long notificationId;
+
+    private NotificationCursor(LocalDateTime createdAt, Long notificationId) {
+        this.createdAt = createdAt;
+        this.notificationId = notificationId;
+    }
+
+    static NotificationCursor after(NotificationRow row) {
+        return new NotificationCursor(row.getCreatedAt(), row.getNotificationId());
+    }
+
+    static NotificationCursor decode(String token) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            int sep = raw.indexOf('|');
+            return new NotificationCursor(LocalDateTime.parse(raw.substring(0, sep)), Long.valueOf(raw.substring(sep + 1)));
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("Invalid cursor");
+        }
+    }
+
+    String encode() {
+        String raw = createdAt + "|" + notificationId;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    LocalDateTime getCreatedAt() { return createdAt; }
+    Long getNotificationId() { return notificationId; }
+}
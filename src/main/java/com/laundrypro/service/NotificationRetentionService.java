@@ -0,0 +1,212 @@
+package com.laundrypro.service;
+
+import com.laundrypro.model.Notification;
+import com.laundrypro.repository.NotificationRepository;
+import com.laundrypro.repository.StaffNotificationReceiptRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.IntSupplier;
+import java.util.function.Supplier;
+
+/**
+ * Keeps the Notifications table to what recipients still look at. Read notifications older
+ * than the read age are moved to Notifications_Archive, and archived rows older than the
+ * archive retention are purged. Staff broadcasts move once no staff member has them unread.
+ * <p>
+ * Work is done in small batches, each in its own transaction, with a pause in between, so
+ * no statement takes enough row locks to escalate to a table lock and user requests get
+ * the table between batches. A run stops at its time budget and carries on next time.
+ */
+@Service
+public class NotificationRetentionService {
+
+    private static final Logger log = LoggerFactory.getLogger(NotificationRetentionService.class);
+
+    // Under SQL Server's 2100 parameters per statement and its ~5000-lock escalation threshold
+    static final int MAX_BATCH_SIZE = 2000;
+
+    private final NotificationRepository notificationRepository;
+    private final StaffNotificationReceiptRepository receiptRepository;
+    private final TransactionTemplate batchTransaction;
+    private final boolean enabled;
+    private final int readAgeDays;
+    private final int archiveRetentionDays;
+    private final int batchSize;
+    private final long pauseMillis;
+    private final long maxRunMillis;
+
+    private final AtomicBoolean running = new AtomicBoolean();
+    private final AtomicLong runs = new AtomicLong();
+    private final AtomicLong totalArchived = new AtomicLong();
+    private final AtomicLong totalPurged = new AtomicLong();
+    private volatile LocalDateTime lastRunAt;
+    private volatile long lastRunMillis;
+    private volatile long lastArchived;
+    private volatile long lastPurged;
+    private volatile int lastBatches;
+    private volatile boolean lastRunComplete;
+    private volatile String lastError;
+
+    public NotificationRetentionService(NotificationRepository notificationRepository,
+                                        StaffNotificationReceiptRepository receiptRepository,
+                                        PlatformTransactionManager transactionManager,
+                                        @Value("${laundrypro.notifications.retention.enabled:true}") boolean enabled,
+                                        @Value("${laundrypro.notifications.retention.read-age-days:30}") int readAgeDays,
+                                        @Value("${laundrypro.notifications.retention.archive-days:365}") int archiveRetentionDays,
+                                        @Value("${laundrypro.notifications.retention.batch-size:500}") int batchSize,
+                                        @Value("${laundrypro.notifications.retention.pause-ms:200}") long pauseMillis,
+                                        @Value("${laundrypro.notifications.retention.max-run-ms:300000}") long maxRunMillis) {
+        if (readAgeDays < 1 || archiveRetentionDays < 1) {
+            throw new IllegalArgumentException("Notification retention ages must be at least one day");
+        }
+        this.notificationRepository = notificationRepository;
+        this.receiptRepository = receiptRepository;
+        this.batchTransaction = new TransactionTemplate(transactionManager);
+        this.enabled = enabled;
+        this.readAgeDays = readAgeDays;
+        this.archiveRetentionDays = archiveRetentionDays;
+        this.batchSize = Math.max(1, Math.min(batchSize, MAX_BATCH_SIZE));
+        this.pauseMillis = pauseMillis;
+        this.maxRunMillis = maxRunMillis;
+    }
+
+    @Scheduled(cron = "${laundrypro.notifications.retention.cron:0 30 3 * * *}")
+    public void runScheduled() {
+        if (!enabled) return;
+        try {
+            run();
+        } catch (RuntimeException e) {
+            log.warn("Notification retention run failed", e);
+        }
+    }
+
+    /**
+     * One retention pass: archive, then purge. Returns the run's figures, or a note that a
+     * run is already in progress.
+     */
+    public Map<String, Object> run() {
+        if (!running.compareAndSet(false, true)) return Map.of("status", "already running");
+        long started = System.nanoTime();
+        long deadline = started + maxRunMillis * 1_000_000L;
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime readCutoff = now.minusDays(readAgeDays);
+        LocalDateTime archiveCutoff = now.minusDays(archiveRetentionDays);
+        Batches batches = new Batches(deadline);
+        lastRunAt = now;
+        try {
+            long archived = batches.drain(() -> archiveBatch(
+                    () -> notificationRepository.findArchivableIds(readCutoff, batchSize), false));
+            archived += batches.drain(() -> archiveBatch(() -> notificationRepository.findArchivableBroadcastIds(
+                    Notification.AUDIENCE_ALL_STAFF, readCutoff, batchSize), true));
+            long purged = batches.drain(() -> inBatchTransaction(() -> notificationRepository.purgeArchive(archiveCutoff, batchSize)));
+            long millis = (System.nanoTime() - started) / 1_000_000L;
+
+            runs.incrementAndGet();
+            totalArchived.addAndGet(archived);
+            totalPurged.addAndGet(purged);
+            lastArchived = archived;
+            lastPurged = purged;
+            lastBatches = batches.count;
+            lastRunMillis = millis;
+            lastRunComplete = !batches.stopped;
+            lastError = null;
+            log.info("Notification retention archived {} and purged {} rows in {} batches, {} ms{}",
+                    archived, purged, batches.count, millis, batches.stopped ? " (stopped early)" : "");
+
+            Map<String, Object> result = new LinkedHashMap<>();
+            result.put("archived", archived);
+            result.put("purged", purged);
+            result.put("batches", batches.count);
+            result.put("durationMs", millis);
+            result.put("complete", !batches.stopped);
+            return result;
+        } catch (RuntimeException e) {
+            lastError = e.getMessage();
+            lastRunMillis = (System.nanoTime() - started) / 1_000_000L;
+            throw e;
+        } finally {
+            running.set(false);
+        }
+    }
+
+    public Map<String, Object> stats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("enabled", enabled);
+        stats.put("running", running.get());
+        stats.put("readAgeDays", readAgeDays);
+        stats.put("archiveRetentionDays", archiveRetentionDays);
+        stats.put("batchSize", batchSize);
+        stats.put("runs", runs.get());
+        stats.put("totalArchived", totalArchived.get());
+        stats.put("totalPurged", totalPurged.get());
+        stats.put("lastRunAt", lastRunAt);
+        stats.put("lastRunMs", lastRunMillis);
+        stats.put("lastArchived", lastArchived);
+        stats.put("lastPurged", lastPurged);
+        stats.put("lastBatches", lastBatches);
+        stats.put("lastRunComplete", lastRunComplete);
+        stats.put("lastError", lastError);
+        return stats;
+    }
+
+    // Select, copy and delete in one transaction, so the ids stay locked until they are gone;
+    // receipts of moved broadcasts go too
+    private int archiveBatch(Supplier<List<Long>> select, boolean broadcasts) {
+        return inBatchTransaction(() -> {
+            List<Long> ids = select.get();
+            if (ids.isEmpty()) return 0;
+            notificationRepository.copyToArchive(ids);
+            if (broadcasts) receiptRepository.deleteByNotificationIds(ids);
+            return notificationRepository.deleteByIds(ids);
+        });
+    }
+
+    private int inBatchTransaction(IntSupplier work) {
+        Integer result = batchTransaction.execute(status -> work.getAsInt());
+        return result == null ? 0 : result;
+    }
+
+    /** Runs batches until one comes back short, pausing in between; stops at the deadline. */
+    private final class Batches {
+        private final long deadline;
+        private int count;
+        private boolean stopped;
+
+        Batches(long deadline) {
+            this.deadline = deadline;
+        }
+
+        long drain(IntSupplier batch) {
+            long total = 0;
+            while (!stopped) {
+                if (System.nanoTime() > deadline) {
+                    stopped = true;
+                    break;
+                }
+                int rows = batch.getAsInt();
+                count++;
+                total += rows;
+                if (rows < batchSize) break;
+                try {
+                    Thread.sleep(pauseMillis);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    stopped = true;
+                }
+            }
+            return total;
+        }
+    }
+}
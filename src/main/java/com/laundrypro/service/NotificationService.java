@@ -1,47 +1,114 @@
 package com.laundrypro.service;
 
 import com.laundrypro.DTO.NotificationDTO;
+import com.laundrypro.DTO.NotificationFeed;
 import com.laundrypro.model.Notification;
-import com.laundrypro.model.Staff;
+import com.laundrypro.model.StaffNotificationReceipt;
+import com.laundrypro.model.StaffNotificationState;
 import com.laundrypro.repository.NotificationRepository;
-import com.laundrypro.repository.StaffRepository;
+import com.laundrypro.repository.StaffNotificationReceiptRepository;
+import com.laundrypro.repository.StaffNotificationStateRepository;
+import com.laundrypro.repository.projection.NotificationRow;
+import com.laundrypro.service.event.NotificationChangedEvent;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
-import java.util.List;
-import java.util.Optional;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.function.LongSupplier;
 import java.util.stream.Collectors;
 
+/**
+ * Staff notifications about new orders are broadcasts: one row per event, shared by all
+ * staff, with each staff member's read state kept as a watermark plus sparse receipts
+ * (see {@link StaffNotificationState}). Staff lists and counts merge the broadcasts with
+ * the staff member's own rows at read time, so placing an order writes one row whatever
+ * the headcount.
+ * <p>
+ * Unread counts are served from {@link UnreadNotificationCounters}; every change to a
+ * recipient's unread set publishes a {@link NotificationChangedEvent} carrying the delta.
+ */
 @Service
 public class NotificationService {
 
+    private static final Logger log = LoggerFactory.getLogger(NotificationService.class);
+
+    public static final int DEFAULT_FEED_SIZE = 20;
+    public static final int MAX_FEED_SIZE = 100;
+    // Well under SQL Server's 2100 parameters per statement
+    public static final int MAX_BULK_IDS = 500;
+
+    private static final Comparator<Notification> NEWEST_FIRST =
+            Comparator.comparing(Notification::getCreatedAt).thenComparing(Notification::getNotificationID).reversed();
+    private static final Comparator<NotificationRow> NEWEST_ROW_FIRST =
+            Comparator.comparing(NotificationRow::getCreatedAt).thenComparing(NotificationRow::getNotificationId).reversed();
+
     private final NotificationRepository notificationRepository;
-    private final StaffRepository staffRepository;
+    private final StaffNotificationStateRepository stateRepository;
+    private final StaffNotificationReceiptRepository receiptRepository;
+    private final UnreadNotificationCounters unreadCounters;
+    private final ApplicationEventPublisher events;
+    private final TransactionTemplate countTransaction;
 
     @Autowired
-    public NotificationService(NotificationRepository notificationRepository, StaffRepository staffRepository) {
+    public NotificationService(NotificationRepository notificationRepository,
+                               StaffNotificationStateRepository stateRepository,
+                               StaffNotificationReceiptRepository receiptRepository,
+                               UnreadNotificationCounters unreadCounters,
+                               ApplicationEventPublisher events,
+                               PlatformTransactionManager transactionManager) {
         this.notificationRepository = notificationRepository;
-        this.staffRepository = staffRepository;
+        this.stateRepository = stateRepository;
+        this.receiptRepository = receiptRepository;
+        this.unreadCounters = unreadCounters;
+        this.events = events;
+        // Seeding a staff count may create the staff member's read state, so not read-only
+        this.countTransaction = new TransactionTemplate(transactionManager);
     }
 
     // Create a new notification (generic)
     public Notification createNotification(String message, String type, Long entityId,
                                           String entityType, Long staffId) {
-        Notification notification = new Notification(message, type, entityId, entityType, staffId);
-        return notificationRepository.save(notification);
+        Notification notification = notificationRepository.save(
+                new Notification(message, type, entityId, entityType, staffId));
+        if (staffId != null) {
+            publishCreated(notification, NotificationChangedEvent.Audience.STAFF, staffId);
+        }
+        return notification;
     }
 
     // Staff queries
+    @Transactional
     public List<NotificationDTO> getNotificationsForStaff(Long staffId) {
-        List<Notification> notifications = notificationRepository.findByStaffIdOrderByCreatedAtDesc(staffId);
-        return notifications.stream().map(NotificationDTO::new).collect(Collectors.toList());
+        return staffNotifications(staffId, false);
     }
+    @Transactional
     public List<NotificationDTO> getUnreadNotificationsForStaff(Long staffId) {
-        List<Notification> notifications = notificationRepository.findByStaffIdAndIsReadFalseOrderByCreatedAtDesc(staffId);
-        return notifications.stream().map(NotificationDTO::new).collect(Collectors.toList());
+        return staffNotifications(staffId, true);
     }
+    // From memory once seeded; the first call for a staff member counts in the database
     public long getUnreadNotificationCount(Long staffId) {
-        return notificationRepository.countByStaffIdAndIsReadFalse(staffId);
+        return unreadCounters.staffUnread(staffId, () -> inCountTransaction(() -> countUnreadForStaff(staffId)));
+    }
+
+    private long countUnreadForStaff(Long staffId) {
+        StaffNotificationState state = stateFor(staffId);
+        return notificationRepository.countByStaffIdAndIsReadFalse(staffId) + unreadBroadcasts(staffId, state);
+    }
+
+    private long unreadBroadcasts(Long staffId, StaffNotificationState state) {
+        long watermark = state.getReadWatermark();
+        long unread = notificationRepository.countByAudienceAndNotificationIDGreaterThan(
+                Notification.AUDIENCE_ALL_STAFF, watermark) - receiptRepository.countSettledAbove(staffId, watermark);
+        return Math.max(0, unread);
     }
 
     // Customer queries
@@ -54,36 +121,263 @@ public class NotificationService {
                 .stream().map(NotificationDTO::new).collect(Collectors.toList());
     }
     public long getUnreadNotificationCountForCustomer(Integer customerId) {
-        return notificationRepository.countByCustomerIdAndIsReadFalse(customerId);
+        return unreadCounters.customerUnread(customerId,
+                () -> inCountTransaction(() -> notificationRepository.countByCustomerIdAndIsReadFalse(customerId)));
+    }
+
+    /**
+     * One page of the staff member's feed, newest first: their own notifications merged with
+     * the broadcasts they can see. Pass the previous page's nextCursor to continue.
+     */
+    @Transactional
+    public NotificationFeed getStaffFeed(Long staffId, boolean unreadOnly, String cursor, int size) {
+        NotificationCursor after = feedPosition(cursor, size);
+        StaffNotificationState state = stateFor(staffId);
+        LocalDateTime afterDate = after == null ? null : after.getCreatedAt();
+        Long afterId = after == null ? null : after.getNotificationId();
+
+        // Each source is read one row past the page, so the merge knows whether another page follows
+        List<NotificationRow> broadcasts = notificationRepository.findBroadcastFeed(staffId, state.getVisibleAfter(),
+                state.getReadWatermark(), unreadOnly, afterDate, afterId, size + 1);
+        List<NotificationRow> merged = new ArrayList<>(
+                notificationRepository.findStaffFeed(staffId, unreadOnly, afterDate, afterId, size + 1));
+        merged.addAll(broadcasts);
+        merged.sort(NEWEST_ROW_FIRST);
+        List<NotificationRow> page = merged.size() > size ? merged.subList(0, size) : merged;
+
+        // Read state of the broadcasts on the page comes from the staff member's receipts
+        Set<Long> broadcastIds = new HashSet<>();
+        for (NotificationRow row : broadcasts) broadcastIds.add(row.getNotificationId());
+        List<Long> pageBroadcastIds = new ArrayList<>();
+        for (NotificationRow row : page) {
+            if (broadcastIds.contains(row.getNotificationId())) pageBroadcastIds.add(row.getNotificationId());
+        }
+        Map<Long, StaffNotificationReceipt> receipts = new HashMap<>();
+        if (!pageBroadcastIds.isEmpty()) {
+            for (StaffNotificationReceipt r : receiptRepository.findByStaffIdAndNotificationIdIn(staffId, pageBroadcastIds)) {
+                receipts.put(r.getNotificationId(), r);
+            }
+        }
+
+        List<NotificationDTO> items = new ArrayList<>(page.size());
+        for (NotificationRow row : page) {
+            if (!broadcastIds.contains(row.getNotificationId())) {
+                items.add(new NotificationDTO(row));
+                continue;
+            }
+            StaffNotificationReceipt receipt = receipts.get(row.getNotificationId());
+            boolean read = row.getNotificationId() <= state.getReadWatermark()
+                    || (receipt != null && receipt.getReadAt() != null);
+            items.add(new NotificationDTO(row, read, receipt == null ? null : receipt.getReadAt()));
+        }
+        return new NotificationFeed(items, nextCursor(merged, size));
+    }
+
+    // One page of the customer's feed, newest first
+    @Transactional(readOnly = true)
+    public NotificationFeed getCustomerFeed(Integer customerId, boolean unreadOnly, String cursor, int size) {
+        NotificationCursor after = feedPosition(cursor, size);
+        List<NotificationRow> rows = notificationRepository.findCustomerFeed(customerId, unreadOnly,
+                after == null ? null : after.getCreatedAt(),
+                after == null ? null : after.getNotificationId(),
+                size + 1);
+        List<NotificationRow> page = rows.size() > size ? rows.subList(0, size) : rows;
+        return new NotificationFeed(page.stream().map(NotificationDTO::new).collect(Collectors.toList()),
+                nextCursor(rows, size));
+    }
+
+    // Push stream resume: notifications after a given id, oldest first, at most limit
+    @Transactional
+    public List<NotificationDTO> getStaffNotificationsAfter(Long staffId, long afterId, int limit) {
+        StaffNotificationState state = stateFor(staffId);
+        PageRequest page = PageRequest.of(0, limit);
+        List<Notification> merged = new ArrayList<>(notificationRepository
+                .findByStaffIdAndNotificationIDGreaterThanOrderByNotificationIDAsc(staffId, afterId, page));
+        merged.addAll(notificationRepository.findBroadcastsForStaffAfter(Notification.AUDIENCE_ALL_STAFF,
+                Math.max(afterId, state.getVisibleAfter()), staffId, page));
+        merged.sort(Comparator.comparing(Notification::getNotificationID));
+        if (merged.size() > limit) merged = merged.subList(0, limit);
+
+        Map<Long, StaffNotificationReceipt> receipts = liveReceipts(staffId, state);
+        return merged.stream().map(n -> toStaffDto(n, state, receipts)).collect(Collectors.toList());
+    }
+    @Transactional(readOnly = true)
+    public List<NotificationDTO> getCustomerNotificationsAfter(Integer customerId, long afterId, int limit) {
+        return notificationRepository.findByCustomerIdAndNotificationIDGreaterThanOrderByNotificationIDAsc(
+                customerId, afterId, PageRequest.of(0, limit)).stream().map(NotificationDTO::new).collect(Collectors.toList());
+    }
+    @Transactional(readOnly = true)
+    public long getLatestNotificationId() {
+        return notificationRepository.findLatestId();
     }
 
-    // Mark as read / delete generic
-    public boolean markNotificationAsRead(Long notificationId) {
+    // Mark as read / delete generic; broadcasts need the staff member whose copy is meant
+    @Transactional
+    public boolean markNotificationAsRead(Long notificationId, Long staffId) {
         Optional<Notification> notificationOpt = notificationRepository.findById(notificationId);
         if (notificationOpt.isPresent()) {
             Notification notification = notificationOpt.get();
+            if (notification.isBroadcast()) {
+                StaffNotificationState state = stateFor(requireStaff(staffId));
+                if (notificationId > state.getReadWatermark()
+                        && receiptRepository.markRead(staffId, notificationId, LocalDateTime.now()) > 0) {
+                    publish(notificationId, NotificationChangedEvent.Type.READ,
+                            NotificationChangedEvent.Audience.STAFF, staffId, -1);
+                }
+                return true;
+            }
+            boolean wasUnread = !notification.isRead();
             notification.setRead(true);
             notificationRepository.save(notification);
+            publishForRecipient(notification, NotificationChangedEvent.Type.READ, wasUnread ? -1 : 0);
             return true;
         }
         return false;
     }
-    public boolean deleteNotification(Long notificationId) {
-        if (notificationRepository.existsById(notificationId)) {
+    @Transactional
+    public boolean deleteNotification(Long notificationId, Long staffId) {
+        Optional<Notification> notificationOpt = notificationRepository.findById(notificationId);
+        if (notificationOpt.isEmpty()) return false;
+        Notification notification = notificationOpt.get();
+        if (notification.isBroadcast()) {
+            // Only hidden for this staff member; the others still see it
+            StaffNotificationState state = stateFor(requireStaff(staffId));
+            Optional<StaffNotificationReceipt> receipt = receiptRepository.findByStaffIdAndNotificationId(staffId, notificationId);
+            boolean wasUnread = notificationId > state.getReadWatermark()
+                    && receipt.map(r -> r.getReadAt() == null && !r.isDismissed()).orElse(true);
+            boolean dismissed = receiptRepository.dismiss(staffId, notificationId) > 0;
+            publish(notificationId, NotificationChangedEvent.Type.DELETED,
+                    NotificationChangedEvent.Audience.STAFF, staffId, wasUnread && dismissed ? -1 : 0);
+        } else {
             notificationRepository.deleteById(notificationId);
-            return true;
+            publishForRecipient(notification, NotificationChangedEvent.Type.DELETED, notification.isRead() ? 0 : -1);
         }
-        return false;
+        return true;
     }
 
-    // Create notification for a new order to staff
-    public void createOrderNotification(Integer orderId, Integer customerId, String customerName) {
-        List<Long> staffIds = getAllStaffIds();
-        String message = "New order #" + orderId + " placed by customer " + customerName;
-        String type = "NEW_ORDER";
-        for (Long staffId : staffIds) {
-            createNotification(message, type, orderId.longValue(), "ORDER", staffId);
+    // Bulk operations run as set-based statements and return how many notifications they changed
+
+    // Marks the staff member's own notifications and every broadcast so far as read
+    @Transactional
+    public long markAllAsReadForStaff(Long staffId) {
+        StaffNotificationState state = stateFor(staffId);
+        long broadcasts = unreadBroadcasts(staffId, state);
+        long read = notificationRepository.markAllReadForStaff(staffId, LocalDateTime.now()) + broadcasts;
+        long latest = notificationRepository.findLatestIdByAudience(Notification.AUDIENCE_ALL_STAFF);
+        stateRepository.advanceReadWatermark(staffId, latest);
+        receiptRepository.deleteReadUpTo(staffId, latest);
+        publish(null, NotificationChangedEvent.Type.ALL_READ, NotificationChangedEvent.Audience.STAFF, staffId, -read);
+        return read;
+    }
+
+    @Transactional
+    public long markAllAsReadForCustomer(Integer customerId) {
+        int read = notificationRepository.markAllReadForCustomer(customerId, LocalDateTime.now());
+        publish(null, NotificationChangedEvent.Type.ALL_READ, NotificationChangedEvent.Audience.CUSTOMER,
+                customerId.longValue(), -read);
+        return read;
+    }
+
+    // Ids that are not the staff member's, or already read, are skipped
+    @Transactional
+    public long markAsReadForStaff(Long staffId, Collection<Long> ids) {
+        Set<Long> distinct = bulkIds(ids);
+        if (distinct.isEmpty()) return 0;
+        StaffNotificationState state = stateFor(staffId);
+        LocalDateTime now = LocalDateTime.now();
+        long read = notificationRepository.markReadForStaff(staffId, distinct, now)
+                + receiptRepository.markReadAll(staffId, distinct, Notification.AUDIENCE_ALL_STAFF,
+                        Math.max(state.getReadWatermark(), state.getVisibleAfter()), now);
+        if (read > 0) {
+            publish(null, NotificationChangedEvent.Type.BULK_READ, NotificationChangedEvent.Audience.STAFF, staffId, -read);
+        }
+        return read;
+    }
+
+    @Transactional
+    public long markAsReadForCustomer(Integer customerId, Collection<Long> ids) {
+        Set<Long> distinct = bulkIds(ids);
+        if (distinct.isEmpty()) return 0;
+        int read = notificationRepository.markReadForCustomer(customerId, distinct, LocalDateTime.now());
+        if (read > 0) {
+            publish(null, NotificationChangedEvent.Type.BULK_READ, NotificationChangedEvent.Audience.CUSTOMER,
+                    customerId.longValue(), -read);
+        }
+        return read;
+    }
+
+    // Deletes the staff member's own notifications and hides every broadcast so far
+    @Transactional
+    public long deleteAllForStaff(Long staffId) {
+        StaffNotificationState state = stateFor(staffId);
+        long deleted = notificationRepository.deleteAllForStaff(staffId);
+        long latest = notificationRepository.findLatestIdByAudience(Notification.AUDIENCE_ALL_STAFF);
+        deleted += hideBroadcastsUpTo(staffId, state, latest);
+        stateRepository.advanceReadWatermark(staffId, latest);
+        publish(null, NotificationChangedEvent.Type.ALL_DELETED, NotificationChangedEvent.Audience.STAFF, staffId, 0);
+        return deleted;
+    }
+
+    @Transactional
+    public long deleteAllForCustomer(Integer customerId) {
+        int deleted = notificationRepository.deleteAllForCustomer(customerId);
+        publish(null, NotificationChangedEvent.Type.ALL_DELETED, NotificationChangedEvent.Audience.CUSTOMER,
+                customerId.longValue(), 0);
+        return deleted;
+    }
+
+    // Read notifications created before the given time; unread ones are kept
+    @Transactional
+    public long deleteReadForStaff(Long staffId, LocalDateTime before) {
+        StaffNotificationState state = stateFor(staffId);
+        long deleted = notificationRepository.deleteReadForStaffBefore(staffId, before);
+        // Broadcasts up to the watermark are all read, so the old ones are hidden by moving
+        // Visible_After past them; ids and creation times rise together
+        long upTo = notificationRepository.findLatestIdByAudienceBefore(
+                Notification.AUDIENCE_ALL_STAFF, state.getReadWatermark(), before);
+        deleted += hideBroadcastsUpTo(staffId, state, upTo);
+        // Broadcasts read above the watermark are dismissed one by one
+        deleted += receiptRepository.dismissReadBefore(staffId, Notification.AUDIENCE_ALL_STAFF, before);
+        if (deleted > 0) {
+            publish(null, NotificationChangedEvent.Type.BULK_DELETED, NotificationChangedEvent.Audience.STAFF, staffId, 0);
         }
+        return deleted;
+    }
+
+    @Transactional
+    public long deleteReadForCustomer(Integer customerId, LocalDateTime before) {
+        int deleted = notificationRepository.deleteReadForCustomerBefore(customerId, before);
+        if (deleted > 0) {
+            publish(null, NotificationChangedEvent.Type.BULK_DELETED, NotificationChangedEvent.Audience.CUSTOMER,
+                    customerId.longValue(), 0);
+        }
+        return deleted;
+    }
+
+    // Recounts every recipient held in memory; changes committed during a recount may be overwritten until the next one
+    @Scheduled(initialDelayString = "${laundrypro.notifications.counters.reconcile-ms:300000}",
+               fixedDelayString = "${laundrypro.notifications.counters.reconcile-ms:300000}")
+    public void reconcileUnreadCounters() {
+        try {
+            for (long staffId : unreadCounters.staffIds()) {
+                unreadCounters.setStaff(staffId, inCountTransaction(() -> countUnreadForStaff(staffId)));
+            }
+            for (long customerId : unreadCounters.customerIds()) {
+                unreadCounters.setCustomer(customerId, inCountTransaction(
+                        () -> notificationRepository.countByCustomerIdAndIsReadFalse((int) customerId)));
+            }
+        } catch (RuntimeException e) {
+            log.warn("Unread notification counter reconcile failed", e);
+        }
+    }
+
+    // Create notification for a new order to staff: one broadcast row, read by every staff member
+    public void createOrderNotification(Integer orderId, Integer customerId, String customerName) {
+        Notification notification = new Notification("New order #" + orderId + " placed by customer " + customerName,
+                "NEW_ORDER", orderId.longValue(), "ORDER", null);
+        notification.setAudience(Notification.AUDIENCE_ALL_STAFF);
+        notificationRepository.save(notification);
+        publishCreated(notification, NotificationChangedEvent.Audience.ALL_STAFF, null);
     }
 
     // Create customer notification for order status update
@@ -97,11 +391,118 @@ public class NotificationService {
         n.setStaffId(null);
         n.setCustomerId(customerId);
         notificationRepository.save(n);
+        publishCreated(n, NotificationChangedEvent.Audience.CUSTOMER, customerId.longValue());
+    }
+
+    private List<NotificationDTO> staffNotifications(Long staffId, boolean unreadOnly) {
+        StaffNotificationState state = stateFor(staffId);
+        Map<Long, StaffNotificationReceipt> receipts = liveReceipts(staffId, state);
+
+        List<Notification> own = unreadOnly
+                ? notificationRepository.findByStaffIdAndIsReadFalseOrderByCreatedAtDesc(staffId)
+                : notificationRepository.findByStaffIdOrderByCreatedAtDesc(staffId);
+        List<Notification> merged = new ArrayList<>(own);
+        for (Notification n : notificationRepository.findBroadcastsForStaff(
+                Notification.AUDIENCE_ALL_STAFF, state.getVisibleAfter(), staffId)) {
+            if (unreadOnly && isBroadcastRead(n, state, receipts)) continue;
+            merged.add(n);
+        }
+        merged.sort(NEWEST_FIRST);
+        return merged.stream().map(n -> toStaffDto(n, state, receipts)).collect(Collectors.toList());
+    }
+
+    private static NotificationCursor feedPosition(String cursor, int size) {
+        if (size < 1 || size > MAX_FEED_SIZE) {
+            throw new IllegalArgumentException("size must be between 1 and " + MAX_FEED_SIZE);
+        }
+        return cursor == null || cursor.isBlank() ? null : NotificationCursor.decode(cursor);
+    }
+
+    // Rows hold up to one more than the page; the extra one only says another page follows
+    private static String nextCursor(List<NotificationRow> rows, int size) {
+        return rows.size() > size ? NotificationCursor.after(rows.get(size - 1)).encode() : null;
+    }
+
+    // Returns how many broadcasts the staff member could see and now cannot
+    private long hideBroadcastsUpTo(Long staffId, StaffNotificationState state, long upTo) {
+        long from = state.getVisibleAfter() + 1;
+        if (upTo < from) return 0;
+        long hidden = notificationRepository.countByAudienceAndNotificationIDBetween(Notification.AUDIENCE_ALL_STAFF, from, upTo)
+                - receiptRepository.countByStaffIdAndDismissedTrueAndNotificationIdBetween(staffId, from, upTo);
+        stateRepository.advanceVisibleAfter(staffId, upTo);
+        receiptRepository.deleteUpTo(staffId, upTo);
+        return Math.max(0, hidden);
+    }
+
+    private static Set<Long> bulkIds(Collection<Long> ids) {
+        if (ids == null) throw new IllegalArgumentException("ids are required");
+        Set<Long> distinct = new LinkedHashSet<>();
+        for (Long id : ids) {
+            if (id != null) distinct.add(id);
+        }
+        if (distinct.size() > MAX_BULK_IDS) {
+            throw new IllegalArgumentException("At most " + MAX_BULK_IDS + " ids per request");
+        }
+        return distinct;
+    }
+
+    private Map<Long, StaffNotificationReceipt> liveReceipts(Long staffId, StaffNotificationState state) {
+        Map<Long, StaffNotificationReceipt> receipts = new HashMap<>();
+        for (StaffNotificationReceipt r : receiptRepository.findLive(staffId, state.getReadWatermark())) {
+            receipts.put(r.getNotificationId(), r);
+        }
+        return receipts;
+    }
+
+    private static boolean isBroadcastRead(Notification n, StaffNotificationState state,
+                                           Map<Long, StaffNotificationReceipt> receipts) {
+        StaffNotificationReceipt receipt = receipts.get(n.getNotificationID());
+        return n.getNotificationID() <= state.getReadWatermark() || (receipt != null && receipt.getReadAt() != null);
+    }
+
+    private static NotificationDTO toStaffDto(Notification n, StaffNotificationState state,
+                                              Map<Long, StaffNotificationReceipt> receipts) {
+        if (!n.isBroadcast()) return new NotificationDTO(n);
+        StaffNotificationReceipt receipt = receipts.get(n.getNotificationID());
+        return new NotificationDTO(n, isBroadcastRead(n, state, receipts), receipt == null ? null : receipt.getReadAt());
+    }
+
+    // The staff member's broadcast read state, created on first use
+    private StaffNotificationState stateFor(Long staffId) {
+        Optional<StaffNotificationState> state = stateRepository.findById(staffId);
+        if (state.isPresent()) return state.get();
+        stateRepository.insertIfMissing(staffId,
+                notificationRepository.findLatestIdByAudience(Notification.AUDIENCE_ALL_STAFF));
+        return stateRepository.findById(staffId)
+                .orElseThrow(() -> new IllegalStateException("Notification state missing for staff " + staffId));
+    }
+
+    private void publishForRecipient(Notification n, NotificationChangedEvent.Type type, long unreadDelta) {
+        if (n.getStaffId() != null) {
+            publish(n.getNotificationID(), type, NotificationChangedEvent.Audience.STAFF, n.getStaffId(), unreadDelta);
+        } else if (n.getCustomerId() != null) {
+            publish(n.getNotificationID(), type, NotificationChangedEvent.Audience.CUSTOMER,
+                    n.getCustomerId().longValue(), unreadDelta);
+        }
+    }
+
+    private void publishCreated(Notification n, NotificationChangedEvent.Audience audience, Long recipientId) {
+        events.publishEvent(new NotificationChangedEvent(n.getNotificationID(), NotificationChangedEvent.Type.CREATED,
+                audience, recipientId, 1, new NotificationDTO(n)));
+    }
+
+    private void publish(Long notificationId, NotificationChangedEvent.Type type,
+                         NotificationChangedEvent.Audience audience, Long recipientId, long unreadDelta) {
+        events.publishEvent(new NotificationChangedEvent(notificationId, type, audience, recipientId, unreadDelta));
+    }
+
+    private long inCountTransaction(LongSupplier count) {
+        Long result = countTransaction.execute(status -> count.getAsLong());
+        return result == null ? 0L : result;
     }
 
-    // Helper: fetch staff ids
-    private List<Long> getAllStaffIds() {
-        List<Staff> all = staffRepository.findAll();
-        return all.stream().map(s -> s.getStaffId().longValue()).collect(Collectors.toList());
+    private static Long requireStaff(Long staffId) {
+        if (staffId == null) throw new IllegalArgumentException("staffId is required for staff broadcast notifications");
+        return staffId;
     }
 }
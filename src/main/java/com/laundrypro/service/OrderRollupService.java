@@ -0,0 +1,233 @@
+package com.laundrypro.service;
+
+import com.laundrypro.model.OrderDailyRollup;
+import com.laundrypro.repository.OrderDailyRollupRepository;
+import com.laundrypro.repository.OrdersRepository;
+import com.laundrypro.repository.projection.OrderScalar;
+import com.laundrypro.service.event.OrderChangedEvent;
+import jakarta.persistence.EntityManager;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.*;
+import java.util.stream.Stream;
+
+/**
+ * Keeps the per-day, per-service-type order rollups in step with the Orders table.
+ * Order writes add their before/after difference to the rows they touch, one upsert per
+ * row; {@link #rebuild} regenerates a whole date range chunk by chunk, each chunk in its
+ * own transaction, streaming the chunk's orders so heap use does not grow with the chunk size.
+ * <p>
+ * Both paths take an order's day in the JVM zone, in Java, so a rollup row never depends
+ * on the database server's zone.
+ */
+@Service
+public class OrderRollupService {
+
+    public static final int DEFAULT_CHUNK_DAYS = 31;
+    // Rollup rows written between flush-and-clear of the persistence context during a rebuild
+    private static final int WRITE_BATCH_ROWS = 500;
+
+    private final OrdersRepository ordersRepository;
+    private final OrderDailyRollupRepository rollupRepository;
+    private final EntityManager entityManager;
+    private final TransactionTemplate chunkTransaction;
+
+    public OrderRollupService(OrdersRepository ordersRepository,
+                              OrderDailyRollupRepository rollupRepository,
+                              EntityManager entityManager,
+                              PlatformTransactionManager transactionManager) {
+        this.ordersRepository = ordersRepository;
+        this.rollupRepository = rollupRepository;
+        this.entityManager = entityManager;
+        this.chunkTransaction = new TransactionTemplate(transactionManager);
+        this.chunkTransaction.setPropagationBehavior(TransactionTemplate.PROPAGATION_REQUIRES_NEW);
+    }
+
+    public static LocalDate dayOf(Date date) {
+        return date == null ? null : date.toInstant().atZone(ZoneId.systemDefault()).toLocalDate();
+    }
+
+    /**
+     * Moves an order's contribution from the row it was counted in to the row it belongs to now,
+     * inside the caller's transaction. {@code before} is null for creations and {@code after}
+     * for deletions. Must run after the order row itself has been written.
+     * <p>
+     * The distinct-customer count only changes when the customer has no other order in the row;
+     * two first orders of one customer committing at the same moment can both count, which the
+     * next rebuild of that day corrects.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordChange(Integer orderId, OrderChangedEvent.Snapshot before, OrderChangedEvent.Snapshot after) {
+        // Sorted, so concurrent writes touching the same two rows lock them in the same order
+        Map<RowKey, RowDelta> deltas = new TreeMap<>();
+        RowKey beforeKey = RowKey.of(before);
+        RowKey afterKey = RowKey.of(after);
+        if (beforeKey != null) deltas.computeIfAbsent(beforeKey, k -> new RowDelta()).add(before, -1);
+        if (afterKey != null) deltas.computeIfAbsent(afterKey, k -> new RowDelta()).add(after, 1);
+
+        for (Map.Entry<RowKey, RowDelta> e : deltas.entrySet()) {
+            RowKey key = e.getKey();
+            RowDelta delta = e.getValue();
+            Integer customerBefore = key.equals(beforeKey) ? before.getCustomerId() : null;
+            Integer customerAfter = key.equals(afterKey) ? after.getCustomerId() : null;
+            if (!Objects.equals(customerBefore, customerAfter)) {
+                if (customerAfter != null && !hasOtherOrders(customerAfter, orderId, key)) delta.customers++;
+                if (customerBefore != null && !hasOtherOrders(customerBefore, orderId, key)) delta.customers--;
+            }
+            if (delta.isZero()) continue;
+            rollupRepository.applyDelta(key.day, key.serviceType, delta.orders, delta.completed,
+                    delta.revenue, delta.tax, delta.customers);
+        }
+    }
+
+    @Transactional(readOnly = true)
+    public List<OrderDailyRollup> findRange(LocalDate start, LocalDate end) {
+        return rollupRepository.findByRollupDateBetweenOrderByRollupDateAsc(start, end);
+    }
+
+    /**
+     * Regenerates rollups for [from, to] from the Orders table. Either bound may be null,
+     * in which case the earliest / latest order date is used.
+     */
+    public RebuildResult rebuild(LocalDate from, LocalDate to, int chunkDays) {
+        long started = System.currentTimeMillis();
+        if (chunkDays <= 0) chunkDays = DEFAULT_CHUNK_DAYS;
+        if (from == null) from = dayOf(ordersRepository.findEarliestOrderDate());
+        if (to == null) to = dayOf(ordersRepository.findLatestOrderDate());
+        if (from == null || to == null || to.isBefore(from)) {
+            return new RebuildResult(0, 0, 0, System.currentTimeMillis() - started);
+        }
+
+        int chunks = 0;
+        long rows = 0;
+        LocalDate chunkStart = from;
+        while (!chunkStart.isAfter(to)) {
+            LocalDate chunkEnd = chunkStart.plusDays(chunkDays - 1L);
+            if (chunkEnd.isAfter(to)) chunkEnd = to;
+            final LocalDate s = chunkStart;
+            final LocalDate e = chunkEnd;
+            Long written = chunkTransaction.execute(status -> streamRange(s, e));
+            rows += written == null ? 0 : written;
+            chunks++;
+            chunkStart = chunkEnd.plusDays(1);
+        }
+
+        long days = java.time.temporal.ChronoUnit.DAYS.between(from, to) + 1;
+        return new RebuildResult(days, chunks, rows, System.currentTimeMillis() - started);
+    }
+
+    // Rebuilds [start, end] from a forward-only scan of the orders. Heap grows with the
+    // rollup rows (days x service types), never with the number of orders scanned.
+    private long streamRange(LocalDate start, LocalDate end) {
+        rollupRepository.deleteByRollupDateRange(start, end);
+
+        ZoneId zoneId = ZoneId.systemDefault();
+        Date startDate = Date.from(start.atStartOfDay(zoneId).toInstant());
+        Date endDate = Date.from(end.plusDays(1).atStartOfDay(zoneId).toInstant());
+
+        // Rows are written only after the cursor is closed: SQL Server cannot run a second
+        // statement on the connection without buffering the rest of the open result set
+        List<OrderDailyRollup> rows = new ArrayList<>();
+        DailyRollupAccumulator accumulator = new DailyRollupAccumulator(zoneId, rows::addAll);
+        try (Stream<OrderScalar> orders = ordersRepository.streamScalarsBetween(startDate, endDate)) {
+            orders.forEach(accumulator::add);
+        }
+        accumulator.finish();
+
+        for (int i = 0; i < rows.size(); i += WRITE_BATCH_ROWS) {
+            rollupRepository.saveAll(rows.subList(i, Math.min(rows.size(), i + WRITE_BATCH_ROWS)));
+            entityManager.flush();
+            entityManager.clear();
+        }
+        return rows.size();
+    }
+
+    // Whether the customer has another order in the row, other than the one being written
+    private boolean hasOtherOrders(Integer customerId, Integer orderId, RowKey key) {
+        ZoneId zoneId = ZoneId.systemDefault();
+        Date startDate = Date.from(key.day.atStartOfDay(zoneId).toInstant());
+        Date endDate = Date.from(key.day.plusDays(1).atStartOfDay(zoneId).toInstant());
+        return ordersRepository.countOtherOrdersOfCustomer(customerId, orderId == null ? -1 : orderId,
+                key.serviceType, startDate, endDate) > 0;
+    }
+
+    // A rollup row: the order's day and trimmed service type, "" when it has none
+    private static final class RowKey implements Comparable<RowKey> {
+        private final LocalDate day;
+        private final String serviceType;
+
+        RowKey(LocalDate day, String serviceType) {
+            this.day = day;
+            this.serviceType = serviceType;
+        }
+
+        static RowKey of(OrderChangedEvent.Snapshot snapshot) {
+            if (snapshot == null || snapshot.getDate() == null) return null;
+            String serviceType = snapshot.getServiceType() == null ? "" : snapshot.getServiceType().trim();
+            return new RowKey(dayOf(snapshot.getDate()), serviceType);
+        }
+
+        @Override
+        public int compareTo(RowKey other) {
+            int c = day.compareTo(other.day);
+            return c != 0 ? c : serviceType.compareTo(other.serviceType);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof RowKey other && day.equals(other.day) && serviceType.equals(other.serviceType);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(day, serviceType);
+        }
+    }
+
+    private static final class RowDelta {
+        private long orders;
+        private long completed;
+        private BigDecimal revenue = BigDecimal.ZERO;
+        private BigDecimal tax = BigDecimal.ZERO;
+        private long customers;
+
+        void add(OrderChangedEvent.Snapshot snapshot, int sign) {
+            orders += sign;
+            if (DailyRollupAccumulator.isCompleted(snapshot.getStatus())) completed += sign;
+            if (snapshot.getTotal() != null) revenue = revenue.add(snapshot.getTotal().multiply(BigDecimal.valueOf(sign)));
+            if (snapshot.getTax() != null) tax = tax.add(snapshot.getTax().multiply(BigDecimal.valueOf(sign)));
+        }
+
+        // A status change that does not complete the order, for instance, leaves the row as it is
+        boolean isZero() {
+            return orders == 0 && completed == 0 && customers == 0
+                    && revenue.signum() == 0 && tax.signum() == 0;
+        }
+    }
+
+    public static class RebuildResult {
+        private final long days;
+        private final int chunks;
+        private final long rows;
+        private final long elapsedMillis;
+
+        public RebuildResult(long days, int chunks, long rows, long elapsedMillis) {
+            this.days = days;
+            this.chunks = chunks;
+            this.rows = rows;
+            this.elapsedMillis = elapsedMillis;
+        }
+
+        public long getDays() { return days; }
+        public int getChunks() { return chunks; }
+        public long getRows() { return rows; }
+        public long getElapsedMillis() { return elapsedMillis; }
+    }
+}
@@ -2,25 +2,40 @@ package com.laundrypro.service;
 
 import com.laundrypro.model.Orders;
 import com.laundrypro.repository.OrdersRepository;
+import com.laundrypro.service.event.OrderChangedEvent;
+import com.laundrypro.service.outbox.OutboxService;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
+import java.time.LocalDate;
 import java.util.Date;
 import java.util.NoSuchElementException;
+import java.util.Objects;
 
 @Service
 @Transactional
 public class OrdersService {
 
     private final OrdersRepository repo;
-    private final NotificationService notificationService;
-
-    public OrdersService(OrdersRepository repo, NotificationService notificationService) {
+    private final OutboxService outbox;
+    private final OrderRollupService rollupService;
+    private final CustomerOrderIndexService customerIndexService;
+    private final CustomerSketchService customerSketchService;
+    private final ApplicationEventPublisher events;
+
+    public OrdersService(OrdersRepository repo, OutboxService outbox,
+                         OrderRollupService rollupService, CustomerOrderIndexService customerIndexService,
+                         CustomerSketchService customerSketchService, ApplicationEventPublisher events) {
         this.repo = repo;
-        this.notificationService = notificationService;
+        this.outbox = outbox;
+        this.rollupService = rollupService;
+        this.customerIndexService = customerIndexService;
+        this.customerSketchService = customerSketchService;
+        this.events = events;
     }
 
     public Orders create(Orders o) {
@@ -35,9 +50,16 @@ public class OrdersService {
 
         // Save the order first to get an ID
         Orders savedOrder = repo.save(o);
+        LocalDate day = OrderRollupService.dayOf(savedOrder.getDate());
+        OrderChangedEvent.Snapshot after = OrderChangedEvent.Snapshot.of(savedOrder);
+        rollupService.recordChange(savedOrder.getOrderId(), null, after);
+        customerIndexService.recordOrder(savedOrder.getCustomerId(), day);
+        customerSketchService.recordOrder(day, savedOrder.getCustomerId());
+        events.publishEvent(new OrderChangedEvent(savedOrder.getOrderId(), OrderChangedEvent.Type.CREATED,
+                null, after));
 
-        // Create a notification for all staff about the new order
-        notificationService.createOrderNotification(savedOrder.getOrderId(), o.getCustomerId(), o.getCustomerName());
+        // Staff are notified by the outbox relay once the order has committed
+        outbox.orderCreated(savedOrder);
 
         return savedOrder;
     }
@@ -49,6 +71,9 @@ public class OrdersService {
 
     public Orders update(Integer id, Orders incoming) {
         Orders existing = get(id);
+        OrderChangedEvent.Snapshot before = OrderChangedEvent.Snapshot.of(existing);
+        LocalDate previousDay = OrderRollupService.dayOf(existing.getDate());
+        Integer previousCustomerId = existing.getCustomerId();
         // Full update
         existing.setDate(incoming.getDate());
         existing.setCustomerId(incoming.getCustomerId());
@@ -65,20 +90,37 @@ public class OrdersService {
         existing.setStaffId(incoming.getStaffId());
         ensureRequired(existing);
         ensureTotals(existing);
-        return repo.save(existing);
+        Orders saved = repo.save(existing);
+        LocalDate day = OrderRollupService.dayOf(saved.getDate());
+        OrderChangedEvent.Snapshot after = OrderChangedEvent.Snapshot.of(saved);
+        rollupService.recordChange(saved.getOrderId(), before, after);
+        if (!Objects.equals(previousCustomerId, saved.getCustomerId()) || !Objects.equals(previousDay, day)) {
+            customerIndexService.refreshCustomers(previousCustomerId, saved.getCustomerId());
+            customerSketchService.recordOrder(day, saved.getCustomerId());
+        }
+        events.publishEvent(new OrderChangedEvent(saved.getOrderId(), OrderChangedEvent.Type.UPDATED,
+                before, after));
+        return saved;
     }
 
     public Orders updateStatus(Integer id, String status) {
         Orders existing = get(id);
+        OrderChangedEvent.Snapshot before = OrderChangedEvent.Snapshot.of(existing);
         existing.setStatus(status);
-        return repo.save(existing);
+        Orders saved = repo.save(existing);
+        rollupService.recordChange(saved.getOrderId(), before, OrderChangedEvent.Snapshot.of(saved));
+        events.publishEvent(new OrderChangedEvent(saved.getOrderId(), OrderChangedEvent.Type.STATUS_CHANGED));
+        return saved;
     }
 
     public void delete(Integer id) {
-        if (!repo.existsById(id)) {
-            throw new NoSuchElementException("Order not found: " + id);
-        }
-        repo.deleteById(id);
+        Orders existing = repo.findById(id)
+                .orElseThrow(() -> new NoSuchElementException("Order not found: " + id));
+        OrderChangedEvent.Snapshot before = OrderChangedEvent.Snapshot.of(existing);
+        repo.delete(existing);
+        rollupService.recordChange(id, before, null);
+        customerIndexService.refreshCustomers(existing.getCustomerId());
+        events.publishEvent(new OrderChangedEvent(id, OrderChangedEvent.Type.DELETED, before, null));
     }
 
     @Transactional(readOnly = true)
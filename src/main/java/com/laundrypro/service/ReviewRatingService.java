@@ -0,0 +1,136 @@
+package com.laundrypro.service;
+
+import com.laundrypro.model.ReviewDailyRating;
+import com.laundrypro.repository.ReviewDailyRatingRepository;
+import com.laundrypro.repository.ReviewRepository;
+import com.laundrypro.repository.projection.RatingDayTotals;
+import com.laundrypro.repository.projection.RatingTotals;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.*;
+
+/**
+ * Keeps the per-day rating aggregates in step with the Review table and answers rating
+ * distribution and trend questions from them. Review writes refresh only the affected days.
+ */
+@Service
+public class ReviewRatingService {
+
+    private static final List<String> DIMENSIONS =
+            List.of(ReviewDailyRating.OVERALL, ReviewDailyRating.SERVICE, ReviewDailyRating.PLATFORM);
+
+    private final ReviewRepository reviewRepository;
+    private final ReviewDailyRatingRepository ratingRepository;
+
+    public ReviewRatingService(ReviewRepository reviewRepository, ReviewDailyRatingRepository ratingRepository) {
+        this.reviewRepository = reviewRepository;
+        this.ratingRepository = ratingRepository;
+    }
+
+    // Recompute the rating rows of the given days inside the caller's transaction
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void refreshDays(LocalDate... days) {
+        Set<LocalDate> distinct = new TreeSet<>();
+        for (LocalDate day : days) {
+            if (day != null) distinct.add(day);
+        }
+        for (LocalDate day : distinct) {
+            replaceRange(day, day);
+        }
+    }
+
+    // Regenerates every rating row from the Review table
+    @Transactional
+    public int rebuild() {
+        ratingRepository.deleteAllInBatch();
+        LocalDateTime earliest = reviewRepository.findEarliestCreatedAt();
+        if (earliest == null) return 0;
+        return replaceRange(earliest.toLocalDate(), LocalDate.now());
+    }
+
+    /**
+     * Rating distribution per dimension over [from, to] plus a daily trend of averages.
+     */
+    @Transactional(readOnly = true)
+    public Map<String, Object> summary(LocalDate from, LocalDate to) {
+        if (to.isBefore(from)) throw new IllegalArgumentException("'to' must not be before 'from'");
+
+        Map<String, long[]> totals = new LinkedHashMap<>();
+        for (String dimension : DIMENSIONS) totals.put(dimension, new long[7]);
+        Map<LocalDate, Map<String, Object>> trend = new TreeMap<>();
+
+        for (ReviewDailyRating row : ratingRepository.findByRatingDateBetweenOrderByRatingDateAsc(from, to)) {
+            long[] t = totals.get(row.getDimension());
+            if (t == null) continue;
+            t[0] += row.getRatingSum();
+            t[1] += row.getRatingCount();
+            t[2] += row.getCount1();
+            t[3] += row.getCount2();
+            t[4] += row.getCount3();
+            t[5] += row.getCount4();
+            t[6] += row.getCount5();
+
+            Map<String, Object> point = trend.computeIfAbsent(row.getRatingDate(), d -> {
+                Map<String, Object> p = new LinkedHashMap<>();
+                p.put("date", d);
+                return p;
+            });
+            point.put(row.getDimension(), average(row.getRatingSum(), row.getRatingCount()));
+            point.put(row.getDimension() + "Count", row.getRatingCount());
+        }
+
+        Map<String, Object> dimensions = new LinkedHashMap<>();
+        totals.forEach((dimension, t) -> dimensions.put(dimension, describe(t)));
+
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("from", from);
+        result.put("to", to);
+        result.put("dimensions", dimensions);
+        result.put("trend", new ArrayList<>(trend.values()));
+        return result;
+    }
+
+    public static double average(RatingTotals totals) {
+        return totals == null ? 0.0 : average(totals.getRatingSum(), totals.getRatingCount());
+    }
+
+    public static double average(long sum, long count) {
+        return count == 0 ? 0.0 : (double) sum / count;
+    }
+
+    private static Map<String, Object> describe(long[] t) {
+        Map<String, Long> distribution = new LinkedHashMap<>();
+        for (int stars = 1; stars <= 5; stars++) distribution.put(String.valueOf(stars), t[stars + 1]);
+
+        Map<String, Object> out = new LinkedHashMap<>();
+        out.put("average", average(t[0], t[1]));
+        out.put("count", t[1]);
+        out.put("distribution", distribution);
+        return out;
+    }
+
+    private int replaceRange(LocalDate start, LocalDate end) {
+        ratingRepository.deleteByRatingDateRange(start, end);
+
+        LocalDateTime from = start.atStartOfDay();
+        LocalDateTime until = end.plusDays(1).atStartOfDay();
+
+        List<ReviewDailyRating> rows = new ArrayList<>();
+        addRows(rows, ReviewDailyRating.OVERALL, reviewRepository.aggregateRatingByDay(from, until));
+        addRows(rows, ReviewDailyRating.SERVICE, reviewRepository.aggregateServiceRatingByDay(from, until));
+        addRows(rows, ReviewDailyRating.PLATFORM, reviewRepository.aggregatePlatformRatingByDay(from, until));
+        ratingRepository.saveAll(rows);
+        return rows.size();
+    }
+
+    private static void addRows(List<ReviewDailyRating> rows, String dimension, List<RatingDayTotals> totals) {
+        for (RatingDayTotals t : totals) {
+            rows.add(new ReviewDailyRating(t.getDay(), dimension, t.getRatingSum(), t.getRatingCount(),
+                    t.getCount1(), t.getCount2(), t.getCount3(), t.getCount4(), t.getCount5()));
+        }
+    }
+}
@@ -6,17 +6,22 @@ import com.laundrypro.web.review.dto.ReviewRequest;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.List;
 
 @Service
+@Transactional
 public class ReviewService {
 
     private final ReviewRepository reviewRepository;
+    private final ReviewRatingService ratingService;
 
-    public ReviewService(ReviewRepository reviewRepository) {
+    public ReviewService(ReviewRepository reviewRepository, ReviewRatingService ratingService) {
         this.reviewRepository = reviewRepository;
+        this.ratingService = ratingService;
     }
 
     public Review create(ReviewRequest req) {
@@ -35,7 +40,9 @@ public class ReviewService {
                 .status("pending") // Set default status
                 .build();
 
-        return reviewRepository.save(review);
+        Review saved = reviewRepository.save(review);
+        ratingService.refreshDays(dayOf(saved.getCreatedAt()));
+        return saved;
     }
 
     public Page<Review> getAll(Pageable pageable) {
@@ -52,17 +59,31 @@ public class ReviewService {
 
     public Review save(Review review) {
         if (review.getCreatedAt() == null) review.setCreatedAt(LocalDateTime.now());
-        return reviewRepository.save(review);
+        // Ratings or the creation day may have changed, so refresh both the old and the new day
+        LocalDate previousDay = review.getReviewId() == null ? null
+                : dayOf(reviewRepository.findCreatedAtById(review.getReviewId()));
+        Review saved = reviewRepository.save(review);
+        ratingService.refreshDays(previousDay, dayOf(saved.getCreatedAt()));
+        return saved;
     }
 
     public void delete(Integer id) {
+        LocalDate day = dayOf(reviewRepository.findCreatedAtById(id));
         reviewRepository.deleteById(id);
+        ratingService.refreshDays(day);
     }
 
     public Review updateReviewStatus(Integer reviewId, String status) {
         Review review = getOne(reviewId);
         if (review == null) throw new IllegalArgumentException("Review not found");
         review.setStatus(status);
-        return reviewRepository.save(review);
+        // Status is not part of the aggregates today, but keep every review write refreshing its day
+        Review saved = reviewRepository.save(review);
+        ratingService.refreshDays(dayOf(saved.getCreatedAt()));
+        return saved;
+    }
+
+    private static LocalDate dayOf(LocalDateTime createdAt) {
+        return createdAt == null ? null : createdAt.toLocalDate();
     }
 }
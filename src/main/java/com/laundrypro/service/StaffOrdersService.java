@@ -2,7 +2,10 @@ package com.laundrypro.service;
 
 import com.laundrypro.model.Orders;
 import com.laundrypro.repository.OrdersRepository;
+import com.laundrypro.service.event.OrderChangedEvent;
+import com.laundrypro.service.outbox.OutboxService;
 import com.laundrypro.web.staff.dto.StaffDashboardOrderDto;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -15,11 +18,16 @@ import java.util.stream.Collectors;
 public class StaffOrdersService {
 
     private final OrdersRepository ordersRepository;
-    private final NotificationService notificationService;
+    private final OutboxService outbox;
+    private final OrderRollupService rollupService;
+    private final ApplicationEventPublisher events;
 
-    public StaffOrdersService(OrdersRepository ordersRepository, NotificationService notificationService) {
+    public StaffOrdersService(OrdersRepository ordersRepository, OutboxService outbox,
+                              OrderRollupService rollupService, ApplicationEventPublisher events) {
         this.ordersRepository = ordersRepository;
-        this.notificationService = notificationService;
+        this.outbox = outbox;
+        this.rollupService = rollupService;
+        this.events = events;
     }
 
     @Transactional(readOnly = true)
@@ -39,6 +47,7 @@ public class StaffOrdersService {
     public StaffDashboardOrderDto claim(Integer orderId, Integer staffId) {
         Orders o = ordersRepository.findById(orderId)
                 .orElseThrow(() -> new NoSuchElementException("Order not found: " + orderId));
+        OrderChangedEvent.Snapshot before = OrderChangedEvent.Snapshot.of(o);
 
         // Assign to staff
         o.setStaffId(staffId);
@@ -58,8 +67,11 @@ public class StaffOrdersService {
         }
 
         Orders saved = ordersRepository.save(o);
-        // Notify customer about new status
-        notificationService.createOrderStatusNotificationForCustomer(saved.getOrderId(), saved.getCustomerId(), saved.getStatus());
+        // Status drives the completed count in the daily rollups
+        rollupService.recordChange(saved.getOrderId(), before, OrderChangedEvent.Snapshot.of(saved));
+        events.publishEvent(new OrderChangedEvent(saved.getOrderId(), OrderChangedEvent.Type.STATUS_CHANGED));
+        // Notify customer about new status, through the outbox
+        outbox.orderStatusChanged(saved);
         return toDto(saved);
     }
 
@@ -70,6 +82,7 @@ public class StaffOrdersService {
     public StaffDashboardOrderDto updateStatus(Integer orderId, String status) {
         Orders o = ordersRepository.findById(orderId)
                 .orElseThrow(() -> new NoSuchElementException("Order not found: " + orderId));
+        OrderChangedEvent.Snapshot before = OrderChangedEvent.Snapshot.of(o);
 
         // If pickup just completed -> unassign and keep status as "Pickup Completed"
         if ("Pickup Completed".equalsIgnoreCase(status)) {
@@ -87,8 +100,10 @@ public class StaffOrdersService {
         }
 
         Orders saved = ordersRepository.save(o);
-        // Notify customer
-        notificationService.createOrderStatusNotificationForCustomer(saved.getOrderId(), saved.getCustomerId(), saved.getStatus());
+        rollupService.recordChange(saved.getOrderId(), before, OrderChangedEvent.Snapshot.of(saved));
+        events.publishEvent(new OrderChangedEvent(saved.getOrderId(), OrderChangedEvent.Type.STATUS_CHANGED));
+        // Notify customer, through the outbox
+        outbox.orderStatusChanged(saved);
         return toDto(saved);
     }
 
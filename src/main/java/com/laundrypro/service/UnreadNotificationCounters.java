@@ -0,0 +1,70 @@
+package com.laundrypro.service;
+
+import com.laundrypro.counter.StripedLongCounters;
+import com.laundrypro.service.event.NotificationChangedEvent;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.function.LongSupplier;
+
+/**
+ * Unread notification counts per staff member and per customer, kept in memory so the
+ * badge polls of every open tab never reach the database.
+ * <p>
+ * A recipient's count is seeded from the database the first time it is asked for and then
+ * follows {@link NotificationChangedEvent}s after commit. Changes that land between the
+ * seed's read and its insert are missed; {@link NotificationService} recounts every seeded
+ * recipient periodically to wash such drift out.
+ */
+@Component
+public class UnreadNotificationCounters {
+
+    private static final int STRIPES = 16;
+
+    private final StripedLongCounters staff = new StripedLongCounters(STRIPES);
+    private final StripedLongCounters customers = new StripedLongCounters(STRIPES);
+
+    public long staffUnread(long staffId, LongSupplier seed) {
+        return unread(staff, staffId, seed);
+    }
+
+    public long customerUnread(long customerId, LongSupplier seed) {
+        return unread(customers, customerId, seed);
+    }
+
+    // Ahead of other listeners, so push channels reading a count see this change applied
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onNotificationChanged(NotificationChangedEvent event) {
+        if (event.getType() == NotificationChangedEvent.Type.ALL_READ
+                || event.getType() == NotificationChangedEvent.Type.ALL_DELETED) {
+            if (event.getRecipientId() == null) return;
+            (event.getAudience() == NotificationChangedEvent.Audience.CUSTOMER ? customers : staff)
+                    .put(event.getRecipientId(), 0);
+            return;
+        }
+        long delta = event.getUnreadDelta();
+        if (delta == 0) return;
+        switch (event.getAudience()) {
+            case ALL_STAFF -> staff.addToAll(delta);
+            case STAFF -> staff.addIfPresent(event.getRecipientId(), delta);
+            case CUSTOMER -> customers.addIfPresent(event.getRecipientId(), delta);
+        }
+    }
+
+    long[] staffIds() { return staff.keys(); }
+    long[] customerIds() { return customers.keys(); }
+    void setStaff(long staffId, long unread) { staff.put(staffId, unread); }
+    void setCustomer(long customerId, long unread) { customers.put(customerId, unread); }
+
+    private static long unread(StripedLongCounters counters, long id, LongSupplier seed) {
+        long count = counters.get(id);
+        if (count == StripedLongCounters.ABSENT) {
+            count = counters.putIfAbsent(id, seed.getAsLong());
+        }
+        // Drift can dip below zero until the next recount
+        return Math.max(0, count);
+    }
+}
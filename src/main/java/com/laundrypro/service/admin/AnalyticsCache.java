@@ -0,0 +1,227 @@
+package com.laundrypro.service.admin;
+
+import com.laundrypro.service.event.OrderChangedEvent;
+import com.laundrypro.web.admin.dto.AnalyticsResponse;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDate;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Bounded in-process cache of {@link AnalyticsResponse} keyed by time range and day.
+ * <p>
+ * Entries become stale when their TTL expires or when an order change bumps the cache
+ * generation. Stale entries are still served by {@link #get} while exactly one background
+ * refresh per key recomputes them, so concurrent admins never trigger duplicate work.
+ */
+@Component
+public class AnalyticsCache {
+
+    private static final Logger log = LoggerFactory.getLogger(AnalyticsCache.class);
+
+    private final AnalyticsService analyticsService;
+    private final long ttlNanos;
+    private final int maxEntries;
+    private final ExecutorService refreshExecutor;
+
+    private final Map<String, Entry> entries;
+    private final ConcurrentHashMap<String, CompletableFuture<Entry>> inFlight = new ConcurrentHashMap<>();
+    private final AtomicLong generation = new AtomicLong();
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder staleHits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder refreshes = new LongAdder();
+    private final LongAdder refreshFailures = new LongAdder();
+    private final LongAdder refreshNanosTotal = new LongAdder();
+    private final AtomicLong refreshNanosMax = new AtomicLong();
+    private final AtomicLong lastRefreshNanos = new AtomicLong();
+
+    public AnalyticsCache(AnalyticsService analyticsService,
+                          @Value("${laundrypro.analytics.cache.ttl-seconds:300}") long ttlSeconds,
+                          @Value("${laundrypro.analytics.cache.max-entries:64}") int maxEntries,
+                          @Value("${laundrypro.analytics.cache.refresh-threads:2}") int refreshThreads) {
+        this.analyticsService = analyticsService;
+        this.ttlNanos = TimeUnit.SECONDS.toNanos(ttlSeconds);
+        this.maxEntries = Math.max(1, maxEntries);
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+                return size() > AnalyticsCache.this.maxEntries;
+            }
+        };
+        AtomicInteger threadIds = new AtomicInteger();
+        this.refreshExecutor = Executors.newFixedThreadPool(Math.max(1, refreshThreads), r -> {
+            Thread t = new Thread(r, "analytics-refresh-" + threadIds.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        });
+    }
+
+    /**
+     * Returns the cached response, serving a stale one while a background refresh runs.
+     * Only a cold key blocks the caller, and concurrent callers share that one computation.
+     */
+    public AnalyticsResponse get(String timeRange) {
+        String key = key(timeRange);
+        Entry entry = lookup(key);
+        if (entry == null) {
+            misses.increment();
+            return joinEntry(load(key, timeRange)).value;
+        }
+        if (isFresh(entry)) {
+            hits.increment();
+        } else {
+            staleHits.increment();
+            load(key, timeRange);
+        }
+        return entry.value;
+    }
+
+    /**
+     * Returns a response that reflects every order change signalled so far, waiting for
+     * the (shared) recomputation when the cached one is stale. Used when persisting reports.
+     */
+    public AnalyticsResponse getCurrent(String timeRange) {
+        String key = key(timeRange);
+        Entry entry = lookup(key);
+        if (entry != null && isFresh(entry)) {
+            hits.increment();
+            return entry.value;
+        }
+        misses.increment();
+        Entry loaded = joinEntry(load(key, timeRange));
+        if (loaded.generation != generation.get()) {
+            // The shared refresh started before the latest change; compute once more
+            loaded = joinEntry(load(key, timeRange));
+        }
+        return loaded.value;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onOrderChanged(OrderChangedEvent event) {
+        invalidateAll();
+    }
+
+    public void invalidateAll() {
+        generation.incrementAndGet();
+    }
+
+    public Map<String, Object> stats() {
+        long refreshCount = refreshes.sum();
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("hits", hits.sum());
+        stats.put("staleHits", staleHits.sum());
+        stats.put("misses", misses.sum());
+        stats.put("refreshes", refreshCount);
+        stats.put("refreshFailures", refreshFailures.sum());
+        stats.put("refreshAvgMillis", refreshCount == 0 ? 0.0 : refreshNanosTotal.sum() / 1_000_000.0 / refreshCount);
+        stats.put("refreshMaxMillis", refreshNanosMax.get() / 1_000_000.0);
+        stats.put("lastRefreshMillis", lastRefreshNanos.get() / 1_000_000.0);
+        synchronized (entries) {
+            stats.put("entries", entries.size());
+        }
+        stats.put("refreshesInFlight", inFlight.size());
+        return stats;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        refreshExecutor.shutdownNow();
+    }
+
+    private CompletableFuture<Entry> load(String key, String timeRange) {
+        CompletableFuture<Entry> existing = inFlight.get(key);
+        if (existing != null) return existing;
+        CompletableFuture<Entry> created = new CompletableFuture<>();
+        existing = inFlight.putIfAbsent(key, created);
+        if (existing != null) return existing;
+
+        long startedGeneration = generation.get();
+        try {
+            refreshExecutor.execute(() -> {
+                // Removed from inFlight before completing, so a caller that finds this result
+                // outdated starts a new computation instead of getting the same future back
+                try {
+                    Entry entry = compute(timeRange, startedGeneration);
+                    synchronized (entries) {
+                        entries.put(key, entry);
+                    }
+                    inFlight.remove(key, created);
+                    created.complete(entry);
+                } catch (RuntimeException e) {
+                    refreshFailures.increment();
+                    log.warn("Analytics refresh failed for {}", key, e);
+                    inFlight.remove(key, created);
+                    created.completeExceptionally(e);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            inFlight.remove(key, created);
+            created.completeExceptionally(e);
+        }
+        return created;
+    }
+
+    private Entry compute(String timeRange, long startedGeneration) {
+        long started = System.nanoTime();
+        AnalyticsResponse value = analyticsService.getAnalytics(timeRange);
+        long elapsed = System.nanoTime() - started;
+        refreshes.increment();
+        refreshNanosTotal.add(elapsed);
+        refreshNanosMax.accumulateAndGet(elapsed, Math::max);
+        lastRefreshNanos.set(elapsed);
+        // Stamped with the generation seen before computing, so a change during the
+        // computation leaves the entry stale rather than hiding that change. A partial
+        // response is served but never fresh, so the next request retries it.
+        boolean partial = value.getIncompleteSections() != null && !value.getIncompleteSections().isEmpty();
+        return new Entry(value, started, startedGeneration, partial);
+    }
+
+    private Entry lookup(String key) {
+        synchronized (entries) {
+            return entries.get(key);
+        }
+    }
+
+    private boolean isFresh(Entry entry) {
+        return !entry.partial && entry.generation == generation.get() && System.nanoTime() - entry.computedAtNanos < ttlNanos;
+    }
+
+    private static Entry joinEntry(CompletableFuture<Entry> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException) throw (RuntimeException) e.getCause();
+            throw e;
+        }
+    }
+
+    private static String key(String timeRange) {
+        return timeRange + "|" + LocalDate.now();
+    }
+
+    private static final class Entry {
+        private final AnalyticsResponse value;
+        private final long computedAtNanos;
+        private final long generation;
+        private final boolean partial;
+
+        private Entry(AnalyticsResponse value, long computedAtNanos, long generation, boolean partial) {
+            this.value = value;
+            this.computedAtNanos = computedAtNanos;
+            this.generation = generation;
+            this.partial = partial;
+        }
+    }
+}
@@ -0,0 +1,98 @@
+package com.laundrypro.service.admin;
+
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+
+/**
+ * The windows one analytics response is computed over: the charted period, the equally long
+ * period before it, the chart granularity and the windows of the summary comparisons.
+ * Fixed ranges ("week", "month", "quarter", "year") keep their historical windows; custom
+ * ranges pick the granularity from the span and compare every stat against the prior span.
+ */
+final class AnalyticsRange {
+
+    enum Granularity { DAY, WEEK, MONTH, YEAR }
+
+    // Longest spans charted at each granularity before moving to the next coarser one
+    static final long MAX_DAILY_DAYS = 31;
+    static final long MAX_WEEKLY_DAYS = 26 * 7;
+    static final long MAX_MONTHLY_DAYS = 3 * 366;
+
+    final String timeRange;
+    final LocalDate startDate;
+    final LocalDate endDate;
+    final LocalDate prevStartDate;
+    final LocalDate prevEndDate;
+    final Granularity granularity;
+    final LocalDate retentionFirstMonth;
+    final LocalDate newCustomersStart;
+    final LocalDate prevNewCustomersStart;
+    final LocalDate ratingStart;
+    final LocalDate prevRatingStart;
+
+    private AnalyticsRange(String timeRange, LocalDate startDate, LocalDate endDate, Granularity granularity,
+                           LocalDate retentionFirstMonth, LocalDate newCustomersStart, LocalDate prevNewCustomersStart,
+                           LocalDate ratingStart, LocalDate prevRatingStart) {
+        this.timeRange = timeRange;
+        this.startDate = startDate;
+        this.endDate = endDate;
+        long days = ChronoUnit.DAYS.between(startDate, endDate) + 1;
+        this.prevStartDate = startDate.minusDays(days);
+        this.prevEndDate = startDate.minusDays(1);
+        this.granularity = granularity;
+        this.retentionFirstMonth = retentionFirstMonth;
+        this.newCustomersStart = newCustomersStart;
+        this.prevNewCustomersStart = prevNewCustomersStart;
+        this.ratingStart = ratingStart;
+        this.prevRatingStart = prevRatingStart;
+    }
+
+    static AnalyticsRange fixed(String timeRange, LocalDate today) {
+        LocalDate startDate;
+        Granularity granularity;
+        switch (timeRange) {
+            case "week":
+                startDate = today.minusDays(6); // Last 7 days
+                granularity = Granularity.DAY;
+                break;
+            case "quarter":
+                startDate = today.minusMonths(3);
+                granularity = Granularity.MONTH;
+                break;
+            case "year":
+                startDate = today.minusYears(1);
+                granularity = Granularity.MONTH;
+                break;
+            case "month":
+            default:
+                startDate = today.minusMonths(1);
+                granularity = Granularity.WEEK;
+        }
+        int retentionMonths = "year".equals(timeRange) ? 12 : 6;
+        // New customers compare the last month with the one before, ratings the last 30 days with the 30 before
+        LocalDate newCustomersStart = today.minusMonths(1);
+        LocalDate ratingStart = today.minusDays(30);
+        return new AnalyticsRange(timeRange, startDate, today, granularity,
+                today.minusMonths(retentionMonths - 1L).withDayOfMonth(1),
+                newCustomersStart, newCustomersStart.minusMonths(1),
+                ratingStart, ratingStart.minusDays(30));
+    }
+
+    static AnalyticsRange custom(LocalDate from, LocalDate to) {
+        if (from == null || to == null) throw new IllegalArgumentException("Both 'from' and 'to' are required");
+        if (to.isBefore(from)) throw new IllegalArgumentException("'to' must not be before 'from'");
+
+        long days = ChronoUnit.DAYS.between(from, to) + 1;
+        Granularity granularity = days <= MAX_DAILY_DAYS ? Granularity.DAY
+                : days <= MAX_WEEKLY_DAYS ? Granularity.WEEK
+                : days <= MAX_MONTHLY_DAYS ? Granularity.MONTH
+                : Granularity.YEAR;
+        LocalDate prevStart = from.minusDays(days);
+        return new AnalyticsRange(null, from, to, granularity, from.withDayOfMonth(1),
+                from, prevStart, from, prevStart);
+    }
+
+    boolean isCustom() {
+        return timeRange == null;
+    }
+}
@@ -1,354 +1,346 @@
 package com.laundrypro.service.admin;
 
-import com.laundrypro.model.Customer;
-import com.laundrypro.model.Orders;
-import com.laundrypro.model.Review;
+import com.laundrypro.model.ReviewDailyRating;
+import com.laundrypro.money.Cents;
+import com.laundrypro.repository.CustomerOrderIndexRepository;
 import com.laundrypro.repository.CustomerRepository;
+import com.laundrypro.repository.OrderDailyRollupRepository;
 import com.laundrypro.repository.OrdersRepository;
-import com.laundrypro.repository.ReviewRepository;
+import com.laundrypro.repository.ReviewDailyRatingRepository;
+import com.laundrypro.repository.projection.MonthlyCount;
+import com.laundrypro.repository.projection.PeriodTotals;
+import com.laundrypro.repository.projection.ServiceTypeTotals;
+import com.laundrypro.service.CustomerSketchService;
+import com.laundrypro.service.ReviewRatingService;
 import com.laundrypro.web.admin.dto.AnalyticsResponse;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.math.BigDecimal;
 import java.math.RoundingMode;
 import java.time.*;
+import java.time.format.DateTimeFormatter;
 import java.time.format.TextStyle;
 import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
 @Service
 @Transactional(readOnly = true)
 public class AnalyticsService {
 
+    private static final Logger log = LoggerFactory.getLogger(AnalyticsService.class);
+    private static final DateTimeFormatter DAY_LABEL = DateTimeFormatter.ofPattern("MMM d", Locale.getDefault());
+    private static final DateTimeFormatter MONTH_LABEL = DateTimeFormatter.ofPattern("MMM yyyy", Locale.getDefault());
+
     private final OrdersRepository ordersRepository;
     private final CustomerRepository customerRepository;
-    private final ReviewRepository reviewRepository;
+    private final ReviewDailyRatingRepository ratingRepository;
+    private final OrderDailyRollupRepository rollupRepository;
+    private final CustomerOrderIndexRepository customerIndexRepository;
+    private final CustomerSketchService customerSketchService;
+    private final boolean exactDistinctCustomers;
+    private final TransactionTemplate sectionTransaction;
+    private final ExecutorService sectionExecutor;
+    private final long sectionTimeoutNanos;
 
     public AnalyticsService(OrdersRepository ordersRepository,
                            CustomerRepository customerRepository,
-                           ReviewRepository reviewRepository) {
+                           ReviewDailyRatingRepository ratingRepository,
+                           OrderDailyRollupRepository rollupRepository,
+                           CustomerOrderIndexRepository customerIndexRepository,
+                           CustomerSketchService customerSketchService,
+                           PlatformTransactionManager transactionManager,
+                           @Value("${laundrypro.analytics.distinct-customers.exact:false}") boolean exactDistinctCustomers,
+                           @Value("${laundrypro.analytics.section-threads:8}") int sectionThreads,
+                           @Value("${laundrypro.analytics.section-timeout-ms:5000}") long sectionTimeoutMillis) {
         this.ordersRepository = ordersRepository;
         this.customerRepository = customerRepository;
-        this.reviewRepository = reviewRepository;
+        this.ratingRepository = ratingRepository;
+        this.rollupRepository = rollupRepository;
+        this.customerIndexRepository = customerIndexRepository;
+        this.customerSketchService = customerSketchService;
+        this.exactDistinctCustomers = exactDistinctCustomers;
+        this.sectionTransaction = new TransactionTemplate(transactionManager);
+        this.sectionTransaction.setReadOnly(true);
+        this.sectionTimeoutNanos = TimeUnit.MILLISECONDS.toNanos(sectionTimeoutMillis);
+        AtomicInteger threadIds = new AtomicInteger();
+        this.sectionExecutor = Executors.newFixedThreadPool(Math.max(1, sectionThreads), r -> {
+            Thread t = new Thread(r, "analytics-section-" + threadIds.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        });
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        sectionExecutor.shutdownNow();
     }
 
+    /**
+     * Computes the independent analytics sections concurrently, each in its own read-only
+     * transaction, and merges them. A section that fails or exceeds the timeout is left
+     * out and listed in {@link AnalyticsResponse#getIncompleteSections()}.
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public AnalyticsResponse getAnalytics(String timeRange) {
-        LocalDate endDate = LocalDate.now();
-        LocalDate startDate = calculateStartDate(endDate, timeRange);
-
-        List<Orders> allOrders = ordersRepository.findAll();
-        List<Orders> periodOrders = filterOrdersByDateRange(allOrders, startDate, endDate);
-
-        // Calculate previous period for comparison
-        long daysDiff = java.time.temporal.ChronoUnit.DAYS.between(startDate, endDate) + 1;
-        LocalDate prevStartDate = startDate.minusDays(daysDiff);
-        LocalDate prevEndDate = startDate.minusDays(1);
-        List<Orders> previousPeriodOrders = filterOrdersByDateRange(allOrders, prevStartDate, prevEndDate);
-
-        // Build all analytics components
-        AnalyticsResponse.RevenueData revenueData = buildRevenueData(periodOrders, timeRange, startDate, endDate);
-        AnalyticsResponse.OrderVolumeData orderVolumeData = buildOrderVolumeData(periodOrders, timeRange, startDate, endDate);
-        AnalyticsResponse.ServiceDistribution serviceDistribution = buildServiceDistribution(periodOrders);
-        AnalyticsResponse.CustomerRetention customerRetention = buildCustomerRetention(timeRange);
-        AnalyticsResponse.SummaryStats summaryStats = buildSummaryStats(periodOrders, previousPeriodOrders);
-
-        return new AnalyticsResponse(revenueData, orderVolumeData, serviceDistribution,
+        return compute(AnalyticsRange.fixed(timeRange, LocalDate.now()));
+    }
+
+    /**
+     * Analytics for an arbitrary inclusive date range, compared with the equally long range
+     * before it. The chart granularity (day, week, month or year) follows the span.
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public AnalyticsResponse getAnalytics(LocalDate from, LocalDate to) {
+        return compute(AnalyticsRange.custom(from, to));
+    }
+
+    private AnalyticsResponse compute(AnalyticsRange range) {
+        long deadline = System.nanoTime() + sectionTimeoutNanos;
+        Future<TimeSeriesAggregator> seriesSection = submitSection(() -> loadTimeSeries(range));
+        Future<AnalyticsResponse.ServiceDistribution> distributionSection = submitSection(
+                () -> buildServiceDistribution(rollupRepository.sumByServiceType(range.startDate, range.endDate)));
+        Future<AnalyticsResponse.CustomerRetention> retentionSection = submitSection(() -> buildCustomerRetention(range));
+        Future<NewCustomerCounts> newCustomersSection = submitSection(() -> countNewCustomers(range));
+        Future<RatingStats> ratingsSection = submitSection(() -> loadRatingStats(range));
+
+        List<String> incomplete = new ArrayList<>();
+        TimeSeriesAggregator series = awaitSection("timeSeries", seriesSection, deadline, incomplete);
+        AnalyticsResponse.ServiceDistribution serviceDistribution = awaitSection("serviceDistribution", distributionSection, deadline, incomplete);
+        AnalyticsResponse.CustomerRetention customerRetention = awaitSection("customerRetention", retentionSection, deadline, incomplete);
+        NewCustomerCounts newCustomers = awaitSection("newCustomers", newCustomersSection, deadline, incomplete);
+        RatingStats ratings = awaitSection("ratings", ratingsSection, deadline, incomplete);
+
+        AnalyticsResponse.RevenueData revenueData = series == null ? null
+                : new AnalyticsResponse.RevenueData(series.getLabels(), series.getRevenueSeries());
+        AnalyticsResponse.OrderVolumeData orderVolumeData = series == null ? null
+                : new AnalyticsResponse.OrderVolumeData(series.getLabels(), series.getVolumeSeries());
+        AnalyticsResponse.SummaryStats summaryStats = buildSummaryStats(series, newCustomers, ratings);
+
+        AnalyticsResponse response = new AnalyticsResponse(revenueData, orderVolumeData, serviceDistribution,
                                     customerRetention, summaryStats);
+        response.setIncompleteSections(incomplete);
+        return response;
     }
 
-    private LocalDate calculateStartDate(LocalDate endDate, String timeRange) {
-        switch (timeRange) {
-            case "week":
-                return endDate.minusDays(6); // Last 7 days
-            case "quarter":
-                return endDate.minusMonths(3);
-            case "year":
-                return endDate.minusYears(1);
-            case "month":
-            default:
-                return endDate.minusMonths(1);
-        }
+    private <T> Future<T> submitSection(Supplier<T> section) {
+        return sectionExecutor.submit(() -> sectionTransaction.execute(status -> section.get()));
     }
 
-    private List<Orders> filterOrdersByDateRange(List<Orders> orders, LocalDate startDate, LocalDate endDate) {
-        ZoneId zoneId = ZoneId.systemDefault();
-        ZonedDateTime start = startDate.atStartOfDay(zoneId);
-        ZonedDateTime end = endDate.plusDays(1).atStartOfDay(zoneId);
-
-        return orders.stream()
-                .filter(o -> o.getDate() != null)
-                .filter(o -> {
-                    Instant instant = o.getDate().toInstant();
-                    return !instant.isBefore(start.toInstant()) && instant.isBefore(end.toInstant());
-                })
-                .collect(Collectors.toList());
+    private <T> T awaitSection(String name, Future<T> section, long deadline, List<String> incomplete) {
+        try {
+            return section.get(Math.max(0L, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+        } catch (TimeoutException e) {
+            section.cancel(true);
+            log.warn("Analytics section {} timed out", name);
+        } catch (ExecutionException e) {
+            log.warn("Analytics section {} failed", name, e.getCause());
+        } catch (InterruptedException e) {
+            section.cancel(true);
+            Thread.currentThread().interrupt();
+        }
+        incomplete.add(name);
+        return null;
     }
 
-    private AnalyticsResponse.RevenueData buildRevenueData(List<Orders> orders, String timeRange,
-                                                           LocalDate startDate, LocalDate endDate) {
-        List<String> labels = new ArrayList<>();
-        List<BigDecimal> data = new ArrayList<>();
+    private TimeSeriesAggregator loadTimeSeries(AnalyticsRange range) {
+        // Rollups are grouped in the database, so only one row per day (or month) crosses the wire
+        List<PeriodTotals> totals = loadPeriodTotals(range);
 
-        if ("week".equals(timeRange)) {
-            // Daily for last 7 days
-            for (int i = 0; i <= 6; i++) {
-                LocalDate date = startDate.plusDays(i);
-                labels.add(date.getDayOfWeek().getDisplayName(TextStyle.SHORT, Locale.getDefault()));
-                data.add(calculateRevenueForDate(orders, date));
-            }
-        } else if ("month".equals(timeRange)) {
-            // Weekly for last 4 weeks
-            LocalDate currentWeekStart = startDate;
-            int weekNum = 1;
-            while (currentWeekStart.isBefore(endDate) || currentWeekStart.equals(endDate)) {
-                labels.add("Week " + weekNum);
-                LocalDate weekEnd = currentWeekStart.plusDays(6);
-                if (weekEnd.isAfter(endDate)) weekEnd = endDate;
-                data.add(calculateRevenueForRange(orders, currentWeekStart, weekEnd));
-                currentWeekStart = currentWeekStart.plusDays(7);
-                weekNum++;
-            }
-        } else if ("quarter".equals(timeRange)) {
-            // Monthly for last 3 months
-            for (int i = 0; i < 3; i++) {
-                LocalDate monthStart = endDate.minusMonths(2 - i).withDayOfMonth(1);
-                LocalDate monthEnd = monthStart.plusMonths(1).minusDays(1);
-                if (monthEnd.isAfter(endDate)) monthEnd = endDate;
-                labels.add(monthStart.getMonth().getDisplayName(TextStyle.SHORT, Locale.getDefault()));
-                data.add(calculateRevenueForRange(orders, monthStart, monthEnd));
-            }
-        } else if ("year".equals(timeRange)) {
-            // Monthly for last 12 months
-            for (int i = 11; i >= 0; i--) {
-                LocalDate monthStart = endDate.minusMonths(i).withDayOfMonth(1);
-                LocalDate monthEnd = monthStart.plusMonths(1).minusDays(1);
-                if (monthEnd.isAfter(endDate)) monthEnd = endDate;
-                labels.add(monthStart.getMonth().getDisplayName(TextStyle.SHORT, Locale.getDefault()));
-                data.add(calculateRevenueForRange(orders, monthStart, monthEnd));
-            }
+        // Revenue, volume and period totals all come out of one pass over the grouped rows
+        TimeSeriesAggregator series = buildTimeSeries(range);
+        for (PeriodTotals t : totals) {
+            series.add(t.getPeriodStart(), Cents.fromDecimalRounded(t.getRevenue()), t.getOrderCount());
         }
+        return series;
+    }
 
-        return new AnalyticsResponse.RevenueData(labels, data);
+    private List<PeriodTotals> loadPeriodTotals(AnalyticsRange range) {
+        if (range.granularity == AnalyticsRange.Granularity.MONTH || range.granularity == AnalyticsRange.Granularity.YEAR) {
+            // Month groups are queried per period so no group straddles the period boundary
+            List<PeriodTotals> totals = new ArrayList<>(rollupRepository.sumByMonth(range.prevStartDate, range.prevEndDate));
+            totals.addAll(rollupRepository.sumByMonth(range.startDate, range.endDate));
+            return totals;
+        }
+        // Day and week buckets are anchored at the start date, so they are summed from day rows
+        return rollupRepository.sumByDay(range.prevStartDate, range.endDate);
     }
 
-    private AnalyticsResponse.OrderVolumeData buildOrderVolumeData(List<Orders> orders, String timeRange,
-                                                                   LocalDate startDate, LocalDate endDate) {
-        List<String> labels = new ArrayList<>();
-        List<Long> data = new ArrayList<>();
+    private TimeSeriesAggregator buildTimeSeries(AnalyticsRange range) {
+        LocalDate startDate = range.startDate;
+        LocalDate endDate = range.endDate;
+        TimeSeriesAggregator.Builder builder = TimeSeriesAggregator.builder(ZoneId.systemDefault(), range.prevStartDate, startDate);
 
-        if ("week".equals(timeRange)) {
+        if (range.isCustom()) {
+            buildCustomBuckets(builder, range);
+        } else if ("week".equals(range.timeRange)) {
+            // Daily for last 7 days
             for (int i = 0; i <= 6; i++) {
                 LocalDate date = startDate.plusDays(i);
-                labels.add(date.getDayOfWeek().getDisplayName(TextStyle.SHORT, Locale.getDefault()));
-                data.add(countOrdersForDate(orders, date));
+                builder.bucket(date.getDayOfWeek().getDisplayName(TextStyle.SHORT, Locale.getDefault()), date);
+            }
+        } else if ("quarter".equals(range.timeRange) || "year".equals(range.timeRange)) {
+            // Monthly for last 3 or 12 months
+            int months = "year".equals(range.timeRange) ? 12 : 3;
+            for (int i = months - 1; i >= 0; i--) {
+                LocalDate monthStart = endDate.minusMonths(i).withDayOfMonth(1);
+                builder.bucket(monthStart.getMonth().getDisplayName(TextStyle.SHORT, Locale.getDefault()), monthStart);
             }
-        } else if ("month".equals(timeRange)) {
+        } else {
+            // Weekly for last 4 weeks, the last one truncated at endDate
             LocalDate currentWeekStart = startDate;
             int weekNum = 1;
-            while (currentWeekStart.isBefore(endDate) || currentWeekStart.equals(endDate)) {
-                labels.add("Week " + weekNum);
-                LocalDate weekEnd = currentWeekStart.plusDays(6);
-                if (weekEnd.isAfter(endDate)) weekEnd = endDate;
-                data.add(countOrdersForRange(orders, currentWeekStart, weekEnd));
+            while (!currentWeekStart.isAfter(endDate)) {
+                builder.bucket("Week " + weekNum, currentWeekStart);
                 currentWeekStart = currentWeekStart.plusDays(7);
                 weekNum++;
             }
-        } else if ("quarter".equals(timeRange)) {
-            for (int i = 0; i < 3; i++) {
-                LocalDate monthStart = endDate.minusMonths(2 - i).withDayOfMonth(1);
-                LocalDate monthEnd = monthStart.plusMonths(1).minusDays(1);
-                if (monthEnd.isAfter(endDate)) monthEnd = endDate;
-                labels.add(monthStart.getMonth().getDisplayName(TextStyle.SHORT, Locale.getDefault()));
-                data.add(countOrdersForRange(orders, monthStart, monthEnd));
-            }
-        } else if ("year".equals(timeRange)) {
-            for (int i = 11; i >= 0; i--) {
-                LocalDate monthStart = endDate.minusMonths(i).withDayOfMonth(1);
-                LocalDate monthEnd = monthStart.plusMonths(1).minusDays(1);
-                if (monthEnd.isAfter(endDate)) monthEnd = endDate;
-                labels.add(monthStart.getMonth().getDisplayName(TextStyle.SHORT, Locale.getDefault()));
-                data.add(countOrdersForRange(orders, monthStart, monthEnd));
-            }
         }
 
-        return new AnalyticsResponse.OrderVolumeData(labels, data);
+        return builder.build(endDate);
     }
 
-    private AnalyticsResponse.ServiceDistribution buildServiceDistribution(List<Orders> orders) {
-        Map<String, Long> serviceCounts = orders.stream()
-                .filter(o -> o.getServiceType() != null && !o.getServiceType().trim().isEmpty())
-                .collect(Collectors.groupingBy(
-                    o -> o.getServiceType().trim(),
-                    Collectors.counting()
-                ));
-
-        Map<String, BigDecimal> serviceRevenue = orders.stream()
-                .filter(o -> o.getServiceType() != null && !o.getServiceType().trim().isEmpty())
-                .collect(Collectors.groupingBy(
-                    o -> o.getServiceType().trim(),
-                    Collectors.reducing(
-                        BigDecimal.ZERO,
-                        o -> o.getTotal() != null ? o.getTotal() : BigDecimal.ZERO,
-                        BigDecimal::add
-                    )
-                ));
-
-        List<String> labels = new ArrayList<>(serviceCounts.keySet());
-        List<Long> data = labels.stream()
-                .map(serviceCounts::get)
-                .collect(Collectors.toList());
+    // Custom ranges label buckets with their dates; the first bucket always starts at 'from'
+    private static void buildCustomBuckets(TimeSeriesAggregator.Builder builder, AnalyticsRange range) {
+        LocalDate start = range.startDate;
+        LocalDate end = range.endDate;
+        switch (range.granularity) {
+            case DAY:
+                for (LocalDate d = start; !d.isAfter(end); d = d.plusDays(1)) {
+                    builder.bucket(DAY_LABEL.format(d), d);
+                }
+                break;
+            case WEEK:
+                for (LocalDate d = start; !d.isAfter(end); d = d.plusDays(7)) {
+                    builder.bucket(DAY_LABEL.format(d), d);
+                }
+                break;
+            case MONTH:
+                for (LocalDate d = start; !d.isAfter(end); d = d.withDayOfMonth(1).plusMonths(1)) {
+                    builder.bucket(MONTH_LABEL.format(d), d);
+                }
+                break;
+            case YEAR:
+                for (LocalDate d = start; !d.isAfter(end); d = d.withDayOfYear(1).plusYears(1)) {
+                    builder.bucket(String.valueOf(d.getYear()), d);
+                }
+                break;
+        }
+    }
+
+    private AnalyticsResponse.ServiceDistribution buildServiceDistribution(List<ServiceTypeTotals> totals) {
+        List<String> labels = new ArrayList<>();
+        List<Long> data = new ArrayList<>();
+        Map<String, BigDecimal> serviceRevenue = new HashMap<>();
+        for (ServiceTypeTotals t : totals) {
+            labels.add(t.getServiceType());
+            data.add(t.getOrderCount());
+            serviceRevenue.put(t.getServiceType(), t.getRevenue());
+        }
 
         return new AnalyticsResponse.ServiceDistribution(labels, data, serviceRevenue);
     }
 
-    private AnalyticsResponse.CustomerRetention buildCustomerRetention(String timeRange) {
-        List<Orders> allOrders = ordersRepository.findAll();
-
+    private AnalyticsResponse.CustomerRetention buildCustomerRetention(AnalyticsRange range) {
         List<String> labels = new ArrayList<>();
         List<Long> newCustomers = new ArrayList<>();
         List<Long> returningCustomers = new ArrayList<>();
 
-        LocalDate endDate = LocalDate.now();
-        int periods = timeRange.equals("year") ? 12 : 6;
-
-        // Build a map of customer ID to their first order date
-        Map<Integer, LocalDate> customerFirstOrderMap = new HashMap<>();
-        for (Orders order : allOrders) {
-            if (order.getCustomerId() != null && order.getDate() != null) {
-                LocalDate orderDate = order.getDate().toInstant().atZone(ZoneId.systemDefault()).toLocalDate();
-                customerFirstOrderMap.merge(order.getCustomerId(), orderDate,
-                    (existing, newDate) -> existing.isBefore(newDate) ? existing : newDate);
+        LocalDate endDate = range.endDate;
+        LocalDate firstMonth = range.retentionFirstMonth;
+        int baseMonth = monthKey(firstMonth);
+        int periods = monthKey(endDate) - baseMonth + 1;
+
+        // Cohort matrix keyed by month offset: customers whose first order falls in the month,
+        // and distinct customers that ordered in the month at all
+        long[] firstOrders = new long[periods];
+        long[] activeCustomers = new long[periods];
+        for (MonthlyCount c : customerIndexRepository.countFirstOrdersByMonth(firstMonth, endDate)) {
+            firstOrders[monthKey(c.getPeriodStart()) - baseMonth] += c.getCustomerCount();
+        }
+        if (exactDistinctCustomers) {
+            // One count per month, bounded in the application's zone like the rollups and sketches
+            ZoneId zoneId = ZoneId.systemDefault();
+            for (int i = 0; i < periods; i++) {
+                LocalDate monthStart = firstMonth.plusMonths(i).withDayOfMonth(1);
+                LocalDate monthEnd = monthStart.plusMonths(1);
+                if (monthEnd.isAfter(endDate.plusDays(1))) monthEnd = endDate.plusDays(1);
+                activeCustomers[i] = ordersRepository.countDistinctCustomersBetween(
+                        Date.from(monthStart.atStartOfDay(zoneId).toInstant()),
+                        Date.from(monthEnd.atStartOfDay(zoneId).toInstant()));
             }
+        } else {
+            // Merged per-day HyperLogLog sketches; about 1.6% standard error per month
+            customerSketchService.estimateDistinctCustomersByMonth(firstMonth, endDate).forEach((month, count) ->
+                    activeCustomers[monthKey(month.atDay(1)) - baseMonth] += count);
         }
 
-        for (int i = periods - 1; i >= 0; i--) {
-            LocalDate monthStart = endDate.minusMonths(i).withDayOfMonth(1);
-            LocalDate monthEnd = monthStart.plusMonths(1).minusDays(1);
-            if (monthEnd.isAfter(endDate)) monthEnd = endDate;
-
-            final LocalDate finalMonthStart = monthStart;
-            final LocalDate finalMonthEnd = monthEnd;
-
-            labels.add(monthStart.getMonth().getDisplayName(TextStyle.SHORT, Locale.getDefault()));
-
-            // Count new customers (first order in this month)
-            long newCust = customerFirstOrderMap.entrySet().stream()
-                    .filter(entry -> {
-                        LocalDate firstOrder = entry.getValue();
-                        return !firstOrder.isBefore(finalMonthStart) && !firstOrder.isAfter(finalMonthEnd);
-                    })
-                    .count();
-
-            // Count returning customers (had orders in this month but first order was earlier)
-            Set<Integer> customersWithOrdersThisMonth = allOrders.stream()
-                    .filter(o -> o.getCustomerId() != null && o.getDate() != null)
-                    .filter(o -> {
-                        LocalDate orderDate = o.getDate().toInstant().atZone(ZoneId.systemDefault()).toLocalDate();
-                        return !orderDate.isBefore(finalMonthStart) && !orderDate.isAfter(finalMonthEnd);
-                    })
-                    .map(Orders::getCustomerId)
-                    .collect(Collectors.toSet());
-
-            long returning = customersWithOrdersThisMonth.stream()
-                    .filter(custId -> {
-                        LocalDate firstOrder = customerFirstOrderMap.get(custId);
-                        return firstOrder != null && firstOrder.isBefore(finalMonthStart);
-                    })
-                    .count();
-
-            newCustomers.add(newCust);
-            returningCustomers.add(returning);
+        for (int i = 0; i < periods; i++) {
+            LocalDate monthStart = firstMonth.plusMonths(i);
+            labels.add(range.isCustom() ? MONTH_LABEL.format(monthStart)
+                    : monthStart.getMonth().getDisplayName(TextStyle.SHORT, Locale.getDefault()));
+            newCustomers.add(firstOrders[i]);
+            // Every new customer ordered in their first month, the rest of the month's customers are returning
+            returningCustomers.add(Math.max(0L, activeCustomers[i] - firstOrders[i]));
         }
 
         return new AnalyticsResponse.CustomerRetention(labels, newCustomers, returningCustomers);
     }
 
-    private AnalyticsResponse.SummaryStats buildSummaryStats(List<Orders> currentPeriod,
-                                                             List<Orders> previousPeriod) {
-        // Calculate current period stats
-        BigDecimal totalRevenue = currentPeriod.stream()
-                .map(o -> o.getTotal() != null ? o.getTotal() : BigDecimal.ZERO)
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
+    private static int monthKey(LocalDate date) {
+        return date.getYear() * 12 + date.getMonthValue() - 1;
+    }
 
-        long ordersProcessed = currentPeriod.size();
+    private NewCustomerCounts countNewCustomers(AnalyticsRange range) {
+        // New customers in the window vs the window before, read from the first-order index
+        long newCustomers = customerIndexRepository.countByFirstOrderDateBetween(range.newCustomersStart, range.endDate);
+        long prevNewCustomers = customerIndexRepository.countByFirstOrderDateBetween(
+                range.prevNewCustomersStart, range.newCustomersStart.minusDays(1));
+        return new NewCustomerCounts(newCustomers, prevNewCustomers);
+    }
 
-        // Calculate previous period stats for comparison
-        BigDecimal prevRevenue = previousPeriod.stream()
-                .map(o -> o.getTotal() != null ? o.getTotal() : BigDecimal.ZERO)
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
+    private RatingStats loadRatingStats(AnalyticsRange range) {
+        // Rating window vs the window before, all from the daily rating aggregates
+        double currentAvgRating = ReviewRatingService.average(
+                ratingRepository.sumByDimensionBetween(ReviewDailyRating.OVERALL, range.ratingStart, range.endDate));
+        double prevAvgRating = ReviewRatingService.average(
+                ratingRepository.sumByDimensionBetween(ReviewDailyRating.OVERALL, range.prevRatingStart, range.ratingStart.minusDays(1)));
+        // Fixed ranges headline the all-time average, custom ranges the average inside the range
+        double averageRating = range.isCustom() ? currentAvgRating
+                : ReviewRatingService.average(ratingRepository.sumByDimension(ReviewDailyRating.OVERALL));
+
+        return new RatingStats(averageRating, currentAvgRating - prevAvgRating);
+    }
 
-        long prevOrders = previousPeriod.size();
+    // Missing sections contribute zeros; the response lists them as incomplete
+    private AnalyticsResponse.SummaryStats buildSummaryStats(TimeSeriesAggregator series,
+                                                             NewCustomerCounts customers,
+                                                             RatingStats ratings) {
+        // Current and previous period totals were accumulated by the same pass as the charts
+        BigDecimal totalRevenue = Cents.toDecimal(series == null ? 0L : series.getCurrentCents());
+        long ordersProcessed = series == null ? 0L : series.getCurrentCount();
+        BigDecimal prevRevenue = Cents.toDecimal(series == null ? 0L : series.getPreviousCents());
+        long prevOrders = series == null ? 0L : series.getPreviousCount();
 
         // Calculate percentage changes
         double revenueChange = calculatePercentageChange(prevRevenue, totalRevenue);
         double ordersChange = calculatePercentageChange(prevOrders, ordersProcessed);
 
-        // Calculate new customers in current period (based on first order)
-        List<Orders> allOrders = ordersRepository.findAll();
-        Map<Integer, LocalDate> customerFirstOrderMap = new HashMap<>();
-        for (Orders order : allOrders) {
-            if (order.getCustomerId() != null && order.getDate() != null) {
-                LocalDate orderDate = order.getDate().toInstant().atZone(ZoneId.systemDefault()).toLocalDate();
-                customerFirstOrderMap.merge(order.getCustomerId(), orderDate,
-                    (existing, newDate) -> existing.isBefore(newDate) ? existing : newDate);
-            }
-        }
+        long newCustomers = customers == null ? 0L : customers.current;
+        double customersChange = customers == null ? 0.0 : calculatePercentageChange(customers.previous, customers.current);
 
-        LocalDate endDate = LocalDate.now();
-        LocalDate startDate = endDate.minusMonths(1);
-        LocalDate prevStartDate = startDate.minusMonths(1);
-
-        long newCustomers = customerFirstOrderMap.entrySet().stream()
-                .filter(entry -> {
-                    LocalDate firstOrder = entry.getValue();
-                    return !firstOrder.isBefore(startDate) && !firstOrder.isAfter(endDate);
-                })
-                .count();
-
-        long prevNewCustomers = customerFirstOrderMap.entrySet().stream()
-                .filter(entry -> {
-                    LocalDate firstOrder = entry.getValue();
-                    return !firstOrder.isBefore(prevStartDate) && firstOrder.isBefore(startDate);
-                })
-                .count();
-
-        double customersChange = calculatePercentageChange(prevNewCustomers, newCustomers);
-
-        // Calculate average rating
-        List<Review> allReviews = reviewRepository.findAll();
-        double averageRating = allReviews.stream()
-                .filter(r -> r.getRating() != null)
-                .mapToInt(Review::getRating)
-                .average()
-                .orElse(0.0);
-
-        // For rating change, compare last 30 days vs previous 30 days
-        LocalDate ratingEndDate = LocalDate.now();
-        LocalDate ratingStartDate = ratingEndDate.minusDays(30);
-        LocalDate ratingPrevStart = ratingStartDate.minusDays(30);
-
-        double currentAvgRating = allReviews.stream()
-                .filter(r -> r.getRating() != null && r.getCreatedAt() != null)
-                .filter(r -> {
-                    LocalDate reviewDate = r.getCreatedAt().toLocalDate();
-                    return !reviewDate.isBefore(ratingStartDate) && !reviewDate.isAfter(ratingEndDate);
-                })
-                .mapToInt(Review::getRating)
-                .average()
-                .orElse(0.0);
-
-        double prevAvgRating = allReviews.stream()
-                .filter(r -> r.getRating() != null && r.getCreatedAt() != null)
-                .filter(r -> {
-                    LocalDate reviewDate = r.getCreatedAt().toLocalDate();
-                    return !reviewDate.isBefore(ratingPrevStart) && reviewDate.isBefore(ratingStartDate);
-                })
-                .mapToInt(Review::getRating)
-                .average()
-                .orElse(0.0);
-
-        double ratingChange = currentAvgRating - prevAvgRating;
+        double averageRating = ratings == null ? 0.0 : ratings.average;
+        double ratingChange = ratings == null ? 0.0 : ratings.change;
 
         return new AnalyticsResponse.SummaryStats(
             totalRevenue, revenueChange, ordersProcessed, ordersChange,
@@ -373,46 +365,23 @@ public class AnalyticsService {
         return ((double) (newValue - oldValue) / oldValue) * 100.0;
     }
 
-    private BigDecimal calculateRevenueForDate(List<Orders> orders, LocalDate date) {
-        return orders.stream()
-                .filter(o -> {
-                    LocalDate orderDate = o.getDate().toInstant()
-                            .atZone(ZoneId.systemDefault()).toLocalDate();
-                    return orderDate.equals(date);
-                })
-                .map(o -> o.getTotal() != null ? o.getTotal() : BigDecimal.ZERO)
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
-    }
+    private static final class NewCustomerCounts {
+        private final long current;
+        private final long previous;
 
-    private BigDecimal calculateRevenueForRange(List<Orders> orders, LocalDate start, LocalDate end) {
-        return orders.stream()
-                .filter(o -> {
-                    LocalDate orderDate = o.getDate().toInstant()
-                            .atZone(ZoneId.systemDefault()).toLocalDate();
-                    return !orderDate.isBefore(start) && !orderDate.isAfter(end);
-                })
-                .map(o -> o.getTotal() != null ? o.getTotal() : BigDecimal.ZERO)
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
+        private NewCustomerCounts(long current, long previous) {
+            this.current = current;
+            this.previous = previous;
+        }
     }
 
-    private long countOrdersForDate(List<Orders> orders, LocalDate date) {
-        return orders.stream()
-                .filter(o -> {
-                    LocalDate orderDate = o.getDate().toInstant()
-                            .atZone(ZoneId.systemDefault()).toLocalDate();
-                    return orderDate.equals(date);
-                })
-                .count();
-    }
+    private static final class RatingStats {
+        private final double average;
+        private final double change;
 
-    private long countOrdersForRange(List<Orders> orders, LocalDate start, LocalDate end) {
-        return orders.stream()
-                .filter(o -> {
-                    LocalDate orderDate = o.getDate().toInstant()
-                            .atZone(ZoneId.systemDefault()).toLocalDate();
-                    return !orderDate.isBefore(start) && !orderDate.isAfter(end);
-                })
-                .count();
+        private RatingStats(double average, double change) {
+            this.average = average;
+            this.change = change;
+        }
     }
 }
-
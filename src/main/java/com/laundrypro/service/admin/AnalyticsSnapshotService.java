@@ -0,0 +1,108 @@
+package com.laundrypro.service.admin;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.laundrypro.model.AnalyticsSnapshot;
+import com.laundrypro.repository.AnalyticsSnapshotRepository;
+import com.laundrypro.web.admin.dto.AnalyticsResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Materialises the analytics of the fixed time ranges into Analytics_Snapshot shortly after
+ * midnight and then every few minutes, so the admin endpoint is a single-row read even on a
+ * freshly started instance. A snapshot is only served on the day it was generated, since
+ * every range is anchored at today.
+ */
+@Service
+public class AnalyticsSnapshotService {
+
+    private static final Logger log = LoggerFactory.getLogger(AnalyticsSnapshotService.class);
+
+    public static final List<String> TIME_RANGES = List.of("week", "month", "quarter", "year");
+
+    private final AnalyticsService analyticsService;
+    private final AnalyticsSnapshotRepository snapshotRepository;
+    private final ObjectMapper objectMapper;
+    private final boolean enabled;
+
+    public AnalyticsSnapshotService(AnalyticsService analyticsService,
+                                    AnalyticsSnapshotRepository snapshotRepository,
+                                    ObjectMapper objectMapper,
+                                    @Value("${laundrypro.analytics.snapshot.enabled:true}") boolean enabled) {
+        this.analyticsService = analyticsService;
+        this.snapshotRepository = snapshotRepository;
+        this.objectMapper = objectMapper;
+        this.enabled = enabled;
+    }
+
+    // Today's snapshot for the range, if one has been materialised
+    @Transactional(readOnly = true)
+    public Optional<AnalyticsSnapshot> findCurrent(String timeRange) {
+        if (!enabled || !TIME_RANGES.contains(timeRange)) return Optional.empty();
+        return snapshotRepository.findById(timeRange)
+                .filter(s -> s.getGeneratedAt().toLocalDate().equals(LocalDate.now()));
+    }
+
+    @Scheduled(cron = "${laundrypro.analytics.snapshot.cron:0 1 0 * * *}")
+    public void refreshAfterMidnight() {
+        refreshAllQuietly();
+    }
+
+    @Scheduled(initialDelayString = "${laundrypro.analytics.snapshot.initial-delay-ms:60000}",
+               fixedDelayString = "${laundrypro.analytics.snapshot.interval-ms:600000}")
+    public void refreshPeriodically() {
+        refreshAllQuietly();
+    }
+
+    /**
+     * Recomputes every fixed range. Partial responses are not stored, so a failed section
+     * leaves the previous snapshot in place until the next run.
+     */
+    public Map<String, Object> refreshAll() {
+        Map<String, Object> result = new LinkedHashMap<>();
+        for (String timeRange : TIME_RANGES) {
+            try {
+                result.put(timeRange, refresh(timeRange));
+            } catch (RuntimeException e) {
+                log.warn("Analytics snapshot refresh failed for {}", timeRange, e);
+                result.put(timeRange, "failed");
+            }
+        }
+        return result;
+    }
+
+    private String refresh(String timeRange) {
+        LocalDateTime generatedAt = LocalDateTime.now();
+        long started = System.currentTimeMillis();
+        AnalyticsResponse response = analyticsService.getAnalytics(timeRange);
+        if (response.getIncompleteSections() != null && !response.getIncompleteSections().isEmpty()) {
+            log.warn("Skipping {} analytics snapshot, incomplete sections {}", timeRange, response.getIncompleteSections());
+            return "incomplete";
+        }
+        String payload;
+        try {
+            payload = objectMapper.writeValueAsString(response);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialise " + timeRange + " analytics", e);
+        }
+        snapshotRepository.save(new AnalyticsSnapshot(timeRange, payload, generatedAt,
+                System.currentTimeMillis() - started));
+        return "ok";
+    }
+
+    private void refreshAllQuietly() {
+        if (enabled) refreshAll();
+    }
+}
@@ -0,0 +1,110 @@
+package com.laundrypro.service.admin;
+
+import com.laundrypro.model.OrderDailyRollup;
+import com.laundrypro.model.ReviewDailyRating;
+import com.laundrypro.money.Cents;
+
+import java.time.LocalDate;
+import java.util.*;
+
+/**
+ * Running totals of the daily order rollups and overall rating aggregates, one slot per
+ * day from {@code first} to {@code last}. The total of any day range is the difference of
+ * two slots, so a range costs the same whether it spans a week or a decade.
+ */
+final class DailyPrefixSums {
+
+    private final LocalDate first;
+    private final LocalDate last;
+    private final long[] orders;
+    private final long[] completed;
+    private final long[] cents;
+    private final long[] ratingSum;
+    private final long[] ratingCount;
+    private final Map<String, long[][]> byServiceType = new TreeMap<>(); // type -> {orders, cents}
+
+    private DailyPrefixSums(LocalDate first, LocalDate last) {
+        this.first = first;
+        this.last = last;
+        int slots = (int) (last.toEpochDay() - first.toEpochDay()) + 2;
+        orders = new long[slots];
+        completed = new long[slots];
+        cents = new long[slots];
+        ratingSum = new long[slots];
+        ratingCount = new long[slots];
+    }
+
+    static DailyPrefixSums build(LocalDate first, LocalDate last,
+                                 List<OrderDailyRollup> rollups, List<ReviewDailyRating> ratings) {
+        DailyPrefixSums sums = new DailyPrefixSums(first, last);
+        // Per-day values go into slot day + 1, then each array is accumulated in place
+        for (OrderDailyRollup r : rollups) {
+            int slot = sums.slot(r.getRollupDate());
+            if (slot < 0) continue;
+            long revenue = Cents.fromDecimalRounded(r.getRevenue());
+            sums.orders[slot] += r.getOrderCount();
+            sums.completed[slot] += r.getCompletedCount();
+            sums.cents[slot] += revenue;
+            if (r.getServiceType() != null && !r.getServiceType().isEmpty()) {
+                long[][] type = sums.byServiceType.computeIfAbsent(r.getServiceType(),
+                        k -> new long[][]{new long[sums.orders.length], new long[sums.orders.length]});
+                type[0][slot] += r.getOrderCount();
+                type[1][slot] += revenue;
+            }
+        }
+        for (ReviewDailyRating r : ratings) {
+            int slot = sums.slot(r.getRatingDate());
+            if (slot < 0 || !ReviewDailyRating.OVERALL.equals(r.getDimension())) continue;
+            sums.ratingSum[slot] += r.getRatingSum();
+            sums.ratingCount[slot] += r.getRatingCount();
+        }
+        accumulate(sums.orders);
+        accumulate(sums.completed);
+        accumulate(sums.cents);
+        accumulate(sums.ratingSum);
+        accumulate(sums.ratingCount);
+        for (long[][] type : sums.byServiceType.values()) {
+            accumulate(type[0]);
+            accumulate(type[1]);
+        }
+        return sums;
+    }
+
+    LocalDate getFirst() { return first; }
+    LocalDate getLast() { return last; }
+
+    long orders(LocalDate from, LocalDate to) { return range(orders, from, to); }
+    long completed(LocalDate from, LocalDate to) { return range(completed, from, to); }
+    long cents(LocalDate from, LocalDate to) { return range(cents, from, to); }
+    long ratingSum(LocalDate from, LocalDate to) { return range(ratingSum, from, to); }
+    long ratingCount(LocalDate from, LocalDate to) { return range(ratingCount, from, to); }
+
+    // {orders, cents} per service type over the range, types without orders left out
+    Map<String, long[]> byServiceType(LocalDate from, LocalDate to) {
+        Map<String, long[]> totals = new LinkedHashMap<>();
+        byServiceType.forEach((type, sums) -> {
+            long typeOrders = range(sums[0], from, to);
+            if (typeOrders > 0) totals.put(type, new long[]{typeOrders, range(sums[1], from, to)});
+        });
+        return totals;
+    }
+
+    // Slot of a day's own value, or -1 outside the covered days
+    private int slot(LocalDate day) {
+        if (day.isBefore(first) || day.isAfter(last)) return -1;
+        return (int) (day.toEpochDay() - first.toEpochDay()) + 1;
+    }
+
+    // Sum over [from, to] clamped to the covered days
+    private long range(long[] prefix, LocalDate from, LocalDate to) {
+        LocalDate lo = from.isBefore(first) ? first : from;
+        LocalDate hi = to.isAfter(last) ? last : to;
+        if (hi.isBefore(lo)) return 0L;
+        return prefix[(int) (hi.toEpochDay() - first.toEpochDay()) + 1]
+                - prefix[(int) (lo.toEpochDay() - first.toEpochDay())];
+    }
+
+    private static void accumulate(long[] values) {
+        for (int i = 1; i < values.length; i++) values[i] += values[i - 1];
+    }
+}
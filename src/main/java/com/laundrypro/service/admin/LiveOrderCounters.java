@@ -0,0 +1,183 @@
+package com.laundrypro.service.admin;
+
+import com.laundrypro.money.Cents;
+import com.laundrypro.repository.CustomerRepository;
+import com.laundrypro.repository.OrdersRepository;
+import com.laundrypro.repository.StaffRepository;
+import com.laundrypro.repository.projection.OrderScalar;
+import com.laundrypro.service.event.OrderChangedEvent;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Clock;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.Date;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Stream;
+
+/**
+ * In-memory order count and revenue for today and the six days before it, kept in a
+ * seven-slot ring of daily buckets. Each bucket counts with {@link LongAdder}s, whose
+ * striped cells keep concurrent order writes from contending on one counter.
+ * <p>
+ * Committed order changes apply their before/after difference. A slot is reset the first
+ * time it is touched for a new day, so the ring rolls over at midnight in the configured
+ * zone. A periodic reconcile overwrites the ring (and the customer / staff totals) from
+ * the database, which bounds any drift from missed or racing updates to one interval.
+ * The reconcile assigns orders to days in the same zone, in Java, so it agrees with the
+ * live updates whatever zone the database server runs in.
+ */
+@Component
+public class LiveOrderCounters {
+
+    private static final Logger log = LoggerFactory.getLogger(LiveOrderCounters.class);
+
+    public static final int DAYS = 7;
+
+    private final OrdersRepository ordersRepository;
+    private final CustomerRepository customerRepository;
+    private final StaffRepository staffRepository;
+    private final TransactionTemplate reconcileTransaction;
+    private final Clock clock;
+    private final DayBucket[] ring = new DayBucket[DAYS];
+
+    private volatile boolean ready;
+    private volatile long totalCustomers;
+    private volatile long totalStaff;
+
+    public LiveOrderCounters(OrdersRepository ordersRepository,
+                             CustomerRepository customerRepository,
+                             StaffRepository staffRepository,
+                             PlatformTransactionManager transactionManager,
+                             @Value("${laundrypro.dashboard.zone:}") String zone) {
+        this.ordersRepository = ordersRepository;
+        this.customerRepository = customerRepository;
+        this.staffRepository = staffRepository;
+        this.reconcileTransaction = new TransactionTemplate(transactionManager);
+        this.reconcileTransaction.setReadOnly(true);
+        this.clock = Clock.system(zone == null || zone.isBlank() ? ZoneId.systemDefault() : ZoneId.of(zone));
+        for (int i = 0; i < DAYS; i++) ring[i] = new DayBucket();
+    }
+
+    // False until the first reconcile has loaded the ring from the database
+    public boolean isReady() {
+        return ready;
+    }
+
+    public LocalDate today() {
+        return LocalDate.now(clock);
+    }
+
+    public long getTotalCustomers() { return totalCustomers; }
+    public long getTotalStaff() { return totalStaff; }
+
+    public long orderCount(LocalDate day) {
+        DayBucket bucket = bucketFor(day);
+        return bucket == null ? 0L : bucket.orders.sum();
+    }
+
+    public long revenueCents(LocalDate day) {
+        DayBucket bucket = bucketFor(day);
+        return bucket == null ? 0L : bucket.cents.sum();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onOrderChanged(OrderChangedEvent event) {
+        apply(event.getBefore(), -1);
+        apply(event.getAfter(), 1);
+    }
+
+    @Scheduled(initialDelayString = "${laundrypro.dashboard.counters.initial-delay-ms:0}",
+               fixedDelayString = "${laundrypro.dashboard.counters.reconcile-ms:300000}")
+    public void reconcileQuietly() {
+        try {
+            reconcile();
+        } catch (RuntimeException e) {
+            log.warn("Live order counter reconcile failed", e);
+        }
+    }
+
+    /**
+     * Reloads the last seven days and the customer / staff totals from the database.
+     * Order changes that commit while the query runs may be overwritten; the next
+     * reconcile picks them up.
+     */
+    public void reconcile() {
+        LocalDate today = today();
+        LocalDate first = today.minusDays(DAYS - 1L);
+        ZoneId zone = clock.getZone();
+        Date start = Date.from(first.atStartOfDay(zone).toInstant());
+        Date end = Date.from(today.plusDays(1).atStartOfDay(zone).toInstant());
+
+        // A GROUP BY on the date would bucket by the database server's zone, not the ring's
+        long[] orders = new long[DAYS];
+        long[] cents = new long[DAYS];
+        reconcileTransaction.executeWithoutResult(status -> {
+            try (Stream<OrderScalar> scalars = ordersRepository.streamScalarsBetween(start, end)) {
+                scalars.forEach(o -> {
+                    long index = o.getDate().toInstant().atZone(zone).toLocalDate().toEpochDay() - first.toEpochDay();
+                    if (index < 0 || index >= DAYS) return;
+                    orders[(int) index]++;
+                    cents[(int) index] += Cents.fromDecimalRounded(o.getTotal());
+                });
+            }
+        });
+        long customers = customerRepository.count();
+        long staff = staffRepository.count();
+
+        for (int i = 0; i < DAYS; i++) {
+            LocalDate day = first.plusDays(i);
+            slot(day).set(day, orders[i], cents[i]);
+        }
+        totalCustomers = customers;
+        totalStaff = staff;
+        ready = true;
+    }
+
+    private void apply(OrderChangedEvent.Snapshot snapshot, int sign) {
+        if (snapshot == null || snapshot.getDate() == null) return;
+        LocalDate day = snapshot.getDate().toInstant().atZone(clock.getZone()).toLocalDate();
+        DayBucket bucket = bucketFor(day);
+        if (bucket == null) return; // outside the seven-day window
+        bucket.orders.add(sign);
+        bucket.cents.add(sign * Cents.fromDecimalRounded(snapshot.getTotal()));
+    }
+
+    // The bucket of a day inside the window, rolled over to that day if it still holds an older one
+    private DayBucket bucketFor(LocalDate day) {
+        LocalDate today = today();
+        if (day.isAfter(today) || day.isBefore(today.minusDays(DAYS - 1L))) return null;
+        DayBucket bucket = slot(day);
+        if (!day.equals(bucket.day)) {
+            synchronized (bucket) {
+                if (!day.equals(bucket.day)) bucket.set(day, 0L, 0L);
+            }
+        }
+        return bucket;
+    }
+
+    private DayBucket slot(LocalDate day) {
+        return ring[(int) Math.floorMod(day.toEpochDay(), (long) DAYS)];
+    }
+
+    private static final class DayBucket {
+        private volatile LocalDate day;
+        private final LongAdder orders = new LongAdder();
+        private final LongAdder cents = new LongAdder();
+
+        private synchronized void set(LocalDate day, long orderCount, long revenueCents) {
+            orders.reset();
+            orders.add(orderCount);
+            cents.reset();
+            cents.add(revenueCents);
+            this.day = day;
+        }
+    }
+}
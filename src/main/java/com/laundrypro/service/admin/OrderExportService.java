@@ -0,0 +1,54 @@
+package com.laundrypro.service.admin;
+
+import com.laundrypro.repository.OrdersRepository;
+import com.laundrypro.repository.projection.OrderExportRow;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.time.ZoneId;
+import java.util.Date;
+import java.util.stream.Stream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Streams the orders of a period to an output stream as CSV or NDJSON, straight from a
+ * forward-only cursor. Rows are written as they are read, so heap use stays flat however
+ * many orders the period holds.
+ */
+@Service
+public class OrderExportService {
+
+    private static final int GZIP_BUFFER_SIZE = 64 * 1024;
+
+    private final OrdersRepository ordersRepository;
+
+    public OrderExportService(OrdersRepository ordersRepository) {
+        this.ordersRepository = ordersRepository;
+    }
+
+    // Writes the orders of the period and closes the stream; returns the number of rows written
+    @Transactional(readOnly = true)
+    public long export(ReportPeriod period, OrderExportFormat format, boolean gzip, OutputStream out) throws IOException {
+        ZoneId zone = ZoneId.systemDefault();
+        Date start = Date.from(period.getFrom().atStartOfDay(zone).toInstant());
+        Date end = Date.from(period.getTo().plusDays(1).atStartOfDay(zone).toInstant());
+
+        OutputStream target = gzip ? new GZIPOutputStream(out, GZIP_BUFFER_SIZE) : out;
+        try (OrderExportWriter writer = OrderExportWriter.create(format, target, zone);
+             Stream<OrderExportRow> rows = ordersRepository.streamExportRowsBetween(start, end)) {
+            rows.forEach(row -> {
+                try {
+                    writer.write(row);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+            return writer.getRows();
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+}
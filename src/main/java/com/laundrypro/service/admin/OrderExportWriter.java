@@ -0,0 +1,173 @@
+package com.laundrypro.service.admin;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.laundrypro.repository.projection.OrderExportRow;
+
+import java.io.*;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.Date;
+
+/**
+ * Writes export rows to a stream one at a time. Only a fixed-size write buffer is held, so
+ * memory does not depend on the number of rows. Closing the writer flushes it and closes
+ * the underlying stream.
+ */
+public abstract class OrderExportWriter implements Closeable {
+
+    static final String[] COLUMNS = {
+            "orderId", "date", "customerId", "customerName", "serviceType",
+            "subTotal", "tax", "total", "status", "paymentId", "staffId"
+    };
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+    private static final JsonFactory JSON_FACTORY = new JsonFactory();
+
+    protected final ZoneId zone;
+    private long rows;
+
+    protected OrderExportWriter(ZoneId zone) {
+        this.zone = zone;
+    }
+
+    public static OrderExportWriter create(OrderExportFormat format, OutputStream out, ZoneId zone) throws IOException {
+        switch (format) {
+            case NDJSON:
+                return new NdjsonWriter(out, zone);
+            case CSV:
+            default:
+                return new CsvWriter(out, zone);
+        }
+    }
+
+    public final void write(OrderExportRow row) throws IOException {
+        writeRow(row);
+        rows++;
+    }
+
+    public long getRows() { return rows; }
+
+    protected abstract void writeRow(OrderExportRow row) throws IOException;
+
+    private static final class CsvWriter extends OrderExportWriter {
+
+        private static final DateTimeFormatter DATE = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+
+        private final Writer out;
+
+        private CsvWriter(OutputStream stream, ZoneId zone) throws IOException {
+            super(zone);
+            this.out = new BufferedWriter(new OutputStreamWriter(stream, StandardCharsets.UTF_8), BUFFER_SIZE);
+            out.write(String.join(",", COLUMNS));
+            out.write("\r\n");
+        }
+
+        @Override
+        protected void writeRow(OrderExportRow r) throws IOException {
+            number(r.getOrderId());
+            out.write(',');
+            if (r.getDate() != null) out.write(DATE.format(r.getDate().toInstant().atZone(zone)));
+            out.write(',');
+            number(r.getCustomerId());
+            out.write(',');
+            text(r.getCustomerName());
+            out.write(',');
+            text(r.getServiceType());
+            out.write(',');
+            money(r.getSubTotal());
+            out.write(',');
+            money(r.getTax());
+            out.write(',');
+            money(r.getTotal());
+            out.write(',');
+            text(r.getStatus());
+            out.write(',');
+            number(r.getPaymentId());
+            out.write(',');
+            number(r.getStaffId());
+            out.write("\r\n");
+        }
+
+        private void number(Integer value) throws IOException {
+            if (value != null) out.write(Integer.toString(value));
+        }
+
+        private void money(BigDecimal value) throws IOException {
+            if (value != null) out.write(value.toPlainString());
+        }
+
+        // RFC 4180: quote fields holding a separator, quote or line break and double inner quotes
+        private void text(String value) throws IOException {
+            if (value == null) return;
+            boolean quote = false;
+            for (int i = 0; i < value.length() && !quote; i++) {
+                char c = value.charAt(i);
+                quote = c == ',' || c == '"' || c == '\n' || c == '\r';
+            }
+            if (!quote) {
+                out.write(value);
+                return;
+            }
+            out.write('"');
+            out.write(value.replace("\"", "\"\""));
+            out.write('"');
+        }
+
+        @Override
+        public void close() throws IOException {
+            out.close();
+        }
+    }
+
+    private static final class NdjsonWriter extends OrderExportWriter {
+
+        private static final DateTimeFormatter DATE = DateTimeFormatter.ISO_LOCAL_DATE_TIME;
+
+        private final JsonGenerator json;
+
+        private NdjsonWriter(OutputStream stream, ZoneId zone) throws IOException {
+            super(zone);
+            this.json = JSON_FACTORY.createGenerator(new BufferedOutputStream(stream, BUFFER_SIZE));
+            // Each object on its own line, with no separator between root values
+            this.json.setRootValueSeparator(null);
+        }
+
+        @Override
+        protected void writeRow(OrderExportRow r) throws IOException {
+            json.writeStartObject();
+            number("orderId", r.getOrderId());
+            Date date = r.getDate();
+            if (date == null) json.writeNullField("date");
+            else json.writeStringField("date", DATE.format(date.toInstant().atZone(zone)));
+            number("customerId", r.getCustomerId());
+            json.writeStringField("customerName", r.getCustomerName());
+            json.writeStringField("serviceType", r.getServiceType());
+            money("subTotal", r.getSubTotal());
+            money("tax", r.getTax());
+            money("total", r.getTotal());
+            json.writeStringField("status", r.getStatus());
+            number("paymentId", r.getPaymentId());
+            number("staffId", r.getStaffId());
+            json.writeEndObject();
+            json.writeRaw('\n');
+        }
+
+        private void number(String field, Integer value) throws IOException {
+            if (value == null) json.writeNullField(field);
+            else json.writeNumberField(field, value);
+        }
+
+        private void money(String field, BigDecimal value) throws IOException {
+            if (value == null) json.writeNullField(field);
+            else json.writeNumberField(field, value);
+        }
+
+        @Override
+        public void close() throws IOException {
+            json.close();
+        }
+    }
+}
@@ -0,0 +1,245 @@
+package com.laundrypro.service.admin;
+
+import com.laundrypro.money.Cents;
+import com.laundrypro.repository.OrderDailyRollupRepository;
+import com.laundrypro.repository.OrdersRepository;
+import com.laundrypro.repository.ReviewDailyRatingRepository;
+import com.laundrypro.service.CustomerSketchService;
+import com.laundrypro.service.OrderRollupService;
+import com.laundrypro.service.ReviewRatingService;
+import com.laundrypro.service.event.OrderChangedEvent;
+import com.laundrypro.sketch.HyperLogLog;
+import com.laundrypro.web.admin.dto.PeriodComparison;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Compares two periods on revenue, completed orders, customers, service mix and rating.
+ * <p>
+ * Sums come from an in-memory prefix index over the daily order rollups and rating
+ * aggregates, so any period costs a few array lookups. The index is rebuilt once per TTL
+ * (and at the date rollover), not per order change: on a busy system an order lands between
+ * almost every two comparisons, so answers may lag by up to the TTL. Distinct customers are merged from the daily HyperLogLog sketches,
+ * with the sketches of whole past months cached so only the partial edge months and the
+ * current month are read per request.
+ */
+@Service
+public class PeriodComparisonService {
+
+    private final OrderDailyRollupRepository rollupRepository;
+    private final ReviewDailyRatingRepository ratingRepository;
+    private final OrdersRepository ordersRepository;
+    private final CustomerSketchService customerSketchService;
+    private final long indexTtlMillis;
+    private final long monthSketchTtlMillis;
+
+    private final Object indexLock = new Object();
+    private volatile DailyPrefixSums index;
+    private volatile long indexBuiltAt;
+
+    private final Map<YearMonth, HyperLogLog> monthSketches = new ConcurrentHashMap<>();
+    private volatile long monthSketchesClearedAt = System.currentTimeMillis();
+
+    public PeriodComparisonService(OrderDailyRollupRepository rollupRepository,
+                                   ReviewDailyRatingRepository ratingRepository,
+                                   OrdersRepository ordersRepository,
+                                   CustomerSketchService customerSketchService,
+                                   @Value("${laundrypro.analytics.compare.index-ttl-ms:60000}") long indexTtlMillis,
+                                   @Value("${laundrypro.analytics.compare.month-sketch-ttl-ms:3600000}") long monthSketchTtlMillis) {
+        this.rollupRepository = rollupRepository;
+        this.ratingRepository = ratingRepository;
+        this.ordersRepository = ordersRepository;
+        this.customerSketchService = customerSketchService;
+        this.indexTtlMillis = indexTtlMillis;
+        this.monthSketchTtlMillis = monthSketchTtlMillis;
+    }
+
+    // Compares the period against the baseline, or against the equally long period before it
+    @Transactional(readOnly = true)
+    public PeriodComparison compare(ReportPeriod period, ReportPeriod baseline) {
+        long started = System.nanoTime();
+        if (baseline == null) baseline = period.preceding();
+        DailyPrefixSums sums = currentIndex();
+
+        PeriodComparison comparison = new PeriodComparison();
+        comparison.setPeriod(metrics(sums, period));
+        comparison.setBaseline(metrics(sums, baseline));
+        comparison.setDelta(delta(comparison.getPeriod(), comparison.getBaseline()));
+        comparison.setElapsedMicros((System.nanoTime() - started) / 1_000);
+        return comparison;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onOrderChanged(OrderChangedEvent event) {
+        // A backdated order changes the customers of a month that may already be cached
+        forgetMonth(event.getBefore());
+        forgetMonth(event.getAfter());
+    }
+
+    private DailyPrefixSums currentIndex() {
+        DailyPrefixSums current = index;
+        if (current != null && !isStale(current)) return current;
+        synchronized (indexLock) {
+            current = index;
+            if (current == null || isStale(current)) {
+                current = buildIndex();
+                index = current;
+                indexBuiltAt = System.currentTimeMillis();
+            }
+            return current;
+        }
+    }
+
+    private boolean isStale(DailyPrefixSums current) {
+        return System.currentTimeMillis() - indexBuiltAt >= indexTtlMillis
+                || current.getLast().isBefore(LocalDate.now());
+    }
+
+    private DailyPrefixSums buildIndex() {
+        LocalDate today = LocalDate.now();
+        LocalDate earliest = OrderRollupService.dayOf(ordersRepository.findEarliestOrderDate());
+        LocalDate latest = OrderRollupService.dayOf(ordersRepository.findLatestOrderDate());
+        LocalDate first = earliest == null || earliest.isAfter(today) ? today : earliest;
+        LocalDate last = latest == null || latest.isBefore(today) ? today : latest;
+        return DailyPrefixSums.build(first, last,
+                rollupRepository.findByRollupDateBetweenOrderByRollupDateAsc(first, last),
+                ratingRepository.findByRatingDateBetweenOrderByRatingDateAsc(first, last));
+    }
+
+    private PeriodComparison.PeriodMetrics metrics(DailyPrefixSums sums, ReportPeriod period) {
+        LocalDate from = period.getFrom();
+        LocalDate to = period.getTo();
+        PeriodComparison.PeriodMetrics metrics = new PeriodComparison.PeriodMetrics();
+        metrics.setFrom(from);
+        metrics.setTo(to);
+        metrics.setDays(period.getDays());
+        metrics.setRevenue(Cents.toDecimal(sums.cents(from, to)));
+        metrics.setOrderCount(sums.orders(from, to));
+        metrics.setCompletedOrders(sums.completed(from, to));
+        metrics.setDistinctCustomers(distinctCustomers(sums, from, to));
+        long ratingCount = sums.ratingCount(from, to);
+        metrics.setAverageRating(ReviewRatingService.average(sums.ratingSum(from, to), ratingCount));
+        metrics.setRatingCount(ratingCount);
+
+        Map<String, long[]> byType = sums.byServiceType(from, to);
+        long typedOrders = byType.values().stream().mapToLong(t -> t[0]).sum();
+        List<PeriodComparison.ServiceShare> mix = new ArrayList<>(byType.size());
+        byType.forEach((type, t) -> mix.add(new PeriodComparison.ServiceShare(
+                type, t[0], Cents.toDecimal(t[1]), percent(t[0], typedOrders))));
+        metrics.setServiceMix(mix);
+        return metrics;
+    }
+
+    private static PeriodComparison.Delta delta(PeriodComparison.PeriodMetrics current,
+                                                PeriodComparison.PeriodMetrics baseline) {
+        PeriodComparison.Delta delta = new PeriodComparison.Delta();
+        delta.setRevenue(change(baseline.getRevenue(), current.getRevenue()));
+        delta.setOrderCount(change(baseline.getOrderCount(), current.getOrderCount()));
+        delta.setCompletedOrders(change(baseline.getCompletedOrders(), current.getCompletedOrders()));
+        delta.setDistinctCustomers(change(baseline.getDistinctCustomers(), current.getDistinctCustomers()));
+        delta.setAverageRating(current.getAverageRating() - baseline.getAverageRating());
+
+        // Every service type seen in either period; one missing from a period counts as zero there
+        Map<String, PeriodComparison.ServiceShare> before = new HashMap<>();
+        baseline.getServiceMix().forEach(s -> before.put(s.getServiceType(), s));
+        Map<String, PeriodComparison.ServiceShare> after = new HashMap<>();
+        current.getServiceMix().forEach(s -> after.put(s.getServiceType(), s));
+        Set<String> types = new TreeSet<>(before.keySet());
+        types.addAll(after.keySet());
+
+        PeriodComparison.ServiceShare none = new PeriodComparison.ServiceShare(null, 0, BigDecimal.ZERO, 0.0);
+        List<PeriodComparison.ServiceShare> mix = new ArrayList<>(types.size());
+        for (String type : types) {
+            PeriodComparison.ServiceShare b = before.getOrDefault(type, none);
+            PeriodComparison.ServiceShare a = after.getOrDefault(type, none);
+            mix.add(new PeriodComparison.ServiceShare(type, a.getOrderCount() - b.getOrderCount(),
+                    a.getRevenue().subtract(b.getRevenue()), a.getShare() - b.getShare()));
+        }
+        delta.setServiceMix(mix);
+        return delta;
+    }
+
+    private long distinctCustomers(DailyPrefixSums sums, LocalDate from, LocalDate to) {
+        // No orders exist outside the index's days, so the months beyond them are not walked
+        if (from.isBefore(sums.getFirst())) from = sums.getFirst();
+        if (to.isAfter(sums.getLast())) to = sums.getLast();
+        if (to.isBefore(from)) return 0L;
+        expireMonthSketches();
+        YearMonth currentMonth = YearMonth.now();
+        HyperLogLog union = new HyperLogLog();
+
+        // Whole past months come from the cache, loaded in one read for the ones missing
+        List<YearMonth> missing = new ArrayList<>();
+        for (YearMonth m = YearMonth.from(from); !m.atDay(1).isAfter(to); m = m.plusMonths(1)) {
+            if (isCacheable(m, from, to, currentMonth) && !monthSketches.containsKey(m)) missing.add(m);
+        }
+        if (!missing.isEmpty()) {
+            YearMonth firstMissing = missing.get(0);
+            YearMonth lastMissing = missing.get(missing.size() - 1);
+            Map<YearMonth, HyperLogLog> loaded =
+                    customerSketchService.mergeByMonth(firstMissing.atDay(1), lastMissing.atEndOfMonth());
+            for (YearMonth m = firstMissing; !m.isAfter(lastMissing); m = m.plusMonths(1)) {
+                // Months without orders are cached as empty sketches so they are not read again
+                monthSketches.put(m, loaded.getOrDefault(m, new HyperLogLog()));
+            }
+        }
+
+        for (YearMonth m = YearMonth.from(from); !m.atDay(1).isAfter(to); m = m.plusMonths(1)) {
+            HyperLogLog cached = isCacheable(m, from, to, currentMonth) ? monthSketches.get(m) : null;
+            if (cached != null) {
+                union.merge(cached);
+            } else {
+                LocalDate start = m.atDay(1).isBefore(from) ? from : m.atDay(1);
+                LocalDate end = m.atEndOfMonth().isAfter(to) ? to : m.atEndOfMonth();
+                union.merge(customerSketchService.merge(start, end));
+            }
+        }
+        return union.estimate();
+    }
+
+    // A month fully inside the range that can no longer gain orders in the normal course
+    private static boolean isCacheable(YearMonth month, LocalDate from, LocalDate to, YearMonth currentMonth) {
+        return month.isBefore(currentMonth)
+                && !month.atDay(1).isBefore(from)
+                && !month.atEndOfMonth().isAfter(to);
+    }
+
+    private void forgetMonth(OrderChangedEvent.Snapshot snapshot) {
+        LocalDate day = snapshot == null ? null : OrderRollupService.dayOf(snapshot.getDate());
+        if (day != null) monthSketches.remove(YearMonth.from(day));
+    }
+
+    // Sketch rebuilds do not publish events, so cached months are also dropped periodically
+    private void expireMonthSketches() {
+        long now = System.currentTimeMillis();
+        if (now - monthSketchesClearedAt >= monthSketchTtlMillis) {
+            monthSketches.clear();
+            monthSketchesClearedAt = now;
+        }
+    }
+
+    private static PeriodComparison.Change change(BigDecimal baseline, BigDecimal current) {
+        Double percent = baseline.signum() == 0 ? null : current.subtract(baseline)
+                .divide(baseline, 4, RoundingMode.HALF_UP)
+                .multiply(BigDecimal.valueOf(100))
+                .doubleValue();
+        return new PeriodComparison.Change(current.subtract(baseline), percent);
+    }
+
+    private static PeriodComparison.Change change(long baseline, long current) {
+        return change(BigDecimal.valueOf(baseline), BigDecimal.valueOf(current));
+    }
+
+    private static double percent(long part, long whole) {
+        return whole == 0 ? 0.0 : part * 100.0 / whole;
+    }
+}
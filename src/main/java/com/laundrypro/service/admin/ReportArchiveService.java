@@ -0,0 +1,166 @@
+package com.laundrypro.service.admin;
+
+import com.laundrypro.archive.OrderColumnReader;
+import com.laundrypro.archive.OrderColumnWriter;
+import com.laundrypro.model.Report;
+import com.laundrypro.money.Cents;
+import com.laundrypro.repository.OrdersRepository;
+import com.laundrypro.repository.ReportRepository;
+import com.laundrypro.repository.projection.OrderScalar;
+import com.laundrypro.web.admin.dto.ArchivedPeriodSummary;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.*;
+import java.util.stream.Stream;
+
+/**
+ * Keeps the order facts of each saved report's period in a columnar file on local disk
+ * (see {@code OrderColumnFormat}) and answers drill-down questions about archived periods
+ * from a memory mapping of that file, without querying the database.
+ */
+@Service
+public class ReportArchiveService {
+
+    private final OrdersRepository ordersRepository;
+    private final ReportRepository reportRepository;
+    private final Path directory;
+
+    public ReportArchiveService(OrdersRepository ordersRepository,
+                                ReportRepository reportRepository,
+                                @Value("${laundrypro.reports.archive-dir:report-archive}") String directory) {
+        this.ordersRepository = ordersRepository;
+        this.reportRepository = reportRepository;
+        this.directory = Paths.get(directory);
+    }
+
+    // Writes (or rewrites) the archive of a report's period from Orders; returns the file size
+    @Transactional(readOnly = true)
+    public long archive(Report report) {
+        ReportPeriod period = ReportPeriod.of(report);
+        ZoneId zone = ZoneId.systemDefault();
+        Date startDate = Date.from(period.getFrom().atStartOfDay(zone).toInstant());
+        Date endDate = Date.from(period.getTo().plusDays(1).atStartOfDay(zone).toInstant());
+
+        OrderColumnWriter writer = new OrderColumnWriter(period.getFrom(), period.getTo());
+        try (Stream<OrderScalar> orders = ordersRepository.streamScalarsBetween(startDate, endDate)) {
+            orders.forEach(o -> writer.add(o.getDate(), o.getCustomerId(), o.getServiceType(),
+                    Cents.fromDecimalRounded(o.getTotal()), o.getStatus()));
+        }
+        try {
+            return writer.writeTo(pathFor(report.getReportId()));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not write archive of report " + report.getReportId(), e);
+        }
+    }
+
+    // Archives a report saved before archiving existed
+    @Transactional(readOnly = true)
+    public long archive(Integer reportId) {
+        Report report = reportRepository.findById(reportId)
+                .orElseThrow(() -> new NoSuchElementException("Report not found with id: " + reportId));
+        return archive(report);
+    }
+
+    /**
+     * Aggregates the archived orders of [from, to] (either may be null for the period bound)
+     * by day, service type and status. Reads only the archive file.
+     */
+    public ArchivedPeriodSummary summarize(Integer reportId, LocalDate from, LocalDate to) {
+        OrderColumnReader reader;
+        try {
+            reader = OrderColumnReader.open(pathFor(reportId));
+        } catch (NoSuchFileException e) {
+            throw new NoSuchElementException("No archive for report " + reportId);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not read archive of report " + reportId, e);
+        }
+        LocalDate first = from == null || from.isBefore(reader.getPeriodStart()) ? reader.getPeriodStart() : from;
+        LocalDate last = to == null || to.isAfter(reader.getPeriodEnd()) ? reader.getPeriodEnd() : to;
+        if (last.isBefore(first)) {
+            throw new IllegalArgumentException("'to' must not be before 'from'");
+        }
+
+        ZoneId zone = ZoneId.systemDefault();
+        long fromSecond = first.atStartOfDay(zone).toEpochSecond();
+        long toSecond = last.plusDays(1).atStartOfDay(zone).toEpochSecond();
+        int days = (int) (last.toEpochDay() - first.toEpochDay()) + 1;
+        long[] dayOrders = new long[days];
+        long[] dayCents = new long[days];
+        long[] typeOrders = new long[reader.getServiceTypes().size()];
+        long[] typeCents = new long[typeOrders.length];
+        long[] statusOrders = new long[reader.getStatuses().size()];
+        long[] statusCents = new long[statusOrders.length];
+        BitSet customers = new BitSet();
+        // Rows arrive in date order, so the day index only moves forward
+        long[] day = {0, first.plusDays(1).atStartOfDay(zone).toEpochSecond()}; // index, end of that day
+
+        reader.scan((second, customerId, serviceType, cents, status) -> {
+            if (second < fromSecond || second >= toSecond) return;
+            while (second >= day[1]) {
+                day[0]++;
+                day[1] = first.plusDays(day[0] + 1).atStartOfDay(zone).toEpochSecond();
+            }
+            int d = (int) day[0];
+            dayOrders[d]++;
+            dayCents[d] += cents;
+            typeOrders[serviceType]++;
+            typeCents[serviceType] += cents;
+            statusOrders[status]++;
+            statusCents[status] += cents;
+            if (customerId != OrderColumnReader.NO_CUSTOMER) customers.set(customerId);
+        });
+
+        ArchivedPeriodSummary summary = new ArchivedPeriodSummary();
+        summary.setReportId(reportId);
+        summary.setPeriodStart(reader.getPeriodStart());
+        summary.setPeriodEnd(reader.getPeriodEnd());
+        summary.setFrom(first);
+        summary.setTo(last);
+        List<ArchivedPeriodSummary.Bucket> byDay = new ArrayList<>(days);
+        long orders = 0;
+        long cents = 0;
+        for (int i = 0; i < days; i++) {
+            byDay.add(new ArchivedPeriodSummary.Bucket(first.plusDays(i).toString(), dayOrders[i], Cents.toDecimal(dayCents[i])));
+            orders += dayOrders[i];
+            cents += dayCents[i];
+        }
+        summary.setByDay(byDay);
+        summary.setByServiceType(buckets(reader.getServiceTypes(), typeOrders, typeCents));
+        summary.setByStatus(buckets(reader.getStatuses(), statusOrders, statusCents));
+        summary.setOrderCount(orders);
+        summary.setRevenue(Cents.toDecimal(cents));
+        summary.setDistinctCustomers(customers.cardinality());
+        return summary;
+    }
+
+    public boolean delete(Integer reportId) {
+        try {
+            return Files.deleteIfExists(pathFor(reportId));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not delete archive of report " + reportId, e);
+        }
+    }
+
+    Path pathFor(Integer reportId) {
+        return directory.resolve("report-" + reportId + ".lpoc");
+    }
+
+    private static List<ArchivedPeriodSummary.Bucket> buckets(List<String> keys, long[] orders, long[] cents) {
+        List<ArchivedPeriodSummary.Bucket> buckets = new ArrayList<>();
+        for (int i = 0; i < keys.size(); i++) {
+            if (orders[i] > 0) buckets.add(new ArchivedPeriodSummary.Bucket(keys.get(i), orders[i], Cents.toDecimal(cents[i])));
+        }
+        buckets.sort(Comparator.comparingLong(ArchivedPeriodSummary.Bucket::getOrderCount).reversed());
+        return buckets;
+    }
+}
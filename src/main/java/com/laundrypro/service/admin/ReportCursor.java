@@ -0,0 +1,44 @@
+package com.laundrypro.service.admin;
+
+import com.laundrypro.model.Report;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+
+/**
+ * Position in the report history: the (reportDate, reportId) of the last report on a page.
+ * Handed to clients as an opaque URL-safe token.
+ */
+final class ReportCursor {
+
+    private final LocalDateTime reportDate;
+    private final Integer reportId;
+
+    private ReportCursor(LocalDateTime reportDate, Integer reportId) {
+        this.reportDate = reportDate;
+        this.reportId = reportId;
+    }
+
+    static ReportCursor after(Report report) {
+        return new ReportCursor(report.getReportDate(), report.getReportId());
+    }
+
+    static ReportCursor decode(String token) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            int sep = raw.indexOf('|');
+            return new ReportCursor(LocalDateTime.parse(raw.substring(0, sep)), Integer.valueOf(raw.substring(sep + 1)));
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("Invalid cursor");
+        }
+    }
+
+    String encode() {
+        String raw = reportDate + "|" + reportId;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    LocalDateTime getReportDate() { return reportDate; }
+    Integer getReportId() { return reportId; }
+}
@@ -0,0 +1,60 @@
+package com.laundrypro.service.admin;
+
+import java.time.LocalDateTime;
+
+/**
+ * A report generation request as tracked by {@link ReportJobService}. Fields are written by
+ * the worker running the job and read by status requests, hence volatile.
+ */
+public class ReportJob {
+
+    public enum Status { QUEUED, RUNNING, DONE, FAILED }
+
+    private final String jobId;
+    private final String timeRange;
+    private final String generatedBy;
+    private final LocalDateTime submittedAt;
+    private volatile Status status = Status.QUEUED;
+    private volatile LocalDateTime startedAt;
+    private volatile LocalDateTime finishedAt;
+    private volatile Integer reportId;
+    private volatile String error;
+
+    ReportJob(String jobId, String timeRange, String generatedBy) {
+        this.jobId = jobId;
+        this.timeRange = timeRange;
+        this.generatedBy = generatedBy;
+        this.submittedAt = LocalDateTime.now();
+    }
+
+    void started() {
+        startedAt = LocalDateTime.now();
+        status = Status.RUNNING;
+    }
+
+    void succeeded(Integer reportId) {
+        this.reportId = reportId;
+        finishedAt = LocalDateTime.now();
+        status = Status.DONE;
+    }
+
+    void failed(String error) {
+        this.error = error;
+        finishedAt = LocalDateTime.now();
+        status = Status.FAILED;
+    }
+
+    public boolean isFinished() {
+        return status == Status.DONE || status == Status.FAILED;
+    }
+
+    public String getJobId() { return jobId; }
+    public String getTimeRange() { return timeRange; }
+    public String getGeneratedBy() { return generatedBy; }
+    public LocalDateTime getSubmittedAt() { return submittedAt; }
+    public Status getStatus() { return status; }
+    public LocalDateTime getStartedAt() { return startedAt; }
+    public LocalDateTime getFinishedAt() { return finishedAt; }
+    public Integer getReportId() { return reportId; }
+    public String getError() { return error; }
+}
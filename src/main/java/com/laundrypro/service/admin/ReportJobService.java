@@ -0,0 +1,125 @@
+package com.laundrypro.service.admin;
+
+import com.laundrypro.model.Report;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Runs report generation off the request thread on a fixed worker pool fed by a bounded
+ * queue. A request for a time range that already has a queued or running job joins that
+ * job instead of computing the same report twice. Finished jobs stay queryable for a
+ * retention period and are then forgotten.
+ */
+@Service
+public class ReportJobService {
+
+    private static final Logger log = LoggerFactory.getLogger(ReportJobService.class);
+
+    private final ReportService reportService;
+    private final ReportArchiveService archiveService;
+    private final ThreadPoolExecutor workers;
+    private final long retentionMillis;
+    private final Map<String, ReportJob> jobs = new ConcurrentHashMap<>();
+    private final Map<String, ReportJob> inFlightByRange = new ConcurrentHashMap<>();
+
+    public ReportJobService(ReportService reportService,
+                            ReportArchiveService archiveService,
+                            @Value("${laundrypro.reports.workers:2}") int workerCount,
+                            @Value("${laundrypro.reports.queue-capacity:20}") int queueCapacity,
+                            @Value("${laundrypro.reports.job-retention-ms:3600000}") long retentionMillis) {
+        this.reportService = reportService;
+        this.archiveService = archiveService;
+        this.retentionMillis = retentionMillis;
+        AtomicInteger threadIds = new AtomicInteger();
+        this.workers = new ThreadPoolExecutor(workerCount, workerCount, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), r -> {
+                    Thread t = new Thread(r, "report-worker-" + threadIds.incrementAndGet());
+                    t.setDaemon(true);
+                    return t;
+                });
+    }
+
+    /**
+     * Queues a report for the time range, or returns the job already queued or running for
+     * it. Throws {@link RejectedExecutionException} when the queue is full.
+     */
+    public ReportJob submit(String timeRange, String generatedBy) {
+        if (!AnalyticsSnapshotService.TIME_RANGES.contains(timeRange)) {
+            throw new IllegalArgumentException("Unknown time range: " + timeRange);
+        }
+        pruneFinished();
+
+        ReportJob[] created = new ReportJob[1];
+        ReportJob job = inFlightByRange.computeIfAbsent(timeRange, range -> {
+            created[0] = new ReportJob(UUID.randomUUID().toString(), range, generatedBy);
+            return created[0];
+        });
+        if (created[0] == null) return job; // joined the job already in flight
+
+        jobs.put(job.getJobId(), job);
+        try {
+            workers.execute(() -> run(job));
+        } catch (RejectedExecutionException e) {
+            jobs.remove(job.getJobId());
+            inFlightByRange.remove(timeRange, job);
+            throw e;
+        }
+        return job;
+    }
+
+    public Optional<ReportJob> find(String jobId) {
+        return Optional.ofNullable(jobs.get(jobId));
+    }
+
+    public Map<String, Object> stats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("workers", workers.getMaximumPoolSize());
+        stats.put("active", workers.getActiveCount());
+        stats.put("queued", workers.getQueue().size());
+        stats.put("queueCapacity", workers.getQueue().size() + workers.getQueue().remainingCapacity());
+        stats.put("tracked", jobs.size());
+        return stats;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        workers.shutdownNow();
+    }
+
+    private void run(ReportJob job) {
+        job.started();
+        try {
+            Report report = reportService.saveReport(job.getTimeRange(), job.getGeneratedBy());
+            archive(report);
+            job.succeeded(report.getReportId());
+        } catch (RuntimeException e) {
+            log.warn("Report job {} for {} failed", job.getJobId(), job.getTimeRange(), e);
+            job.failed(e.getMessage());
+        } finally {
+            // Later requests for the range start a new job from here on
+            inFlightByRange.remove(job.getTimeRange(), job);
+        }
+    }
+
+    // The report stands without its archive; a failed archive can be rebuilt later
+    private void archive(Report report) {
+        try {
+            archiveService.archive(report);
+        } catch (RuntimeException e) {
+            log.warn("Could not archive the orders of report {}", report.getReportId(), e);
+        }
+    }
+
+    private void pruneFinished() {
+        LocalDateTime cutoff = LocalDateTime.now().minusNanos(retentionMillis * 1_000_000L);
+        jobs.values().removeIf(j -> j.isFinished() && j.getFinishedAt() != null && j.getFinishedAt().isBefore(cutoff));
+    }
+}
@@ -0,0 +1,53 @@
+package com.laundrypro.service.admin;
+
+import com.laundrypro.model.Report;
+
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+
+/**
+ * Inclusive range of order days covered by a report, an export or a comparison; at most
+ * {@link #MAX_DAYS} long.
+ */
+public final class ReportPeriod {
+
+    // Ten years; anything longer is a typo in a date, not a report
+    public static final long MAX_DAYS = 3_660;
+
+    private final LocalDate from;
+    private final LocalDate to;
+
+    public ReportPeriod(LocalDate from, LocalDate to) {
+        if (from == null || to == null) throw new IllegalArgumentException("Both from and to are required");
+        if (to.isBefore(from)) throw new IllegalArgumentException("'to' must not be before 'from'");
+        if (ChronoUnit.DAYS.between(from, to) >= MAX_DAYS) {
+            throw new IllegalArgumentException("A period may span at most " + MAX_DAYS + " days");
+        }
+        this.from = from;
+        this.to = to;
+    }
+
+    // The period a saved report summarised, ending on the day it was generated
+    public static ReportPeriod of(Report report) {
+        LocalDate end = report.getReportDate().toLocalDate();
+        return new ReportPeriod(ReportService.calculateStartDate(end, report.getTimeRange()), end);
+    }
+
+    // A fixed time range (week, month, quarter, year) ending on the given day
+    public static ReportPeriod ending(LocalDate end, String timeRange) {
+        return new ReportPeriod(ReportService.calculateStartDate(end, timeRange), end);
+    }
+
+    // The period of the same length that ends the day before this one starts
+    public ReportPeriod preceding() {
+        long days = getDays();
+        return new ReportPeriod(from.minusDays(days), from.minusDays(1));
+    }
+
+    public LocalDate getFrom() { return from; }
+    public LocalDate getTo() { return to; }
+
+    public long getDays() {
+        return ChronoUnit.DAYS.between(from, to) + 1;
+    }
+}
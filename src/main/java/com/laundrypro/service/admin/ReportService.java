@@ -4,10 +4,9 @@ import com.laundrypro.model.Report;
 import com.laundrypro.repository.CustomerRepository;
 import com.laundrypro.repository.OrdersRepository;
 import com.laundrypro.repository.ReportRepository;
+import com.laundrypro.repository.projection.StatusCount;
 import com.laundrypro.web.admin.dto.AnalyticsResponse;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageRequest;
-import org.springframework.data.domain.Pageable;
+import com.laundrypro.web.admin.dto.ReportPage;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -16,6 +15,7 @@ import java.time.LocalDate;
 import java.time.ZoneId;
 import java.util.Date;
 import java.util.List;
+import java.util.NoSuchElementException;
 
 @Service
 @Transactional
@@ -24,21 +24,28 @@ public class ReportService {
     private final ReportRepository reportRepository;
     private final OrdersRepository ordersRepository;
     private final CustomerRepository customerRepository;
-    private final AnalyticsService analyticsService;
+    private final AnalyticsCache analyticsCache;
+    private final ReportArchiveService archiveService;
 
     public ReportService(ReportRepository reportRepository,
                         OrdersRepository ordersRepository,
                         CustomerRepository customerRepository,
-                        AnalyticsService analyticsService) {
+                        AnalyticsCache analyticsCache,
+                        ReportArchiveService archiveService) {
         this.reportRepository = reportRepository;
         this.ordersRepository = ordersRepository;
         this.customerRepository = customerRepository;
-        this.analyticsService = analyticsService;
+        this.analyticsCache = analyticsCache;
+        this.archiveService = archiveService;
     }
 
     public Report saveReport(String timeRange, String generatedBy) {
-        // Get analytics data for the time range
-        AnalyticsResponse analytics = analyticsService.getAnalytics(timeRange);
+        // Get analytics data for the time range; shared with the dashboard but never stale
+        AnalyticsResponse analytics = analyticsCache.getCurrent(timeRange);
+        if (analytics.getIncompleteSections() != null && !analytics.getIncompleteSections().isEmpty()) {
+            // Never persist a report built from partial analytics
+            throw new IllegalStateException("Analytics incomplete: " + analytics.getIncompleteSections());
+        }
 
         // Calculate date range
         LocalDate endDate = LocalDate.now();
@@ -51,11 +58,13 @@ public class ReportService {
         Date startDateObj = Date.from(startDate.atStartOfDay(ZoneId.systemDefault()).toInstant());
         Date endDateObj = Date.from(endDate.plusDays(1).atStartOfDay(ZoneId.systemDefault()).toInstant());
 
-        long completedOrderCount = ordersRepository.findByDateBetween(startDateObj, endDateObj).stream()
-                .filter(o -> o.getStatus() != null &&
-                       (o.getStatus().toLowerCase().contains("complete") ||
-                        o.getStatus().toLowerCase().contains("delivered")))
-                .count();
+        // Grouped by status in the database; only one row per distinct status is returned
+        long completedOrderCount = ordersRepository.countByStatusBetween(startDateObj, endDateObj).stream()
+                .filter(c -> c.getStatus() != null &&
+                       (c.getStatus().toLowerCase().contains("complete") ||
+                        c.getStatus().toLowerCase().contains("delivered")))
+                .mapToLong(StatusCount::getOrderCount)
+                .sum();
 
         BigDecimal totalIncome = analytics.getSummaryStats().getTotalRevenue();
 
@@ -65,11 +74,53 @@ public class ReportService {
         return reportRepository.save(report);
     }
 
+    /**
+     * Resolves a period spec: a saved report's period, a fixed time range ending today, or an
+     * explicit inclusive from/to pair.
+     */
+    @Transactional(readOnly = true)
+    public ReportPeriod resolvePeriod(Integer reportId, String timeRange, LocalDate from, LocalDate to) {
+        if (reportId != null) {
+            Report report = reportRepository.findById(reportId)
+                    .orElseThrow(() -> new NoSuchElementException("Report not found with id: " + reportId));
+            return ReportPeriod.of(report);
+        }
+        if (from != null || to != null) {
+            return new ReportPeriod(from, to);
+        }
+        if (timeRange == null || !AnalyticsSnapshotService.TIME_RANGES.contains(timeRange)) {
+            throw new IllegalArgumentException("Give a reportId, a timeRange (week, month, quarter, year) or from/to");
+        }
+        return ReportPeriod.ending(LocalDate.now(), timeRange);
+    }
+
+    public static final int DEFAULT_PAGE_SIZE = 20;
+    public static final int MAX_PAGE_SIZE = 100;
+
+    /**
+     * One page of report history, newest first, continuing after {@code cursor} (null for the
+     * first page). Filters are optional; from/to bound the generation date, inclusive.
+     */
     @Transactional(readOnly = true)
-    public List<Report> getAllReports() {
-        Pageable pageable = PageRequest.of(0, 100);
-        Page<Report> page = reportRepository.findAllByOrderByReportDateDesc(pageable);
-        return page.getContent();
+    public ReportPage getReportPage(String timeRange, String generatedBy, LocalDate from, LocalDate to,
+                                    String cursor, int size) {
+        if (size < 1 || size > MAX_PAGE_SIZE) {
+            throw new IllegalArgumentException("size must be between 1 and " + MAX_PAGE_SIZE);
+        }
+        ReportCursor after = cursor == null || cursor.isBlank() ? null : ReportCursor.decode(cursor);
+
+        // One extra row tells whether another page follows
+        List<Report> rows = reportRepository.findPage(blankToNull(timeRange), blankToNull(generatedBy),
+                from == null ? null : from.atStartOfDay(),
+                to == null ? null : to.plusDays(1).atStartOfDay(),
+                after == null ? null : after.getReportDate(),
+                after == null ? null : after.getReportId(),
+                size + 1);
+        if (rows.size() <= size) {
+            return new ReportPage(rows, null);
+        }
+        List<Report> page = rows.subList(0, size);
+        return new ReportPage(page, ReportCursor.after(page.get(size - 1)).encode());
     }
 
     @Transactional(readOnly = true)
@@ -80,14 +131,20 @@ public class ReportService {
 
     public void deleteReport(Integer id) {
         reportRepository.deleteById(id);
+        archiveService.delete(id);
     }
 
+    // Newest reports of the time range, at most one page of MAX_PAGE_SIZE
     @Transactional(readOnly = true)
     public List<Report> getReportsByTimeRange(String timeRange) {
-        return reportRepository.findByTimeRange(timeRange);
+        return getReportPage(timeRange, null, null, null, null, MAX_PAGE_SIZE).getItems();
+    }
+
+    private static String blankToNull(String value) {
+        return value == null || value.isBlank() ? null : value.trim();
     }
 
-    private LocalDate calculateStartDate(LocalDate endDate, String timeRange) {
+    static LocalDate calculateStartDate(LocalDate endDate, String timeRange) {
         switch (timeRange) {
             case "week":
                 return endDate.minusDays(6);
@@ -0,0 +1,149 @@
+package com.laundrypro.service.admin;
+
+import com.laundrypro.money.Cents;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Single-pass bucketed aggregation of revenue (in cents) and order counts.
+ * <p>
+ * Bucket boundaries are precomputed as a sorted array of epoch millis. The first segment
+ * is the previous comparison period, an optional uncharted segment covers the part of the
+ * current period before the first chart bucket, and every chart bucket runs until the next
+ * boundary. Each {@link #add} call locates its segment with a binary search, so a whole
+ * response costs O(rows x log(buckets)) regardless of how many buckets are charted.
+ */
+public final class TimeSeriesAggregator {
+
+    private static final int UNCHARTED = -1;
+
+    private final long[] bounds;
+    private final int[] chartSlot;
+    private final long[] cents;
+    private final long[] counts;
+    private final List<String> labels;
+    private final ZoneId zone;
+
+    private TimeSeriesAggregator(ZoneId zone, long[] bounds, int[] chartSlot, List<String> labels) {
+        this.zone = zone;
+        this.bounds = bounds;
+        this.chartSlot = chartSlot;
+        this.labels = labels;
+        this.cents = new long[chartSlot.length];
+        this.counts = new long[chartSlot.length];
+    }
+
+    public static Builder builder(ZoneId zone, LocalDate previousStart, LocalDate currentStart) {
+        return new Builder(zone, previousStart, currentStart);
+    }
+
+    public void add(LocalDate day, long amountCents, long orderCount) {
+        add(day.atStartOfDay(zone).toInstant().toEpochMilli(), amountCents, orderCount);
+    }
+
+    public void add(long epochMillis, long amountCents, long orderCount) {
+        int segment = segmentOf(epochMillis);
+        if (segment < 0) return;
+        cents[segment] += amountCents;
+        counts[segment] += orderCount;
+    }
+
+    int segmentOf(long epochMillis) {
+        int idx = Arrays.binarySearch(bounds, epochMillis);
+        if (idx < 0) idx = -idx - 2; // insertion point - 1
+        return idx < 0 || idx >= chartSlot.length ? -1 : idx;
+    }
+
+    public List<String> getLabels() {
+        return labels;
+    }
+
+    public List<BigDecimal> getRevenueSeries() {
+        List<BigDecimal> out = new ArrayList<>(labels.size());
+        for (int i = 0; i < chartSlot.length; i++) {
+            if (chartSlot[i] != UNCHARTED) out.add(Cents.toDecimal(cents[i]));
+        }
+        return out;
+    }
+
+    public List<Long> getVolumeSeries() {
+        List<Long> out = new ArrayList<>(labels.size());
+        for (int i = 0; i < chartSlot.length; i++) {
+            if (chartSlot[i] != UNCHARTED) out.add(counts[i]);
+        }
+        return out;
+    }
+
+    public long getPreviousCents() { return cents[0]; }
+    public long getPreviousCount() { return counts[0]; }
+
+    public long getCurrentCents() {
+        long sum = 0;
+        for (int i = 1; i < cents.length; i++) sum += cents[i];
+        return sum;
+    }
+
+    public long getCurrentCount() {
+        long sum = 0;
+        for (int i = 1; i < counts.length; i++) sum += counts[i];
+        return sum;
+    }
+
+    public static final class Builder {
+        private final ZoneId zone;
+        private final LocalDate previousStart;
+        private final LocalDate currentStart;
+        private final List<LocalDate> starts = new ArrayList<>();
+        private final List<String> labels = new ArrayList<>();
+
+        private Builder(ZoneId zone, LocalDate previousStart, LocalDate currentStart) {
+            this.zone = zone;
+            this.previousStart = previousStart;
+            this.currentStart = currentStart;
+        }
+
+        // Chart buckets must be added in ascending order and may not start before the current period
+        public Builder bucket(String label, LocalDate start) {
+            if (start.isBefore(currentStart)) {
+                throw new IllegalArgumentException("Bucket " + label + " starts before the current period");
+            }
+            if (!starts.isEmpty() && !start.isAfter(starts.get(starts.size() - 1))) {
+                throw new IllegalArgumentException("Buckets must be added in ascending order");
+            }
+            starts.add(start);
+            labels.add(label);
+            return this;
+        }
+
+        public TimeSeriesAggregator build(LocalDate endInclusive) {
+            List<Long> boundList = new ArrayList<>();
+            List<Integer> slotList = new ArrayList<>();
+
+            boundList.add(millis(previousStart));
+            slotList.add(UNCHARTED);
+            if (starts.isEmpty() || starts.get(0).isAfter(currentStart)) {
+                boundList.add(millis(currentStart));
+                slotList.add(UNCHARTED);
+            }
+            for (int i = 0; i < starts.size(); i++) {
+                boundList.add(millis(starts.get(i)));
+                slotList.add(i);
+            }
+            boundList.add(millis(endInclusive.plusDays(1)));
+
+            long[] bounds = boundList.stream().mapToLong(Long::longValue).toArray();
+            int[] slots = slotList.stream().mapToInt(Integer::intValue).toArray();
+            return new TimeSeriesAggregator(zone, bounds, slots, Collections.unmodifiableList(new ArrayList<>(labels)));
+        }
+
+        private long millis(LocalDate day) {
+            return day.atStartOfDay(zone).toInstant().toEpochMilli();
+        }
+    }
+}
@@ -0,0 +1,48 @@
+package com.laundrypro.service.event;
+
+import com.laundrypro.DTO.NotificationDTO;
+
+/**
+ * Published when a notification is created, read or deleted, or when a recipient reads or
+ * deletes in bulk. {@code unreadDelta} is the change to the recipient's unread count, so
+ * counters can follow without counting again; after ALL_READ and ALL_DELETED the count is
+ * zero whatever the delta. Creations also carry the notification as sent to clients, for
+ * push channels.
+ */
+public class NotificationChangedEvent {
+
+    public enum Audience { STAFF, CUSTOMER, ALL_STAFF }
+
+    public enum Type { CREATED, READ, DELETED, BULK_READ, BULK_DELETED, ALL_READ, ALL_DELETED }
+
+    private final Long notificationId;
+    private final Type type;
+    private final Audience audience;
+    private final Long recipientId;
+    private final long unreadDelta;
+    private final NotificationDTO notification;
+
+    public NotificationChangedEvent(Long notificationId, Type type, Audience audience, Long recipientId, long unreadDelta) {
+        this(notificationId, type, audience, recipientId, unreadDelta, null);
+    }
+
+    public NotificationChangedEvent(Long notificationId, Type type, Audience audience, Long recipientId,
+                                    long unreadDelta, NotificationDTO notification) {
+        this.notificationId = notificationId;
+        this.type = type;
+        this.audience = audience;
+        this.recipientId = recipientId;
+        this.unreadDelta = unreadDelta;
+        this.notification = notification;
+    }
+
+    // Null for bulk changes
+    public Long getNotificationId() { return notificationId; }
+    public Type getType() { return type; }
+    public Audience getAudience() { return audience; }
+    // The staff member or customer concerned; for ALL_STAFF creations null
+    public Long getRecipientId() { return recipientId; }
+    public long getUnreadDelta() { return unreadDelta; }
+    // Only for CREATED
+    public NotificationDTO getNotification() { return notification; }
+}
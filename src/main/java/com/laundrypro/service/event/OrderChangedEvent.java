@@ -0,0 +1,76 @@
+package com.laundrypro.service.event;
+
+import com.laundrypro.model.Orders;
+
+import java.math.BigDecimal;
+import java.util.Date;
+
+/**
+ * Published whenever an order is created, edited, moved through its workflow or deleted.
+ * Listeners that maintain derived state (caches, counters, push channels) react to it.
+ * Creations, edits and deletions carry the order's counted fields before and after the
+ * change, so counters can apply the difference without reading the order back.
+ */
+public class OrderChangedEvent {
+
+    public enum Type { CREATED, UPDATED, STATUS_CHANGED, DELETED }
+
+    private final Integer orderId;
+    private final Type type;
+    private final Snapshot before;
+    private final Snapshot after;
+
+    public OrderChangedEvent(Integer orderId, Type type) {
+        this(orderId, type, null, null);
+    }
+
+    public OrderChangedEvent(Integer orderId, Type type, Snapshot before, Snapshot after) {
+        this.orderId = orderId;
+        this.type = type;
+        this.before = before;
+        this.after = after;
+    }
+
+    public Integer getOrderId() { return orderId; }
+    public Type getType() { return type; }
+    // Null for creations and for changes that did not capture the previous state
+    public Snapshot getBefore() { return before; }
+    // Null for deletions and for changes that did not capture the new state
+    public Snapshot getAfter() { return after; }
+
+    /** The parts of an order that feed counters and rollups: when, for whom, what and how much. */
+    public static final class Snapshot {
+        private final Date date;
+        private final BigDecimal total;
+        private final BigDecimal tax;
+        private final Integer customerId;
+        private final String serviceType;
+        private final String status;
+
+        public Snapshot(Date date, BigDecimal total) {
+            this(date, total, null, null, null, null);
+        }
+
+        public Snapshot(Date date, BigDecimal total, BigDecimal tax, Integer customerId,
+                        String serviceType, String status) {
+            this.date = date;
+            this.total = total;
+            this.tax = tax;
+            this.customerId = customerId;
+            this.serviceType = serviceType;
+            this.status = status;
+        }
+
+        public static Snapshot of(Orders order) {
+            return new Snapshot(order.getDate() == null ? null : new Date(order.getDate().getTime()), order.getTotal(),
+                    order.getTax(), order.getCustomerId(), order.getServiceType(), order.getStatus());
+        }
+
+        public Date getDate() { return date; }
+        public BigDecimal getTotal() { return total; }
+        public BigDecimal getTax() { return tax; }
+        public Integer getCustomerId() { return customerId; }
+        public String getServiceType() { return serviceType; }
+        public String getStatus() { return status; }
+    }
+}
@@ -0,0 +1,39 @@
+package com.laundrypro.service.outbox;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.laundrypro.model.OutboxEvent;
+import com.laundrypro.service.NotificationService;
+import org.springframework.stereotype.Component;
+
+// New orders notify staff; status changes notify the order's customer
+@Component
+public class OrderNotificationConsumer implements OutboxConsumer {
+
+    private final NotificationService notificationService;
+
+    public OrderNotificationConsumer(NotificationService notificationService) {
+        this.notificationService = notificationService;
+    }
+
+    @Override
+    public String name() {
+        return "order-notifications";
+    }
+
+    @Override
+    public boolean handles(String eventType) {
+        return OutboxEvent.ORDER_CREATED.equals(eventType) || OutboxEvent.ORDER_STATUS_CHANGED.equals(eventType);
+    }
+
+    @Override
+    public void handle(OutboxEvent event, JsonNode payload) {
+        Integer customerId = payload.hasNonNull("customerId") ? payload.get("customerId").asInt() : null;
+        if (OutboxEvent.ORDER_CREATED.equals(event.getEventType())) {
+            notificationService.createOrderNotification(event.getAggregateId(), customerId,
+                    payload.path("customerName").asText(null));
+        } else {
+            notificationService.createOrderStatusNotificationForCustomer(event.getAggregateId(), customerId,
+                    payload.path("status").asText(null));
+        }
+    }
+}
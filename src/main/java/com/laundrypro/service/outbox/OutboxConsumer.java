@@ -0,0 +1,20 @@
+package com.laundrypro.service.outbox;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.laundrypro.model.OutboxEvent;
+
+/**
+ * Receives outbox events from {@link OutboxRelay}. Each consumer runs in its own
+ * transaction together with the record that it has handled the event, so a redelivered
+ * event is skipped by consumers that already committed it and retried for the rest.
+ * Register one by making it a bean.
+ */
+public interface OutboxConsumer {
+
+    // Stable name, stored with each delivery
+    String name();
+
+    boolean handles(String eventType);
+
+    void handle(OutboxEvent event, JsonNode payload);
+}
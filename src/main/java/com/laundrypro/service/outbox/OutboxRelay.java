@@ -0,0 +1,269 @@
+package com.laundrypro.service.outbox;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.laundrypro.model.OutboxEvent;
+import com.laundrypro.repository.OutboxEventRepository;
+import com.laundrypro.service.event.OrderChangedEvent;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.IntSupplier;
+
+/**
+ * Drains the outbox on a single background thread and hands each event to every
+ * {@link OutboxConsumer} that handles its type. Delivery is at least once: a batch is
+ * leased before it is dispatched, and events whose lease runs out (the node died) or whose
+ * consumers failed are picked up again, failures with exponential backoff until they run
+ * out of attempts. Consumers that already took an event skip it on redelivery.
+ * <p>
+ * The relay is woken right after order changes commit, and polls as a fallback for retries
+ * and for events appended on other nodes.
+ */
+@Service
+public class OutboxRelay {
+
+    private static final Logger log = LoggerFactory.getLogger(OutboxRelay.class);
+
+    private static final int MAX_ERROR_LENGTH = 500;
+    private static final long MAX_BACKOFF_MILLIS = 3_600_000L;
+
+    private final OutboxEventRepository repository;
+    private final List<OutboxConsumer> consumers;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate transaction;
+    private final boolean enabled;
+    private final int batchSize;
+    private final int maxAttempts;
+    private final Duration lease;
+    private final long retryBaseMillis;
+    private final int retentionDays;
+    private final ExecutorService worker;
+
+    private final AtomicBoolean draining = new AtomicBoolean();
+    private final AtomicBoolean pending = new AtomicBoolean();
+    private final AtomicLong delivered = new AtomicLong();
+    private final AtomicLong duplicatesSkipped = new AtomicLong();
+    private final AtomicLong consumerFailures = new AtomicLong();
+    private final AtomicLong retried = new AtomicLong();
+    private final AtomicLong deadLettered = new AtomicLong();
+    private final AtomicLong maxLagMillis = new AtomicLong();
+    private volatile long lastLagMillis;
+    private volatile long lastBatchMillis;
+    private volatile LocalDateTime lastDrainAt;
+
+    public OutboxRelay(OutboxEventRepository repository,
+                       List<OutboxConsumer> consumers,
+                       ObjectMapper objectMapper,
+                       PlatformTransactionManager transactionManager,
+                       @Value("${laundrypro.outbox.enabled:true}") boolean enabled,
+                       @Value("${laundrypro.outbox.batch-size:100}") int batchSize,
+                       @Value("${laundrypro.outbox.max-attempts:8}") int maxAttempts,
+                       @Value("${laundrypro.outbox.lease-ms:60000}") long leaseMillis,
+                       @Value("${laundrypro.outbox.retry-base-ms:5000}") long retryBaseMillis,
+                       @Value("${laundrypro.outbox.retention-days:7}") int retentionDays) {
+        this.repository = repository;
+        this.consumers = List.copyOf(consumers);
+        this.objectMapper = objectMapper;
+        this.transaction = new TransactionTemplate(transactionManager);
+        this.enabled = enabled;
+        // The batch's ids go into one IN list
+        this.batchSize = Math.max(1, Math.min(batchSize, 1000));
+        this.maxAttempts = Math.max(1, maxAttempts);
+        this.lease = Duration.ofMillis(leaseMillis);
+        this.retryBaseMillis = retryBaseMillis;
+        this.retentionDays = retentionDays;
+        this.worker = Executors.newSingleThreadExecutor(r -> {
+            Thread t = new Thread(r, "outbox-relay");
+            t.setDaemon(true);
+            return t;
+        });
+    }
+
+    // Order changes are what append events, so their commit is the moment to deliver
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onOrderChanged(OrderChangedEvent event) {
+        wakeUp();
+    }
+
+    @Scheduled(initialDelayString = "${laundrypro.outbox.poll-ms:5000}",
+               fixedDelayString = "${laundrypro.outbox.poll-ms:5000}")
+    public void poll() {
+        wakeUp();
+    }
+
+    // Starts a drain unless one is running; a running drain goes round once more instead
+    public void wakeUp() {
+        if (!enabled) return;
+        pending.set(true);
+        if (!draining.compareAndSet(false, true)) return;
+        try {
+            worker.execute(this::drain);
+        } catch (RejectedExecutionException e) {
+            draining.set(false);
+        }
+    }
+
+    @Scheduled(cron = "${laundrypro.outbox.cleanup-cron:0 45 3 * * *}")
+    public void purgeDelivered() {
+        LocalDateTime cutoff = LocalDateTime.now().minusDays(retentionDays);
+        try {
+            long purged = 0;
+            int rows;
+            do {
+                rows = inTransaction(() -> repository.purgeProcessed(cutoff, 1000));
+                purged += rows;
+            } while (rows == 1000);
+            do {
+                rows = inTransaction(() -> repository.purgeDeliveries(cutoff, 1000));
+            } while (rows == 1000);
+            log.info("Outbox cleanup removed {} delivered events", purged);
+        } catch (RuntimeException e) {
+            log.warn("Outbox cleanup failed", e);
+        }
+    }
+
+    public Map<String, Object> stats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("enabled", enabled);
+        stats.put("consumers", consumers.stream().map(OutboxConsumer::name).toList());
+        stats.put("draining", draining.get());
+        stats.put("pending", repository.countPending());
+        LocalDateTime oldest = repository.findOldestPendingCreatedAt();
+        // How far behind the relay is: the age of the oldest undelivered event
+        stats.put("oldestPendingAgeMs", oldest == null ? 0 : Duration.between(oldest, LocalDateTime.now()).toMillis());
+        stats.put("failed", repository.countByFailedAtIsNotNull());
+        stats.put("delivered", delivered.get());
+        stats.put("duplicatesSkipped", duplicatesSkipped.get());
+        stats.put("consumerFailures", consumerFailures.get());
+        stats.put("retried", retried.get());
+        stats.put("deadLettered", deadLettered.get());
+        stats.put("lastLagMs", lastLagMillis);
+        stats.put("maxLagMs", maxLagMillis.get());
+        stats.put("lastBatchMs", lastBatchMillis);
+        stats.put("lastDrainAt", lastDrainAt);
+        return stats;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        worker.shutdownNow();
+    }
+
+    private void drain() {
+        try {
+            while (pending.getAndSet(false)) {
+                while (drainBatch() == batchSize) {
+                    // full batch, more are likely due
+                }
+            }
+        } catch (RuntimeException e) {
+            log.warn("Outbox relay failed; retrying on the next poll", e);
+        } finally {
+            draining.set(false);
+            // A wake-up that came in after the last check would otherwise wait for the poll
+            if (pending.get()) wakeUp();
+        }
+    }
+
+    private int drainBatch() {
+        long started = System.nanoTime();
+        LocalDateTime now = LocalDateTime.now();
+        List<OutboxEvent> batch = transaction.execute(status -> {
+            List<Long> ids = repository.findDueIds(now, batchSize);
+            if (ids.isEmpty()) return List.<OutboxEvent>of();
+            repository.lease(ids, now.plus(lease));
+            return repository.findByEventIdInOrderByEventIdAsc(ids);
+        });
+        if (batch == null || batch.isEmpty()) return 0;
+        for (OutboxEvent event : batch) {
+            dispatch(event);
+        }
+        lastBatchMillis = (System.nanoTime() - started) / 1_000_000L;
+        lastDrainAt = now;
+        return batch.size();
+    }
+
+    private void dispatch(OutboxEvent event) {
+        JsonNode payload;
+        try {
+            payload = objectMapper.readTree(event.getPayload());
+        } catch (JsonProcessingException e) {
+            // Retrying cannot fix a payload that does not parse
+            deadLettered.incrementAndGet();
+            inTransaction(() -> repository.markFailed(event.getEventId(), LocalDateTime.now(), truncate(e.getMessage())));
+            return;
+        }
+
+        String error = null;
+        for (OutboxConsumer consumer : consumers) {
+            if (!consumer.handles(event.getEventType())) continue;
+            try {
+                Boolean handled = transaction.execute(status -> {
+                    if (repository.recordDelivery(event.getEventId(), consumer.name(), LocalDateTime.now()) == 0) {
+                        return false;
+                    }
+                    consumer.handle(event, payload);
+                    return true;
+                });
+                if (!Boolean.TRUE.equals(handled)) duplicatesSkipped.incrementAndGet();
+            } catch (RuntimeException e) {
+                consumerFailures.incrementAndGet();
+                log.warn("Outbox consumer {} failed on event {} (attempt {})",
+                        consumer.name(), event.getEventId(), event.getAttempts(), e);
+                error = consumer.name() + ": " + e.getMessage();
+            }
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        if (error == null) {
+            inTransaction(() -> repository.markProcessed(event.getEventId(), now));
+            delivered.incrementAndGet();
+            long lag = Duration.between(event.getCreatedAt(), now).toMillis();
+            lastLagMillis = lag;
+            maxLagMillis.accumulateAndGet(lag, Math::max);
+        } else if (event.getAttempts() >= maxAttempts) {
+            deadLettered.incrementAndGet();
+            log.warn("Outbox event {} ({}) gave up after {} attempts", event.getEventId(), event.getEventType(), event.getAttempts());
+            String message = truncate(error);
+            inTransaction(() -> repository.markFailed(event.getEventId(), now, message));
+        } else {
+            retried.incrementAndGet();
+            LocalDateTime retryAt = now.plus(Duration.ofMillis(backoffMillis(event.getAttempts())));
+            String message = truncate(error);
+            inTransaction(() -> repository.scheduleRetry(event.getEventId(), retryAt, message));
+        }
+    }
+
+    // Doubles with each attempt, capped at an hour
+    private long backoffMillis(int attempts) {
+        int shift = Math.min(Math.max(attempts - 1, 0), 20);
+        return Math.min(retryBaseMillis << shift, MAX_BACKOFF_MILLIS);
+    }
+
+    private int inTransaction(IntSupplier work) {
+        Integer result = transaction.execute(status -> work.getAsInt());
+        return result == null ? 0 : result;
+    }
+
+    private static String truncate(String message) {
+        if (message == null) return null;
+        return message.length() <= MAX_ERROR_LENGTH ? message : message.substring(0, MAX_ERROR_LENGTH);
+    }
+}
@@ -0,0 +1,59 @@
+package com.laundrypro.service.outbox;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.laundrypro.model.Orders;
+import com.laundrypro.model.OutboxEvent;
+import com.laundrypro.repository.OutboxEventRepository;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Appends order side effects to the outbox. Appending needs the caller's transaction, so
+ * the event commits or rolls back with the order change that caused it; delivery happens
+ * later in {@link OutboxRelay}.
+ */
+@Service
+public class OutboxService {
+
+    private final OutboxEventRepository repository;
+    private final ObjectMapper objectMapper;
+
+    public OutboxService(OutboxEventRepository repository, ObjectMapper objectMapper) {
+        this.repository = repository;
+        this.objectMapper = objectMapper;
+    }
+
+    public void orderCreated(Orders order) {
+        Map<String, Object> payload = new LinkedHashMap<>();
+        payload.put("customerId", order.getCustomerId());
+        payload.put("customerName", order.getCustomerName());
+        append(OutboxEvent.ORDER_CREATED, order.getOrderId(), "order:" + order.getOrderId() + ":created", payload);
+    }
+
+    // An order can pass through the same status more than once, so status changes carry no
+    // dedup key; each one is its own event and redeliveries are recognised by the event id
+    public void orderStatusChanged(Orders order) {
+        Map<String, Object> payload = new LinkedHashMap<>();
+        payload.put("customerId", order.getCustomerId());
+        payload.put("status", order.getStatus());
+        append(OutboxEvent.ORDER_STATUS_CHANGED, order.getOrderId(), null, payload);
+    }
+
+    // Returns false when an event with the same dedup key is already in the outbox; dedupKey may be null
+    @Transactional(propagation = Propagation.MANDATORY)
+    public boolean append(String eventType, Integer aggregateId, String dedupKey, Map<String, Object> payload) {
+        String json;
+        try {
+            json = objectMapper.writeValueAsString(payload);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Could not serialise " + eventType + " payload", e);
+        }
+        return repository.append(eventType, aggregateId, dedupKey, json, LocalDateTime.now()) > 0;
+    }
+}
@@ -0,0 +1,153 @@
+package com.laundrypro.web.admin;
+
+import com.laundrypro.service.admin.AdminDashboardService;
+import com.laundrypro.service.event.OrderChangedEvent;
+import com.laundrypro.web.admin.dto.AdminOverviewStats;
+import com.laundrypro.web.sse.SseBroadcaster;
+import com.laundrypro.web.sse.SseFrame;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.math.BigDecimal;
+import java.util.*;
+
+/**
+ * Pushes the admin overview to open dashboards over server-sent events.
+ * <p>
+ * Each subscriber first receives the whole overview as an "overview" event; later events
+ * carry only the fields that changed, which the page merges into what it has. Order
+ * changes only mark the overview dirty: a short fixed-delay task recomputes it once for
+ * all subscribers, so a burst of orders costs one computation and at most one frame per
+ * interval. While anyone is subscribed the overview is also rechecked periodically to pick
+ * up counter reconciles and the midnight rollover.
+ */
+@Component
+public class AdminOverviewStream {
+
+    private static final Logger log = LoggerFactory.getLogger(AdminOverviewStream.class);
+
+    static final String EVENT = "overview";
+
+    private final AdminDashboardService dashboardService;
+    private final SseBroadcaster broadcaster;
+    private final long recheckMillis;
+
+    // Guards current so a new subscriber's snapshot and the deltas after it line up
+    private final Object publishLock = new Object();
+    private volatile boolean dirty = true;
+    private volatile long lastComputedAt;
+    private volatile Map<String, Object> current;
+
+    public AdminOverviewStream(AdminDashboardService dashboardService,
+                               @Value("${laundrypro.dashboard.stream.max-subscribers:50}") int maxSubscribers,
+                               @Value("${laundrypro.dashboard.stream.queue-capacity:8}") int queueCapacity,
+                               @Value("${laundrypro.dashboard.stream.heartbeat-ms:15000}") long heartbeatMillis,
+                               @Value("${laundrypro.dashboard.stream.timeout-ms:1800000}") long timeoutMillis,
+                               @Value("${laundrypro.dashboard.stream.recheck-ms:30000}") long recheckMillis) {
+        this.dashboardService = dashboardService;
+        this.broadcaster = new SseBroadcaster("overview", maxSubscribers, queueCapacity,
+                heartbeatMillis, timeoutMillis, 2);
+        this.recheckMillis = recheckMillis;
+    }
+
+    // Null when the subscriber cap is reached
+    public SseEmitter subscribe() {
+        synchronized (publishLock) {
+            if (current == null || dirty || isStale()) {
+                refreshAndPublish();
+            }
+            return broadcaster.subscribe(List.of(SseFrame.coalescing(EVENT, current)));
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onOrderChanged(OrderChangedEvent event) {
+        dirty = true;
+    }
+
+    @Scheduled(fixedDelayString = "${laundrypro.dashboard.stream.publish-interval-ms:1000}")
+    public void publishChanges() {
+        if (broadcaster.getSubscriberCount() == 0) return;
+        if (!dirty && !isStale()) return;
+        try {
+            synchronized (publishLock) {
+                refreshAndPublish();
+            }
+        } catch (RuntimeException e) {
+            log.warn("Could not publish overview changes", e);
+        }
+    }
+
+    public Map<String, Object> stats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("subscribers", broadcaster.getSubscriberCount());
+        stats.put("maxSubscribers", broadcaster.getMaxSubscribers());
+        return stats;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        broadcaster.shutdown();
+    }
+
+    // Recomputes the overview and sends what changed to the current subscribers; call under publishLock
+    private void refreshAndPublish() {
+        dirty = false;
+        Map<String, Object> previous = current;
+        Map<String, Object> next = fields(dashboardService.overview());
+        lastComputedAt = System.currentTimeMillis();
+        current = next;
+        if (previous != null) {
+            Map<String, Object> delta = changedFields(previous, next);
+            if (!delta.isEmpty()) {
+                broadcaster.publish(SseFrame.coalescing(EVENT, delta));
+            }
+        }
+    }
+
+    private boolean isStale() {
+        return System.currentTimeMillis() - lastComputedAt >= recheckMillis;
+    }
+
+    static Map<String, Object> fields(AdminOverviewStats stats) {
+        Map<String, Object> fields = new LinkedHashMap<>();
+        fields.put("totalCustomers", stats.getTotalCustomers());
+        fields.put("totalStaff", stats.getTotalStaff());
+        fields.put("ordersToday", stats.getOrdersToday());
+        fields.put("revenueToday", stats.getRevenueToday());
+        fields.put("last7DaysLabels", stats.getLast7DaysLabels());
+        fields.put("last7DaysRevenue", stats.getLast7DaysRevenue());
+        fields.put("last7DaysOrders", stats.getLast7DaysOrders());
+        return fields;
+    }
+
+    static Map<String, Object> changedFields(Map<String, Object> previous, Map<String, Object> next) {
+        Map<String, Object> delta = new LinkedHashMap<>();
+        next.forEach((field, value) -> {
+            if (!sameValue(previous.get(field), value)) delta.put(field, value);
+        });
+        return delta;
+    }
+
+    // BigDecimal equality is scale-sensitive; 10.5 and 10.50 are the same amount here
+    private static boolean sameValue(Object a, Object b) {
+        if (a instanceof BigDecimal && b instanceof BigDecimal) {
+            return ((BigDecimal) a).compareTo((BigDecimal) b) == 0;
+        }
+        if (a instanceof List && b instanceof List && ((List<?>) a).size() == ((List<?>) b).size()) {
+            Iterator<?> ia = ((List<?>) a).iterator();
+            Iterator<?> ib = ((List<?>) b).iterator();
+            while (ia.hasNext()) {
+                if (!sameValue(ia.next(), ib.next())) return false;
+            }
+            return true;
+        }
+        return Objects.equals(a, b);
+    }
+}
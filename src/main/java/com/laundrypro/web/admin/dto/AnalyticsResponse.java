@@ -1,6 +1,7 @@
 package com.laundrypro.web.admin.dto;
 
 import java.math.BigDecimal;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 
@@ -10,6 +11,8 @@ public class AnalyticsResponse {
     private ServiceDistribution serviceDistribution;
     private CustomerRetention customerRetention;
     private SummaryStats summaryStats;
+    // Sections left out because they failed or timed out; empty for a complete response
+    private List<String> incompleteSections = new ArrayList<>();
 
     public static class RevenueData {
         private List<String> labels;
@@ -152,5 +155,7 @@ public class AnalyticsResponse {
     public void setCustomerRetention(CustomerRetention customerRetention) { this.customerRetention = customerRetention; }
     public SummaryStats getSummaryStats() { return summaryStats; }
     public void setSummaryStats(SummaryStats summaryStats) { this.summaryStats = summaryStats; }
+    public List<String> getIncompleteSections() { return incompleteSections; }
+    public void setIncompleteSections(List<String> incompleteSections) { this.incompleteSections = incompleteSections; }
 }
 
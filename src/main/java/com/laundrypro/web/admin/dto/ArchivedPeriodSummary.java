@@ -0,0 +1,66 @@
+package com.laundrypro.web.admin.dto;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+public class ArchivedPeriodSummary {
+    private Integer reportId;
+    private LocalDate periodStart;
+    private LocalDate periodEnd;
+    // The sub-range that was aggregated; equal to the period unless narrowed
+    private LocalDate from;
+    private LocalDate to;
+    private long orderCount;
+    private BigDecimal revenue;
+    private long distinctCustomers;
+    private List<Bucket> byDay;
+    private List<Bucket> byServiceType;
+    private List<Bucket> byStatus;
+
+    public static class Bucket {
+        private String key;
+        private long orderCount;
+        private BigDecimal revenue;
+
+        public Bucket() {}
+
+        public Bucket(String key, long orderCount, BigDecimal revenue) {
+            this.key = key;
+            this.orderCount = orderCount;
+            this.revenue = revenue;
+        }
+
+        public String getKey() { return key; }
+        public void setKey(String key) { this.key = key; }
+        public long getOrderCount() { return orderCount; }
+        public void setOrderCount(long orderCount) { this.orderCount = orderCount; }
+        public BigDecimal getRevenue() { return revenue; }
+        public void setRevenue(BigDecimal revenue) { this.revenue = revenue; }
+    }
+
+    public ArchivedPeriodSummary() {}
+
+    public Integer getReportId() { return reportId; }
+    public void setReportId(Integer reportId) { this.reportId = reportId; }
+    public LocalDate getPeriodStart() { return periodStart; }
+    public void setPeriodStart(LocalDate periodStart) { this.periodStart = periodStart; }
+    public LocalDate getPeriodEnd() { return periodEnd; }
+    public void setPeriodEnd(LocalDate periodEnd) { this.periodEnd = periodEnd; }
+    public LocalDate getFrom() { return from; }
+    public void setFrom(LocalDate from) { this.from = from; }
+    public LocalDate getTo() { return to; }
+    public void setTo(LocalDate to) { this.to = to; }
+    public long getOrderCount() { return orderCount; }
+    public void setOrderCount(long orderCount) { this.orderCount = orderCount; }
+    public BigDecimal getRevenue() { return revenue; }
+    public void setRevenue(BigDecimal revenue) { this.revenue = revenue; }
+    public long getDistinctCustomers() { return distinctCustomers; }
+    public void setDistinctCustomers(long distinctCustomers) { this.distinctCustomers = distinctCustomers; }
+    public List<Bucket> getByDay() { return byDay; }
+    public void setByDay(List<Bucket> byDay) { this.byDay = byDay; }
+    public List<Bucket> getByServiceType() { return byServiceType; }
+    public void setByServiceType(List<Bucket> byServiceType) { this.byServiceType = byServiceType; }
+    public List<Bucket> getByStatus() { return byStatus; }
+    public void setByStatus(List<Bucket> byStatus) { this.byStatus = byStatus; }
+}
@@ -0,0 +1,129 @@
+package com.laundrypro.web.admin.dto;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+public class PeriodComparison {
+    private PeriodMetrics period;
+    private PeriodMetrics baseline;
+    private Delta delta;
+    private long elapsedMicros;
+
+    public static class PeriodMetrics {
+        private LocalDate from;
+        private LocalDate to;
+        private long days;
+        private BigDecimal revenue;
+        private long orderCount;
+        private long completedOrders;
+        // Approximate, from the daily customer sketches
+        private long distinctCustomers;
+        private double averageRating;
+        private long ratingCount;
+        private List<ServiceShare> serviceMix;
+
+        public PeriodMetrics() {}
+
+        public LocalDate getFrom() { return from; }
+        public void setFrom(LocalDate from) { this.from = from; }
+        public LocalDate getTo() { return to; }
+        public void setTo(LocalDate to) { this.to = to; }
+        public long getDays() { return days; }
+        public void setDays(long days) { this.days = days; }
+        public BigDecimal getRevenue() { return revenue; }
+        public void setRevenue(BigDecimal revenue) { this.revenue = revenue; }
+        public long getOrderCount() { return orderCount; }
+        public void setOrderCount(long orderCount) { this.orderCount = orderCount; }
+        public long getCompletedOrders() { return completedOrders; }
+        public void setCompletedOrders(long completedOrders) { this.completedOrders = completedOrders; }
+        public long getDistinctCustomers() { return distinctCustomers; }
+        public void setDistinctCustomers(long distinctCustomers) { this.distinctCustomers = distinctCustomers; }
+        public double getAverageRating() { return averageRating; }
+        public void setAverageRating(double averageRating) { this.averageRating = averageRating; }
+        public long getRatingCount() { return ratingCount; }
+        public void setRatingCount(long ratingCount) { this.ratingCount = ratingCount; }
+        public List<ServiceShare> getServiceMix() { return serviceMix; }
+        public void setServiceMix(List<ServiceShare> serviceMix) { this.serviceMix = serviceMix; }
+    }
+
+    public static class ServiceShare {
+        private String serviceType;
+        private long orderCount;
+        private BigDecimal revenue;
+        // Percent of the period's orders that have a service type
+        private double share;
+
+        public ServiceShare() {}
+
+        public ServiceShare(String serviceType, long orderCount, BigDecimal revenue, double share) {
+            this.serviceType = serviceType;
+            this.orderCount = orderCount;
+            this.revenue = revenue;
+            this.share = share;
+        }
+
+        public String getServiceType() { return serviceType; }
+        public void setServiceType(String serviceType) { this.serviceType = serviceType; }
+        public long getOrderCount() { return orderCount; }
+        public void setOrderCount(long orderCount) { this.orderCount = orderCount; }
+        public BigDecimal getRevenue() { return revenue; }
+        public void setRevenue(BigDecimal revenue) { this.revenue = revenue; }
+        public double getShare() { return share; }
+        public void setShare(double share) { this.share = share; }
+    }
+
+    public static class Delta {
+        private Change revenue;
+        private Change orderCount;
+        private Change completedOrders;
+        private Change distinctCustomers;
+        private double averageRating;
+        // Share difference per service type in percentage points
+        private List<ServiceShare> serviceMix;
+
+        public Delta() {}
+
+        public Change getRevenue() { return revenue; }
+        public void setRevenue(Change revenue) { this.revenue = revenue; }
+        public Change getOrderCount() { return orderCount; }
+        public void setOrderCount(Change orderCount) { this.orderCount = orderCount; }
+        public Change getCompletedOrders() { return completedOrders; }
+        public void setCompletedOrders(Change completedOrders) { this.completedOrders = completedOrders; }
+        public Change getDistinctCustomers() { return distinctCustomers; }
+        public void setDistinctCustomers(Change distinctCustomers) { this.distinctCustomers = distinctCustomers; }
+        public double getAverageRating() { return averageRating; }
+        public void setAverageRating(double averageRating) { this.averageRating = averageRating; }
+        public List<ServiceShare> getServiceMix() { return serviceMix; }
+        public void setServiceMix(List<ServiceShare> serviceMix) { this.serviceMix = serviceMix; }
+    }
+
+    public static class Change {
+        private BigDecimal difference;
+        // Null when the baseline is zero
+        private Double percent;
+
+        public Change() {}
+
+        public Change(BigDecimal difference, Double percent) {
+            this.difference = difference;
+            this.percent = percent;
+        }
+
+        public BigDecimal getDifference() { return difference; }
+        public void setDifference(BigDecimal difference) { this.difference = difference; }
+        public Double getPercent() { return percent; }
+        public void setPercent(Double percent) { this.percent = percent; }
+    }
+
+    public PeriodComparison() {}
+
+    public PeriodMetrics getPeriod() { return period; }
+    public void setPeriod(PeriodMetrics period) { this.period = period; }
+    public PeriodMetrics getBaseline() { return baseline; }
+    public void setBaseline(PeriodMetrics baseline) { this.baseline = baseline; }
+    public Delta getDelta() { return delta; }
+    public void setDelta(Delta delta) { this.delta = delta; }
+    public long getElapsedMicros() { return elapsedMicros; }
+    public void setElapsedMicros(long elapsedMicros) { this.elapsedMicros = elapsedMicros; }
+}
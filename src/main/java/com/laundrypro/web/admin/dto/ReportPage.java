@@ -0,0 +1,22 @@
+package com.laundrypro.web.admin.dto;
+
+import com.laundrypro.model.Report;
+
+import java.util.List;
+
+public class ReportPage {
+    private List<Report> items;
+    private String nextCursor; // null on the last page
+
+    public ReportPage() {}
+
+    public ReportPage(List<Report> items, String nextCursor) {
+        this.items = items;
+        this.nextCursor = nextCursor;
+    }
+
+    public List<Report> getItems() { return items; }
+    public void setItems(List<Report> items) { this.items = items; }
+    public String getNextCursor() { return nextCursor; }
+    public void setNextCursor(String nextCursor) { this.nextCursor = nextCursor; }
+}
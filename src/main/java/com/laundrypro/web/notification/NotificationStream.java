@@ -0,0 +1,183 @@
+package com.laundrypro.web.notification;
+
+import com.laundrypro.DTO.NotificationDTO;
+import com.laundrypro.service.NotificationService;
+import com.laundrypro.service.event.NotificationChangedEvent;
+import com.laundrypro.web.sse.SseBroadcaster;
+import com.laundrypro.web.sse.SseFrame;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.*;
+import java.util.function.LongSupplier;
+
+/**
+ * Pushes notifications to logged-in staff and customers over server-sent events.
+ * <p>
+ * Every connection joins its recipient's topic, and staff connections also join the
+ * shared staff topic that broadcasts go to. New notifications are sent as "notification"
+ * events whose id is the notification id, so a reconnecting browser sends it back as
+ * Last-Event-ID and the gap is replayed from the database. A gap larger than the send
+ * queue is not replayed; the client gets "resync" and reloads its list instead. Unread
+ * counts follow as coalescing "unread" events, and reads or deletions made elsewhere as
+ * "changed".
+ */
+@Component
+public class NotificationStream {
+
+    private static final Logger log = LoggerFactory.getLogger(NotificationStream.class);
+
+    static final String NOTIFICATION = "notification";
+    static final String UNREAD = "unread";
+    static final String CHANGED = "changed";
+    static final String RESYNC = "resync";
+
+    private static final String STAFF_TOPIC = "staff";
+    private static final String STAFF_PREFIX = "staff:";
+    private static final String CUSTOMER_PREFIX = "customer:";
+
+    /** Why a subscription was refused. */
+    public enum Refusal { NODE_FULL, RECIPIENT_FULL }
+
+    private final NotificationService notificationService;
+    private final SseBroadcaster broadcaster;
+    private final int maxPerRecipient;
+
+    public NotificationStream(NotificationService notificationService,
+                              @Value("${laundrypro.notifications.stream.max-subscribers:1000}") int maxSubscribers,
+                              @Value("${laundrypro.notifications.stream.max-per-recipient:5}") int maxPerRecipient,
+                              @Value("${laundrypro.notifications.stream.queue-capacity:32}") int queueCapacity,
+                              @Value("${laundrypro.notifications.stream.heartbeat-ms:15000}") long heartbeatMillis,
+                              @Value("${laundrypro.notifications.stream.timeout-ms:1800000}") long timeoutMillis) {
+        this.notificationService = notificationService;
+        this.maxPerRecipient = maxPerRecipient;
+        // Room for at least a short replay next to the unread frame
+        this.broadcaster = new SseBroadcaster("notifications", maxSubscribers, Math.max(queueCapacity, 4),
+                heartbeatMillis, timeoutMillis, 2);
+    }
+
+    /** The emitter, or the reason it was refused. */
+    public static final class Subscription {
+        private final SseEmitter emitter;
+        private final Refusal refusal;
+
+        private Subscription(SseEmitter emitter, Refusal refusal) {
+            this.emitter = emitter;
+            this.refusal = refusal;
+        }
+
+        public SseEmitter getEmitter() { return emitter; }
+        public Refusal getRefusal() { return refusal; }
+    }
+
+    public Subscription subscribeStaff(long staffId, Long lastEventId) {
+        String topic = STAFF_PREFIX + staffId;
+        if (broadcaster.getSubscriberCount(topic) >= maxPerRecipient) return refused(Refusal.RECIPIENT_FULL);
+        List<NotificationDTO> missed = lastEventId == null ? List.of()
+                : notificationService.getStaffNotificationsAfter(staffId, lastEventId, replayLimit() + 1);
+        List<SseFrame> frames = initialFrames(missed, notificationService.getUnreadNotificationCount(staffId));
+        return subscribed(broadcaster.subscribe(List.of(topic, STAFF_TOPIC), frames));
+    }
+
+    public Subscription subscribeCustomer(int customerId, Long lastEventId) {
+        String topic = CUSTOMER_PREFIX + customerId;
+        if (broadcaster.getSubscriberCount(topic) >= maxPerRecipient) return refused(Refusal.RECIPIENT_FULL);
+        List<NotificationDTO> missed = lastEventId == null ? List.of()
+                : notificationService.getCustomerNotificationsAfter(customerId, lastEventId, replayLimit() + 1);
+        List<SseFrame> frames = initialFrames(missed, notificationService.getUnreadNotificationCountForCustomer(customerId));
+        return subscribed(broadcaster.subscribe(List.of(topic), frames));
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onNotificationChanged(NotificationChangedEvent event) {
+        if (broadcaster.getSubscriberCount() == 0) return;
+        try {
+            switch (event.getAudience()) {
+                case ALL_STAFF -> {
+                    if (event.getType() == NotificationChangedEvent.Type.CREATED) {
+                        broadcaster.publish(STAFF_TOPIC, notificationFrame(event.getNotification()));
+                    }
+                    // Every connected staff member's count moved
+                    for (String topic : broadcaster.getTopics()) {
+                        if (topic.startsWith(STAFF_PREFIX)) {
+                            long staffId = Long.parseLong(topic.substring(STAFF_PREFIX.length()));
+                            broadcaster.publish(topic, unreadFrame(notificationService.getUnreadNotificationCount(staffId)));
+                        }
+                    }
+                }
+                case STAFF -> publishToRecipient(STAFF_PREFIX + event.getRecipientId(), event,
+                        () -> notificationService.getUnreadNotificationCount(event.getRecipientId()));
+                case CUSTOMER -> publishToRecipient(CUSTOMER_PREFIX + event.getRecipientId(), event,
+                        () -> notificationService.getUnreadNotificationCountForCustomer(event.getRecipientId().intValue()));
+            }
+        } catch (RuntimeException e) {
+            // Clients catch up on reconnect or their next list load
+            log.warn("Could not push notification change {}", event.getType(), e);
+        }
+    }
+
+    public Map<String, Object> stats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("subscribers", broadcaster.getSubscriberCount());
+        stats.put("maxSubscribers", broadcaster.getMaxSubscribers());
+        stats.put("maxPerRecipient", maxPerRecipient);
+        stats.put("subscribedStaff", broadcaster.getSubscriberCount(STAFF_TOPIC));
+        return stats;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        broadcaster.shutdown();
+    }
+
+    private void publishToRecipient(String topic, NotificationChangedEvent event, LongSupplier unread) {
+        if (broadcaster.getSubscriberCount(topic) == 0) return;
+        if (event.getType() == NotificationChangedEvent.Type.CREATED) {
+            broadcaster.publish(topic, notificationFrame(event.getNotification()));
+        } else {
+            // Another tab or device read or deleted something; the list reloads once per burst
+            broadcaster.publish(topic, SseFrame.coalescing(CHANGED, Map.of("type", event.getType().name())));
+        }
+        broadcaster.publish(topic, unreadFrame(unread.getAsLong()));
+    }
+
+    private List<SseFrame> initialFrames(List<NotificationDTO> missed, long unread) {
+        List<SseFrame> frames = new ArrayList<>();
+        if (missed.size() > replayLimit()) {
+            frames.add(SseFrame.of(RESYNC, null, Map.of("reason", "gap too large")));
+        } else {
+            for (NotificationDTO n : missed) frames.add(notificationFrame(n));
+        }
+        // Carries the newest id so a reconnect without any notification in between still resumes from here
+        String latestId = missed.isEmpty() || missed.size() > replayLimit()
+                ? String.valueOf(notificationService.getLatestNotificationId())
+                : String.valueOf(missed.get(missed.size() - 1).getId());
+        frames.add(SseFrame.of(UNREAD, latestId, Map.of("count", unread)));
+        return frames;
+    }
+
+    private int replayLimit() {
+        return broadcaster.getQueueCapacity() - 2;
+    }
+
+    private static SseFrame notificationFrame(NotificationDTO n) {
+        return SseFrame.of(NOTIFICATION, String.valueOf(n.getId()), n);
+    }
+
+    private static SseFrame unreadFrame(long count) {
+        return SseFrame.coalescing(UNREAD, Map.of("count", count));
+    }
+
+    private static Subscription subscribed(SseEmitter emitter) {
+        return emitter == null ? refused(Refusal.NODE_FULL) : new Subscription(emitter, null);
+    }
+
+    private static Subscription refused(Refusal refusal) {
+        return new Subscription(null, refusal);
+    }
+}
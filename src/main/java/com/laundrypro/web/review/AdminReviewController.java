@@ -1,17 +1,24 @@
 package com.laundrypro.web.review;
 
 import com.laundrypro.model.Review;
+import com.laundrypro.service.ReviewRatingService;
 import com.laundrypro.service.ReviewService;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.LocalDate;
+import java.util.Map;
+
 @RestController
 @RequestMapping("/api/admin/reviews")
 public class AdminReviewController {
     private final ReviewService reviewService;
+    private final ReviewRatingService ratingService;
 
-    public AdminReviewController(ReviewService reviewService) {
+    public AdminReviewController(ReviewService reviewService, ReviewRatingService ratingService) {
         this.reviewService = reviewService;
+        this.ratingService = ratingService;
     }
 
     public static class StatusRequest {
@@ -31,4 +38,24 @@ public class AdminReviewController {
             return ResponseEntity.status(500).body("Internal server error: " + e.getMessage());
         }
     }
+
+    // Rating distribution and daily trend; defaults to the last 30 days
+    @GetMapping("/ratings")
+    public ResponseEntity<?> ratings(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        LocalDate end = to != null ? to : LocalDate.now();
+        LocalDate start = from != null ? from : end.minusDays(29);
+        try {
+            return ResponseEntity.ok(ratingService.summary(start, end));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+
+    // Regenerates the daily rating aggregates from the Review table
+    @PostMapping("/ratings/rebuild")
+    public Map<String, Integer> rebuildRatings() {
+        return Map.of("rows", ratingService.rebuild());
+    }
 }
@@ -0,0 +1,208 @@
+package com.laundrypro.web.sse;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Fans server-sent events out to a capped set of subscribers.
+ * <p>
+ * Every subscriber has a bounded send queue drained by a small pool owned by the
+ * broadcaster. Superseded frames are coalesced while they wait (see {@link SseFrame}).
+ * A subscriber whose queue still overflows is closed; its client reconnects and starts
+ * from a fresh snapshot. Heartbeat comments keep idle connections open through proxies
+ * and detect dead clients.
+ * <p>
+ * Subscribers may join topics (e.g. one per user) so frames can be sent to some
+ * connections only; frames published without a topic go to everyone.
+ */
+public class SseBroadcaster {
+
+    private static final Logger log = LoggerFactory.getLogger(SseBroadcaster.class);
+
+    private final String name;
+    private final int maxSubscribers;
+    private final int queueCapacity;
+    private final long timeoutMillis;
+    private final Set<SseConnection> connections = ConcurrentHashMap.newKeySet();
+    private final Map<String, Set<SseConnection>> byTopic = new ConcurrentHashMap<>();
+    private final ScheduledThreadPoolExecutor executor;
+
+    public SseBroadcaster(String name, int maxSubscribers, int queueCapacity,
+                          long heartbeatMillis, long timeoutMillis, int senderThreads) {
+        if (maxSubscribers < 1 || queueCapacity < 1) {
+            throw new IllegalArgumentException("Subscriber cap and queue capacity must be positive");
+        }
+        this.name = name;
+        this.maxSubscribers = maxSubscribers;
+        this.queueCapacity = queueCapacity;
+        this.timeoutMillis = timeoutMillis;
+
+        AtomicInteger threadIds = new AtomicInteger();
+        this.executor = new ScheduledThreadPoolExecutor(Math.max(1, senderThreads), r -> {
+            Thread t = new Thread(r, name + "-sse-" + threadIds.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        });
+        this.executor.setRemoveOnCancelPolicy(true);
+        if (heartbeatMillis > 0) {
+            executor.scheduleAtFixedRate(() -> publish(SseFrame.heartbeat()),
+                    heartbeatMillis, heartbeatMillis, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /**
+     * Registers a subscriber whose queue starts with the given frames (typically a full
+     * snapshot). Returns null when the subscriber cap is reached.
+     */
+    public SseEmitter subscribe(List<SseFrame> initialFrames) {
+        return subscribe(List.of(), initialFrames);
+    }
+
+    /**
+     * Registers a subscriber that also receives frames published to the given topics.
+     * Initial frames beyond the queue capacity are dropped. Returns null when the
+     * subscriber cap is reached.
+     */
+    public SseEmitter subscribe(Collection<String> topics, List<SseFrame> initialFrames) {
+        SseEmitter emitter = new SseEmitter(timeoutMillis);
+        SseConnection connection = new SseConnection(emitter, queueCapacity, List.copyOf(topics));
+        synchronized (connections) {
+            if (connections.size() >= maxSubscribers) return null;
+            connections.add(connection);
+            for (String topic : connection.getTopics()) {
+                // Inside compute so a concurrent remove cannot drop the set this joins
+                byTopic.compute(topic, (k, members) -> {
+                    if (members == null) members = ConcurrentHashMap.newKeySet();
+                    members.add(connection);
+                    return members;
+                });
+            }
+        }
+        emitter.onCompletion(() -> remove(connection));
+        emitter.onTimeout(() -> {
+            remove(connection);
+            emitter.complete();
+        });
+        emitter.onError(e -> remove(connection));
+
+        for (SseFrame frame : initialFrames) {
+            connection.offer(frame);
+        }
+        scheduleDrain(connection);
+        return emitter;
+    }
+
+    // Queues the frame for every subscriber
+    public void publish(SseFrame frame) {
+        deliver(connections, frame);
+    }
+
+    // Queues the frame for the subscribers of the topic
+    public void publish(String topic, SseFrame frame) {
+        Set<SseConnection> members = byTopic.get(topic);
+        if (members != null) deliver(members, frame);
+    }
+
+    private void deliver(Set<SseConnection> targets, SseFrame frame) {
+        for (SseConnection connection : targets) {
+            if (connection.offer(frame)) {
+                scheduleDrain(connection);
+            } else if (!connection.isClosed()) {
+                log.debug("{} subscriber fell behind, closing its stream", name);
+                close(connection);
+            }
+        }
+    }
+
+    public int getSubscriberCount() {
+        return connections.size();
+    }
+
+    public int getSubscriberCount(String topic) {
+        Set<SseConnection> members = byTopic.get(topic);
+        return members == null ? 0 : members.size();
+    }
+
+    // Topics that currently have subscribers
+    public Set<String> getTopics() {
+        return Set.copyOf(byTopic.keySet());
+    }
+
+    public int getMaxSubscribers() {
+        return maxSubscribers;
+    }
+
+    public int getQueueCapacity() {
+        return queueCapacity;
+    }
+
+    // Completes every stream and stops the sender threads
+    public void shutdown() {
+        for (SseConnection connection : connections) {
+            close(connection);
+        }
+        executor.shutdownNow();
+    }
+
+    private void scheduleDrain(SseConnection connection) {
+        if (connection.draining.compareAndSet(false, true)) {
+            try {
+                executor.execute(() -> drain(connection));
+            } catch (RuntimeException e) {
+                // Rejected after shutdown
+                connection.draining.set(false);
+            }
+        }
+    }
+
+    private void drain(SseConnection connection) {
+        while (true) {
+            SseFrame frame = connection.poll();
+            if (frame == null) {
+                connection.draining.set(false);
+                // A frame queued after the poll but before the flag was cleared is picked up here
+                if (connection.hasPending() && connection.draining.compareAndSet(false, true)) continue;
+                return;
+            }
+            try {
+                connection.send(frame);
+            } catch (IOException | IllegalStateException e) {
+                // Client went away or the emitter already completed
+                remove(connection);
+                connection.draining.set(false);
+                return;
+            }
+        }
+    }
+
+    private void close(SseConnection connection) {
+        remove(connection);
+        try {
+            connection.getEmitter().complete();
+        } catch (RuntimeException ignored) {
+            // Already completed
+        }
+    }
+
+    private void remove(SseConnection connection) {
+        connection.close();
+        connections.remove(connection);
+        for (String topic : connection.getTopics()) {
+            byTopic.computeIfPresent(topic, (k, members) -> {
+                members.remove(connection);
+                return members.isEmpty() ? null : members;
+            });
+        }
+    }
+}
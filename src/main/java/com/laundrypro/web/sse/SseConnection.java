@@ -0,0 +1,93 @@
+package com.laundrypro.web.sse;
+
+import org.springframework.http.MediaType;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * A subscriber's emitter and its bounded send queue. Publishers only enqueue; the owning
+ * {@link SseBroadcaster} drains the queue on its own threads, so a slow client never
+ * blocks the code that publishes.
+ */
+final class SseConnection {
+
+    private final SseEmitter emitter;
+    private final int capacity;
+    private final List<String> topics;
+    private final ArrayDeque<SseFrame> queue = new ArrayDeque<>();
+    final AtomicBoolean draining = new AtomicBoolean();
+    private volatile boolean closed;
+
+    SseConnection(SseEmitter emitter, int capacity, List<String> topics) {
+        this.emitter = emitter;
+        this.capacity = capacity;
+        this.topics = topics;
+    }
+
+    SseEmitter getEmitter() { return emitter; }
+
+    List<String> getTopics() { return topics; }
+
+    boolean isClosed() { return closed; }
+
+    /**
+     * Queues the frame, folding it into a queued frame with the same coalesce key.
+     * Returns false if the connection is closed or the queue is full.
+     */
+    boolean offer(SseFrame frame) {
+        synchronized (queue) {
+            if (closed) return false;
+            if (frame.getCoalesceKey() != null) {
+                for (Iterator<SseFrame> it = queue.iterator(); it.hasNext(); ) {
+                    SseFrame queued = it.next();
+                    if (frame.getCoalesceKey().equals(queued.getCoalesceKey())) {
+                        it.remove();
+                        queue.addLast(queued.supersede(frame));
+                        return true;
+                    }
+                }
+            }
+            if (queue.size() >= capacity) return false;
+            queue.addLast(frame);
+            return true;
+        }
+    }
+
+    SseFrame poll() {
+        synchronized (queue) {
+            return queue.pollFirst();
+        }
+    }
+
+    boolean hasPending() {
+        synchronized (queue) {
+            return !queue.isEmpty();
+        }
+    }
+
+    void send(SseFrame frame) throws IOException {
+        if (frame.isHeartbeat()) {
+            emitter.send(SseEmitter.event().comment("heartbeat"));
+            return;
+        }
+        SseEmitter.SseEventBuilder event = SseEmitter.event().data(frame.getData(), MediaType.APPLICATION_JSON);
+        if (frame.getName() != null) event.name(frame.getName());
+        if (frame.getId() != null) event.id(frame.getId());
+        emitter.send(event);
+    }
+
+    // Marks the connection closed and drops anything still queued; returns false if it already was
+    boolean close() {
+        synchronized (queue) {
+            if (closed) return false;
+            closed = true;
+            queue.clear();
+            return true;
+        }
+    }
+}
@@ -0,0 +1,59 @@
+package com.laundrypro.web.sse;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * One server-sent event waiting in a connection's send queue. Frames with the same
+ * coalesce key supersede each other while queued: map payloads are merged field by field
+ * (newer values win), anything else is replaced outright. Frames without a key are never
+ * coalesced.
+ */
+public final class SseFrame {
+
+    static final String HEARTBEAT_KEY = "\0heartbeat";
+
+    private final String name;
+    private final String id;
+    private final Object data;
+    private final String coalesceKey;
+
+    private SseFrame(String name, String id, Object data, String coalesceKey) {
+        this.name = name;
+        this.id = id;
+        this.data = data;
+        this.coalesceKey = coalesceKey;
+    }
+
+    // An event that replaces (or merges into) any queued event with the same key
+    public static SseFrame coalescing(String name, Object data) {
+        return new SseFrame(name, null, data, name);
+    }
+
+    // An event delivered exactly once, carrying an id the client echoes back as Last-Event-ID
+    public static SseFrame of(String name, String id, Object data) {
+        return new SseFrame(name, id, data, null);
+    }
+
+    static SseFrame heartbeat() {
+        return new SseFrame(null, null, null, HEARTBEAT_KEY);
+    }
+
+    public String getName() { return name; }
+    public String getId() { return id; }
+    public Object getData() { return data; }
+    public String getCoalesceKey() { return coalesceKey; }
+
+    boolean isHeartbeat() {
+        return HEARTBEAT_KEY.equals(coalesceKey);
+    }
+
+    SseFrame supersede(SseFrame newer) {
+        if (data instanceof Map && newer.data instanceof Map) {
+            Map<Object, Object> merged = new LinkedHashMap<>((Map<?, ?>) data);
+            merged.putAll((Map<?, ?>) newer.data);
+            return new SseFrame(newer.name, newer.id, merged, coalesceKey);
+        }
+        return newer;
+    }
+}
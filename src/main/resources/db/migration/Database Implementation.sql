@@ -161,3 +161,251 @@ BEGIN
 INSERT INTO [dbo].[Tax_Settings] ([Rate]) VALUES (0.0800);
 END
 
+
+
+-- Daily order rollups per service type, feeding the admin analytics
+IF NOT EXISTS (SELECT * FROM sys.objects WHERE object_id = OBJECT_ID(N'[dbo].[Order_Daily_Rollup]') AND type in (N'U'))
+BEGIN
+CREATE TABLE [dbo].[Order_Daily_Rollup] (
+    [Rollup_ID] BIGINT IDENTITY(1,1) NOT NULL PRIMARY KEY,
+    [Rollup_Date] DATE NOT NULL,
+    [Service_Type] VARCHAR(255) NOT NULL,
+    [Order_Count] BIGINT NOT NULL,
+    [Completed_Count] BIGINT NOT NULL,
+    [Revenue] DECIMAL(15,2) NOT NULL,
+    [Tax] DECIMAL(15,2) NOT NULL,
+    [Distinct_Customers] BIGINT NOT NULL,
+    CONSTRAINT UQ_Order_Daily_Rollup UNIQUE ([Rollup_Date], [Service_Type])
+    );
+END
+
+-- Supports the date-window scans behind rollup refresh and rebuild
+IF NOT EXISTS (SELECT 1 FROM sys.indexes WHERE name = 'idx_orders_date' AND object_id = OBJECT_ID(N'[dbo].[Orders]'))
+BEGIN
+CREATE INDEX idx_orders_date ON dbo.Orders ([Date]) INCLUDE ([Customer_ID], [Service_Type], [Total], [Tax], [Status]);
+END
+
+
+-- First and last order day per customer, feeding retention and new-customer metrics
+IF NOT EXISTS (SELECT * FROM sys.objects WHERE object_id = OBJECT_ID(N'[dbo].[Customer_Order_Index]') AND type in (N'U'))
+BEGIN
+CREATE TABLE [dbo].[Customer_Order_Index] (
+    [Customer_ID] INT NOT NULL PRIMARY KEY,
+    [First_Order_Date] DATE NOT NULL,
+    [Last_Order_Date] DATE NOT NULL,
+    [Order_Count] BIGINT NOT NULL
+    );
+CREATE INDEX idx_customer_order_index_first ON dbo.Customer_Order_Index ([First_Order_Date]);
+END
+
+
+-- Daily review rating sums, counts and 1-5 histograms per rating dimension
+IF NOT EXISTS (SELECT * FROM sys.objects WHERE object_id = OBJECT_ID(N'[dbo].[Review_Daily_Rating]') AND type in (N'U'))
+BEGIN
+CREATE TABLE [dbo].[Review_Daily_Rating] (
+    [Rating_ID] BIGINT IDENTITY(1,1) NOT NULL PRIMARY KEY,
+    [Rating_Date] DATE NOT NULL,
+    [Dimension] VARCHAR(16) NOT NULL,
+    [Rating_Sum] BIGINT NOT NULL,
+    [Rating_Count] BIGINT NOT NULL,
+    [Count_1] BIGINT NOT NULL,
+    [Count_2] BIGINT NOT NULL,
+    [Count_3] BIGINT NOT NULL,
+    [Count_4] BIGINT NOT NULL,
+    [Count_5] BIGINT NOT NULL,
+    CONSTRAINT UQ_Review_Daily_Rating UNIQUE ([Rating_Date], [Dimension])
+    );
+END
+
+-- Supports the per-day rating refresh scans
+IF NOT EXISTS (SELECT 1 FROM sys.indexes WHERE name = 'idx_review_created_at' AND object_id = OBJECT_ID(N'[dbo].[Review]'))
+BEGIN
+CREATE INDEX idx_review_created_at ON dbo.Review ([Created_At]) INCLUDE ([Rating], [Service_Rating], [Platform_Rating]);
+END
+
+
+-- Precomputed admin analytics per fixed time range, served as stored JSON
+IF NOT EXISTS (SELECT * FROM sys.objects WHERE object_id = OBJECT_ID(N'[dbo].[Analytics_Snapshot]') AND type in (N'U'))
+BEGIN
+CREATE TABLE [dbo].[Analytics_Snapshot] (
+    [Time_Range] VARCHAR(16) NOT NULL PRIMARY KEY,
+    [Payload] NVARCHAR(MAX) NOT NULL,
+    [Generated_At] DATETIME2 NOT NULL,
+    [Compute_Millis] BIGINT NOT NULL
+    );
+END
+
+
+-- Per-day HyperLogLog sketch of ordering customers, merged for distinct active customers
+IF NOT EXISTS (SELECT * FROM sys.objects WHERE object_id = OBJECT_ID(N'[dbo].[Customer_Daily_Sketch]') AND type in (N'U'))
+BEGIN
+CREATE TABLE [dbo].[Customer_Daily_Sketch] (
+    [Sketch_Date] DATE NOT NULL PRIMARY KEY,
+    [Sketch_Precision] INT NOT NULL,
+    [Registers] VARBINARY(MAX) NOT NULL
+    );
+END
+
+
+-- Keyset pagination of report history, newest first, overall and per time range
+IF NOT EXISTS (SELECT 1 FROM sys.indexes WHERE name = 'idx_report_date' AND object_id = OBJECT_ID(N'[dbo].[Report]'))
+BEGIN
+CREATE INDEX idx_report_date ON dbo.Report ([Report_Date] DESC, [Report_ID] DESC);
+END
+
+IF NOT EXISTS (SELECT 1 FROM sys.indexes WHERE name = 'idx_report_time_range_date' AND object_id = OBJECT_ID(N'[dbo].[Report]'))
+BEGIN
+CREATE INDEX idx_report_time_range_date ON dbo.Report ([Time_Range], [Report_Date] DESC, [Report_ID] DESC);
+END
+
+
+-- Staff broadcast notifications: one row per event for all staff (Audience = 'ALL_STAFF')
+IF COL_LENGTH('dbo.Notifications', 'Audience') IS NULL
+BEGIN
+ALTER TABLE dbo.Notifications ADD Audience VARCHAR(16) NULL;
+END
+
+IF NOT EXISTS (SELECT 1 FROM sys.indexes WHERE name = 'idx_notification_audience' AND object_id = OBJECT_ID(N'[dbo].[Notifications]'))
+BEGIN
+CREATE INDEX idx_notification_audience ON dbo.Notifications ([Audience], [NotificationID]);
+END
+
+-- Per-staff broadcast read state: broadcasts up to Read_Watermark are read, up to Visible_After not shown
+IF NOT EXISTS (SELECT * FROM sys.objects WHERE object_id = OBJECT_ID(N'[dbo].[Staff_Notification_State]') AND type in (N'U'))
+BEGIN
+CREATE TABLE [dbo].[Staff_Notification_State] (
+    [Staff_ID] INT NOT NULL PRIMARY KEY,
+    [Visible_After] BIGINT NOT NULL,
+    [Read_Watermark] BIGINT NOT NULL
+    );
+END
+
+-- Existing staff see every broadcast from the start
+INSERT INTO dbo.Staff_Notification_State (Staff_ID, Visible_After, Read_Watermark)
+SELECT s.Staff_ID, 0, 0 FROM dbo.Staff s
+WHERE NOT EXISTS (SELECT 1 FROM dbo.Staff_Notification_State t WHERE t.Staff_ID = s.Staff_ID);
+
+-- Reads above the watermark and dismissals of broadcasts, per staff member
+IF NOT EXISTS (SELECT * FROM sys.objects WHERE object_id = OBJECT_ID(N'[dbo].[Staff_Notification_Receipt]') AND type in (N'U'))
+BEGIN
+CREATE TABLE [dbo].[Staff_Notification_Receipt] (
+    [Receipt_ID] BIGINT IDENTITY(1,1) NOT NULL PRIMARY KEY,
+    [Staff_ID] INT NOT NULL,
+    [Notification_ID] BIGINT NOT NULL,
+    [Read_At] DATETIME2 NULL,
+    [Dismissed] BIT NOT NULL DEFAULT 0,
+    CONSTRAINT UQ_Staff_Notification_Receipt UNIQUE ([Staff_ID], [Notification_ID])
+    );
+END
+
+
+-- Notification feeds seek by recipient, read state and (Created_At, NotificationID) and read only the
+-- feed columns, so the keyset pages never touch the base table
+IF NOT EXISTS (SELECT 1 FROM sys.indexes WHERE name = 'idx_notification_customer_feed' AND object_id = OBJECT_ID(N'[dbo].[Notifications]'))
+BEGIN
+CREATE INDEX idx_notification_customer_feed ON dbo.Notifications ([Customer_ID], [Is_Read], [Created_At], [NotificationID])
+    INCLUDE ([Message], [Type], [Entity_ID], [Entity_Type], [Read_At]);
+END
+
+-- Same for staff; replaces idx_notification_staff, whose key it extends
+IF NOT EXISTS (SELECT 1 FROM sys.indexes WHERE name = 'idx_notification_staff_feed' AND object_id = OBJECT_ID(N'[dbo].[Notifications]'))
+BEGIN
+CREATE INDEX idx_notification_staff_feed ON dbo.Notifications ([Staff_ID], [Is_Read], [Created_At], [NotificationID])
+    INCLUDE ([Message], [Type], [Entity_ID], [Entity_Type], [Read_At]);
+END
+
+IF EXISTS (SELECT 1 FROM sys.indexes WHERE name = 'idx_notification_staff' AND object_id = OBJECT_ID(N'[dbo].[Notifications]'))
+BEGIN
+DROP INDEX idx_notification_staff ON dbo.Notifications;
+END
+
+-- Broadcast feed; read state lives in Staff_Notification_State and Staff_Notification_Receipt
+IF NOT EXISTS (SELECT 1 FROM sys.indexes WHERE name = 'idx_notification_audience_feed' AND object_id = OBJECT_ID(N'[dbo].[Notifications]'))
+BEGIN
+CREATE INDEX idx_notification_audience_feed ON dbo.Notifications ([Audience], [Created_At], [NotificationID])
+    INCLUDE ([Message], [Type], [Entity_ID], [Entity_Type]);
+END
+
+
+-- Notifications moved out by the retention job; purged by Archived_At
+IF NOT EXISTS (SELECT * FROM sys.objects WHERE object_id = OBJECT_ID(N'[dbo].[Notifications_Archive]') AND type in (N'U'))
+BEGIN
+CREATE TABLE [dbo].[Notifications_Archive] (
+    [NotificationID] INT NOT NULL PRIMARY KEY,
+    [Message] VARCHAR(255) NOT NULL,
+    [Type] VARCHAR(50) NOT NULL,
+    [Entity_ID] INT NULL,
+    [Entity_Type] VARCHAR(50) NULL,
+    [Staff_ID] INT NULL,
+    [Customer_ID] INT NULL,
+    [Audience] VARCHAR(16) NULL,
+    [Is_Read] BIT NOT NULL,
+    [Created_At] DATETIME2 NOT NULL,
+    [Read_At] DATETIME2 NULL,
+    [Archived_At] DATETIME2 NOT NULL
+    );
+END
+
+IF NOT EXISTS (SELECT 1 FROM sys.indexes WHERE name = 'idx_notification_archive_archived_at' AND object_id = OBJECT_ID(N'[dbo].[Notifications_Archive]'))
+BEGIN
+CREATE INDEX idx_notification_archive_archived_at ON dbo.Notifications_Archive ([Archived_At]);
+END
+
+-- Lets the retention job find old read notifications without scanning the table
+IF NOT EXISTS (SELECT 1 FROM sys.indexes WHERE name = 'idx_notification_retention' AND object_id = OBJECT_ID(N'[dbo].[Notifications]'))
+BEGIN
+CREATE INDEX idx_notification_retention ON dbo.Notifications ([Is_Read], [Created_At]) WHERE [Audience] IS NULL;
+END
+
+
+-- Transactional outbox: order side effects appended with the order, delivered by the relay
+IF NOT EXISTS (SELECT * FROM sys.objects WHERE object_id = OBJECT_ID(N'[dbo].[Outbox_Event]') AND type in (N'U'))
+BEGIN
+CREATE TABLE [dbo].[Outbox_Event] (
+    [Event_ID] BIGINT IDENTITY(1,1) NOT NULL PRIMARY KEY,
+    [Event_Type] VARCHAR(40) NOT NULL,
+    [Aggregate_ID] INT NULL,
+    [Dedup_Key] VARCHAR(150) NULL,
+    [Payload] NVARCHAR(1000) NOT NULL,
+    [Created_At] DATETIME2 NOT NULL,
+    [Attempts] INT NOT NULL DEFAULT 0,
+    [Next_Attempt_At] DATETIME2 NOT NULL,
+    [Processed_At] DATETIME2 NULL,
+    [Failed_At] DATETIME2 NULL,
+    [Last_Error] VARCHAR(500) NULL
+    );
+END
+
+-- Events without a dedup key are never duplicates of one another
+IF NOT EXISTS (SELECT 1 FROM sys.indexes WHERE name = 'UQ_Outbox_Event_Dedup_Key' AND object_id = OBJECT_ID(N'[dbo].[Outbox_Event]'))
+BEGIN
+CREATE UNIQUE INDEX UQ_Outbox_Event_Dedup_Key ON dbo.Outbox_Event ([Dedup_Key]) WHERE [Dedup_Key] IS NOT NULL;
+END
+
+-- The relay's due-event seek only ever sees undelivered rows
+IF NOT EXISTS (SELECT 1 FROM sys.indexes WHERE name = 'idx_outbox_due' AND object_id = OBJECT_ID(N'[dbo].[Outbox_Event]'))
+BEGIN
+CREATE INDEX idx_outbox_due ON dbo.Outbox_Event ([Next_Attempt_At], [Event_ID])
+    WHERE [Processed_At] IS NULL AND [Failed_At] IS NULL;
+END
+
+IF NOT EXISTS (SELECT 1 FROM sys.indexes WHERE name = 'idx_outbox_processed' AND object_id = OBJECT_ID(N'[dbo].[Outbox_Event]'))
+BEGIN
+CREATE INDEX idx_outbox_processed ON dbo.Outbox_Event ([Processed_At]) WHERE [Processed_At] IS NOT NULL;
+END
+
+-- Which consumer has taken which event, so redeliveries are skipped
+IF NOT EXISTS (SELECT * FROM sys.objects WHERE object_id = OBJECT_ID(N'[dbo].[Outbox_Delivery]') AND type in (N'U'))
+BEGIN
+CREATE TABLE [dbo].[Outbox_Delivery] (
+    [Event_ID] BIGINT NOT NULL,
+    [Consumer] VARCHAR(60) NOT NULL,
+    [Delivered_At] DATETIME2 NOT NULL,
+    CONSTRAINT PK_Outbox_Delivery PRIMARY KEY ([Event_ID], [Consumer])
+    );
+END
+
+IF NOT EXISTS (SELECT 1 FROM sys.indexes WHERE name = 'idx_outbox_delivery_delivered_at' AND object_id = OBJECT_ID(N'[dbo].[Outbox_Delivery]'))
+BEGIN
+CREATE INDEX idx_outbox_delivery_delivered_at ON dbo.Outbox_Delivery ([Delivered_At]);
+END
@@ -159,22 +159,15 @@ document.addEventListener('DOMContentLoaded', function() {
     showOnlySection('dashboard');
 
     // Load ONLY dashboard data on initial page load - other sections load when navigated to
-    loadOverview();
-
-    // Reduced auto-refresh frequency: refresh every 60 seconds instead of 15 seconds
-    // This reduces server load while still keeping data relatively fresh
-    if (!window.overviewRefreshTimer) {
-        window.overviewRefreshTimer = setInterval(() => {
-            const dash = document.getElementById('dashboard');
-            if (dash && dash.classList.contains('active')) {
-                loadOverview().catch(() => {});
-            }
-        }, 60000); // Changed from 15000ms (15s) to 60000ms (60s)
-        window.addEventListener('beforeunload', () => {
-            clearInterval(window.overviewRefreshTimer);
-            window.overviewRefreshTimer = null;
-        });
-    }
+    // The overview stream sends the full stats first, then only what changes
+    startOverviewStream();
+    window.addEventListener('beforeunload', () => {
+        stopOverviewPolling();
+        if (window.overviewSource) {
+            window.overviewSource.close();
+            window.overviewSource = null;
+        }
+    });
 
     const customerForm = document.getElementById('createCustomerForm');
     if (customerForm) {
@@ -387,40 +380,91 @@ function setupNavigation() {
 
 
 // Overview
-async function loadOverview() {
-    try {
-        const stats = await apiGet('/api/admin/stats/overview');
-
-        // Update quick stats by card title to support variable cards
-        const cards = document.querySelectorAll('.quick-stats .stat-card');
-        cards.forEach(card => {
-            const title = (card.querySelector('.stat-info h3')?.textContent || '').toLowerCase();
-            const valueEl = card.querySelector('.stat-info .stat-value');
-            if (!valueEl) return;
-
-            if (title.includes('customer')) {
-                valueEl.textContent = Number(stats.totalCustomers || 0).toLocaleString();
-            } else if (title.includes('staff')) {
-                valueEl.textContent = Number(stats.totalStaff || 0).toLocaleString();
-            } else if (title.includes('order')) {
-                valueEl.textContent = Number(stats.ordersToday || 0).toLocaleString();
-            } else if (title.includes('revenue')) {
-                // Kept for compatibility if a revenue card exists in other layouts
-                valueEl.textContent = `$${Number(stats.revenueToday || 0).toLocaleString()}`;
-            }
-        });
+const OVERVIEW_POLL_MS = 60000;
+let overviewState = null;
+
+// Subscribe to the live overview; while the stream is down the page polls instead
+function startOverviewStream() {
+    if (!window.EventSource) {
+        loadOverview();
+        startOverviewPolling();
+        return;
+    }
+    if (window.overviewSource) return;
+
+    const source = new EventSource(API_BASE + '/api/admin/stats/overview/stream');
+    window.overviewSource = source;
+    source.addEventListener('overview', e => {
+        stopOverviewPolling();
+        // The first event after (re)connecting is complete, later ones carry changed fields only
+        overviewState = Object.assign(overviewState || {}, JSON.parse(e.data));
+        renderOverview(overviewState);
+    });
+    source.onerror = () => {
+        startOverviewPolling();
+        // EventSource retries by itself unless the stream was refused (e.g. too many subscribers)
+        if (source.readyState === EventSource.CLOSED) {
+            window.overviewSource = null;
+            setTimeout(startOverviewStream, OVERVIEW_POLL_MS);
+        }
+    };
+}
 
-        // Update revenue chart with last 7 days
-        if (window.revenueChartRef && stats.last7DaysLabels && stats.last7DaysRevenue) {
-            window.revenueChartRef.data.labels = stats.last7DaysLabels;
-            window.revenueChartRef.data.datasets[0].data = stats.last7DaysRevenue.map(v => Number(v));
-            window.revenueChartRef.update();
+function startOverviewPolling() {
+    if (window.overviewRefreshTimer) return;
+    loadOverview().catch(() => {});
+    window.overviewRefreshTimer = setInterval(() => {
+        const dash = document.getElementById('dashboard');
+        if (dash && dash.classList.contains('active')) {
+            loadOverview().catch(() => {});
         }
+    }, OVERVIEW_POLL_MS);
+}
+
+function stopOverviewPolling() {
+    if (window.overviewRefreshTimer) {
+        clearInterval(window.overviewRefreshTimer);
+        window.overviewRefreshTimer = null;
+    }
+}
+
+async function loadOverview() {
+    try {
+        overviewState = await apiGet('/api/admin/stats/overview');
+        renderOverview(overviewState);
     } catch (e) {
         console.error('Failed to load overview', e);
     }
 }
 
+function renderOverview(stats) {
+    // Update quick stats by card title to support variable cards
+    const cards = document.querySelectorAll('.quick-stats .stat-card');
+    cards.forEach(card => {
+        const title = (card.querySelector('.stat-info h3')?.textContent || '').toLowerCase();
+        const valueEl = card.querySelector('.stat-info .stat-value');
+        if (!valueEl) return;
+
+        if (title.includes('customer')) {
+            valueEl.textContent = Number(stats.totalCustomers || 0).toLocaleString();
+        } else if (title.includes('staff')) {
+            valueEl.textContent = Number(stats.totalStaff || 0).toLocaleString();
+        } else if (title.includes('order')) {
+            valueEl.textContent = Number(stats.ordersToday || 0).toLocaleString();
+        } else if (title.includes('revenue')) {
+            // Kept for compatibility if a revenue card exists in other layouts
+            valueEl.textContent = `$${Number(stats.revenueToday || 0).toLocaleString()}`;
+        }
+    });
+
+    // Update revenue chart with last 7 days
+    if (window.revenueChartRef && stats.last7DaysLabels && stats.last7DaysRevenue) {
+        window.revenueChartRef.data.labels = stats.last7DaysLabels;
+        window.revenueChartRef.data.datasets[0].data = stats.last7DaysRevenue.map(v => Number(v));
+        window.revenueChartRef.update();
+    }
+}
+
 
 // Customers
 async function loadCustomers() {
@@ -1218,10 +1262,15 @@ async function saveCurrentReport() {
         });
 
         if (!response.ok) {
-            throw new Error('Failed to save report');
+            throw new Error(await response.text() || 'Failed to save report');
         }
 
-        const savedReport = await response.json();
+        // The report is generated in the background; wait for its job to finish
+        const job = await waitForReportJob(await response.json());
+        if (job.status !== 'DONE') {
+            throw new Error(job.error || 'Report generation failed');
+        }
+        const savedReport = await apiGet(`/api/admin/reports/${job.reportId}`);
 
         alert(`Report saved successfully!\nReport ID: ${savedReport.reportId}\nCompleted Orders: ${savedReport.completedOrderCount}\nTotal Customers: ${savedReport.totalCustomers}\nTotal Income: $${savedReport.totalIncome}`);
 
@@ -1231,19 +1280,28 @@ async function saveCurrentReport() {
     }
 }
 
+async function waitForReportJob(job) {
+    while (job.status === 'QUEUED' || job.status === 'RUNNING') {
+        await new Promise(resolve => setTimeout(resolve, 1000));
+        job = await apiGet(`/api/admin/reports/jobs/${job.jobId}`);
+    }
+    return job;
+}
+
 // View Saved Reports
 async function viewSavedReports() {
     try {
-        // Fetch all saved reports
-        const reports = await apiGet('/api/admin/reports');
+        // Fetch the newest page of saved reports; older pages load on demand
+        const page = await apiGet('/api/admin/reports', { size: REPORTS_PAGE_SIZE });
 
-        if (!reports || reports.length === 0) {
+        if (!page.items || page.items.length === 0) {
             alert('No saved reports found.');
             return;
         }
 
         // Create modal for displaying reports
-        showReportsModal(reports);
+        showReportsModal(page.items);
+        setReportsCursor(page.nextCursor);
 
     } catch (e) {
         console.error('Failed to load saved reports', e);
@@ -1251,6 +1309,28 @@ async function viewSavedReports() {
     }
 }
 
+const REPORTS_PAGE_SIZE = 20;
+
+// Next page of report history after the rows already shown
+async function loadMoreReports() {
+    if (!window.savedReportsCursor) return;
+    try {
+        const page = await apiGet('/api/admin/reports', { size: REPORTS_PAGE_SIZE, cursor: window.savedReportsCursor });
+        document.getElementById('savedReportsTableBody')
+            .insertAdjacentHTML('beforeend', (page.items || []).map(reportRowHtml).join(''));
+        setReportsCursor(page.nextCursor);
+    } catch (e) {
+        console.error('Failed to load more reports', e);
+        alert('Failed to load more reports: ' + e.message);
+    }
+}
+
+function setReportsCursor(cursor) {
+    window.savedReportsCursor = cursor || null;
+    const btn = document.getElementById('loadMoreReportsBtn');
+    if (btn) btn.style.display = cursor ? 'inline-block' : 'none';
+}
+
 // Show Reports Modal
 function showReportsModal(reports) {
     // Check if modal already exists, if not create it
@@ -1285,6 +1365,7 @@ function showReportsModal(reports) {
                             </tbody>
                         </table>
                     </div>
+                    <button id="loadMoreReportsBtn" class="btn btn-outline" style="display: none;" onclick="loadMoreReports()">Load more</button>
                 </div>
             </div>
         `;
@@ -1293,7 +1374,14 @@ function showReportsModal(reports) {
 
     // Populate table with reports
     const tbody = document.getElementById('savedReportsTableBody');
-    tbody.innerHTML = reports.map(report => `
+    tbody.innerHTML = reports.map(reportRowHtml).join('');
+
+    // Open modal
+    openModal('savedReportsModal');
+}
+
+function reportRowHtml(report) {
+    return `
         <tr>
             <td>#RPT-${String(report.reportId).padStart(4, '0')}</td>
             <td>${report.reportDate ? new Date(report.reportDate).toLocaleString() : 'N/A'}</td>
@@ -1313,10 +1401,7 @@ function showReportsModal(reports) {
                 </div>
             </td>
         </tr>
-    `).join('');
-
-    // Open modal
-    openModal('savedReportsModal');
+    `;
 }
 
 // View Report Details
@@ -6,6 +6,13 @@ var custLastUnread = 0;
 var custDropdown = null;
 var custOverlay = null;
 var __custNotifInit = false;
+var custSource = null;
+var custPollTimer = null;
+var custRefreshTimer = null;
+var CUST_POLL_MS = 60000;
+var CUST_PAGE_SIZE = 20;
+var custItems = [];
+var custCursor = null;
 
 function initCustomerNotifications() {
     if (__custNotifInit) return;
@@ -19,7 +26,54 @@ function initCustomerNotifications() {
     createCustDropdownIfNeeded();
     setupCustNotificationHandlers();
     fetchCustomerNotifications();
-    setInterval(fetchCustomerNotifications, 60000);
+    startCustomerNotificationStream();
+}
+
+// Pushed updates; polling only while the stream is unavailable
+function startCustomerNotificationStream() {
+    if (!window.EventSource) {
+        startCustomerPolling();
+        return;
+    }
+    if (custSource) return;
+
+    var source = new EventSource('/api/notifications/customer/' + custCurrentId + '/stream');
+    custSource = source;
+    source.addEventListener('unread', function(e){
+        stopCustomerPolling();
+        updateCustBadges(Number(JSON.parse(e.data).count || 0));
+    });
+    ['notification', 'changed', 'resync'].forEach(function(name){
+        source.addEventListener(name, scheduleCustomerRefresh);
+    });
+    source.onerror = function(){
+        startCustomerPolling();
+        // EventSource retries by itself unless the stream was refused
+        if (source.readyState === EventSource.CLOSED) {
+            custSource = null;
+            setTimeout(startCustomerNotificationStream, CUST_POLL_MS);
+        }
+    };
+}
+
+function scheduleCustomerRefresh() {
+    if (custRefreshTimer) return;
+    custRefreshTimer = setTimeout(function(){
+        custRefreshTimer = null;
+        fetchCustomerNotifications();
+    }, 250);
+}
+
+function startCustomerPolling() {
+    if (custPollTimer) return;
+    custPollTimer = setInterval(fetchCustomerNotifications, CUST_POLL_MS);
+}
+
+function stopCustomerPolling() {
+    if (custPollTimer) {
+        clearInterval(custPollTimer);
+        custPollTimer = null;
+    }
 }
 
 function fetchCustomerNotifications() {
@@ -30,12 +84,30 @@ function fetchCustomerNotifications() {
         .then(function(d){ updateCustBadges(Number(d.count || 0)); })
         .catch(function(err){ console.error('Error fetching customer notification count:', err); });
 
-    fetch('/api/notifications/customer/' + custCurrentId)
+    // First page of the feed; older pages load on demand
+    fetch('/api/notifications/customer/' + custCurrentId + '/feed?size=' + CUST_PAGE_SIZE)
         .then(function(r){ return r.json(); })
-        .then(function(list){ renderCustomerNotifications(Array.isArray(list) ? list : []); })
+        .then(function(page){
+            custItems = Array.isArray(page.items) ? page.items : [];
+            custCursor = page.nextCursor || null;
+            renderCustomerNotifications(custItems);
+        })
         .catch(function(err){ console.error('Error fetching customer notifications:', err); });
 }
 
+function loadOlderCustomerNotifications(e) {
+    e.stopPropagation();
+    if (!custCurrentId || !custCursor) return;
+    fetch('/api/notifications/customer/' + custCurrentId + '/feed?size=' + CUST_PAGE_SIZE + '&cursor=' + encodeURIComponent(custCursor))
+        .then(function(r){ return r.json(); })
+        .then(function(page){
+            custItems = custItems.concat(Array.isArray(page.items) ? page.items : []);
+            custCursor = page.nextCursor || null;
+            renderCustomerNotifications(custItems);
+        })
+        .catch(function(err){ console.error('Error fetching older customer notifications:', err); });
+}
+
 function createCustDropdownIfNeeded() {
     custOverlay = document.getElementById('notification-overlay');
     if (!custOverlay) {
@@ -98,9 +170,13 @@ function renderCustomerNotifications(notifications) {
                 '</div>' +
             '</div>'
         );
-    }).join('');
+    }).join('') + (custCursor
+        ? '<div style="padding:10px;text-align:center;"><button class="btn-inline" id="cust-load-older">Load older</button></div>'
+        : '');
 
     addCustNotificationActionListeners();
+    var olderBtn = document.getElementById('cust-load-older');
+    if (olderBtn) olderBtn.addEventListener('click', loadOlderCustomerNotifications);
 }
 
 function addCustNotificationActionListeners() {
@@ -169,10 +245,15 @@ function custDelete(notificationId, element) {
         .catch(function(err){ console.error(err); });
 }
 
+// One request for all of them rather than one per unread item
 function markAllCustomerNotificationsAsRead() {
-    Array.prototype.forEach.call(document.querySelectorAll('#cust-notification-scroll .notification-item.unread'), function(el){
-        custMarkRead(el.getAttribute('data-id'), el);
-    });
+    if (!custCurrentId) return;
+    fetch('/api/notifications/customer/' + custCurrentId + '/read-all', { method: 'PUT' })
+        .then(function(res){
+            if (!res.ok) throw new Error('Failed to mark all as read');
+            fetchCustomerNotifications();
+        })
+        .catch(function(err){ console.error(err); });
 }
 
 function updateCustBadges(count) {
@@ -9,6 +9,13 @@ let lastUnreadCount = 0;
 let dropdownEl = null;
 let overlayEl = null;
 let __notifInit = false;
+let notificationSource = null;
+let notificationPollTimer = null;
+let notificationRefreshTimer = null;
+const NOTIFICATION_POLL_MS = 60000;
+const NOTIFICATION_PAGE_SIZE = 20;
+let notificationItems = [];
+let notificationCursor = null;
 
 // Initialize the notification system
 function initNotifications() {
@@ -27,9 +34,55 @@ function initNotifications() {
     createDropdownIfNeeded();
     setupNotificationHandlers();
 
-    // Initial fetch and schedule refresh
+    // Initial fetch, then pushed updates (polling only while the stream is unavailable)
     fetchNotifications();
-    setInterval(fetchNotifications, 60000);
+    startNotificationStream();
+}
+
+// Subscribe to pushed notifications; the browser resumes with Last-Event-ID after a drop
+function startNotificationStream() {
+    if (!window.EventSource) {
+        startNotificationPolling();
+        return;
+    }
+    if (notificationSource) return;
+
+    const source = new EventSource(`/api/notifications/staff/${currentStaffId}/stream`);
+    notificationSource = source;
+    source.addEventListener('unread', e => {
+        stopNotificationPolling();
+        updateNotificationBadges(Number(JSON.parse(e.data).count || 0));
+    });
+    ['notification', 'changed', 'resync'].forEach(name => source.addEventListener(name, scheduleNotificationRefresh));
+    source.onerror = () => {
+        startNotificationPolling();
+        // EventSource retries by itself unless the stream was refused (e.g. too many connections)
+        if (source.readyState === EventSource.CLOSED) {
+            notificationSource = null;
+            setTimeout(startNotificationStream, NOTIFICATION_POLL_MS);
+        }
+    };
+}
+
+// Reload the list once for a burst of pushed events
+function scheduleNotificationRefresh() {
+    if (notificationRefreshTimer) return;
+    notificationRefreshTimer = setTimeout(() => {
+        notificationRefreshTimer = null;
+        fetchNotifications();
+    }, 250);
+}
+
+function startNotificationPolling() {
+    if (notificationPollTimer) return;
+    notificationPollTimer = setInterval(fetchNotifications, NOTIFICATION_POLL_MS);
+}
+
+function stopNotificationPolling() {
+    if (notificationPollTimer) {
+        clearInterval(notificationPollTimer);
+        notificationPollTimer = null;
+    }
 }
 
 // Fetch notifications from the server
@@ -44,15 +97,31 @@ function fetchNotifications() {
         })
         .catch(error => console.error('Error fetching notification count:', error));
 
-    // Get all notifications for the dropdown
-    fetch(`/api/notifications/staff/${currentStaffId}`)
+    // First page of the feed for the dropdown; older pages load on demand
+    fetch(`/api/notifications/staff/${currentStaffId}/feed?size=${NOTIFICATION_PAGE_SIZE}`)
         .then(response => response.json())
-        .then(notifications => {
-            renderNotifications(Array.isArray(notifications) ? notifications : []);
+        .then(page => {
+            notificationItems = Array.isArray(page.items) ? page.items : [];
+            notificationCursor = page.nextCursor || null;
+            renderNotifications(notificationItems);
         })
         .catch(error => console.error('Error fetching notifications:', error));
 }
 
+// Append the next page of the feed
+function loadOlderNotifications(e) {
+    e.stopPropagation();
+    if (!currentStaffId || !notificationCursor) return;
+    fetch(`/api/notifications/staff/${currentStaffId}/feed?size=${NOTIFICATION_PAGE_SIZE}&cursor=${encodeURIComponent(notificationCursor)}`)
+        .then(response => response.json())
+        .then(page => {
+            notificationItems = notificationItems.concat(Array.isArray(page.items) ? page.items : []);
+            notificationCursor = page.nextCursor || null;
+            renderNotifications(notificationItems);
+        })
+        .catch(error => console.error('Error fetching older notifications:', error));
+}
+
 // Create dropdown container if missing (glassmorphic w/ header + scroll area)
 function createDropdownIfNeeded() {
     overlayEl = document.getElementById('notification-overlay');
@@ -119,10 +188,14 @@ function renderNotifications(notifications) {
                 </div>
             </div>
         `;
-    }).join('');
+    }).join('') + (notificationCursor
+        ? '<div style="padding:10px;text-align:center;"><button class="btn-inline" id="load-older-notifications">Load older</button></div>'
+        : '');
 
     // Wire events
     addNotificationActionListeners();
+    const olderBtn = document.getElementById('load-older-notifications');
+    if (olderBtn) olderBtn.addEventListener('click', loadOlderNotifications);
 }
 
 // Update notification badges with bounce when increasing
@@ -187,7 +260,7 @@ function onDeleteClick(e) {
 
 // Mark a notification as read
 function markNotificationAsRead(notificationId, notificationElement) {
-    fetch(`/api/notifications/${notificationId}/read`, { method: 'PUT' })
+    fetch(`/api/notifications/${notificationId}/read?staffId=${encodeURIComponent(currentStaffId)}`, { method: 'PUT' })
         .then(res => {
             if (!res.ok) throw new Error('Failed to mark as read');
             notificationElement.classList.remove('unread');
@@ -201,7 +274,7 @@ function markNotificationAsRead(notificationId, notificationElement) {
 
 // Delete a notification
 function deleteNotification(notificationId, notificationElement) {
-    fetch(`/api/notifications/${notificationId}`, { method: 'DELETE' })
+    fetch(`/api/notifications/${notificationId}?staffId=${encodeURIComponent(currentStaffId)}`, { method: 'DELETE' })
         .then(res => {
             if (!res.ok) throw new Error('Failed to delete');
             notificationElement.remove();
@@ -277,13 +350,21 @@ function positionDropdown(anchorEl) {
     dropdownEl.style.top = `${top}px`;
 }
 
-// Mark all notifications as read
+// Mark all notifications as read, broadcasts included, in one request
 function markAllNotificationsAsRead() {
-    const unread = document.querySelectorAll('.notification-item.unread');
-    unread.forEach(item => {
-        const id = item.dataset.id;
-        markNotificationAsRead(id, item);
-    });
+    if (!currentStaffId) return;
+    fetch(`/api/notifications/staff/${currentStaffId}/read-all`, { method: 'PUT' })
+        .then(res => {
+            if (!res.ok) throw new Error('Failed to mark all as read');
+            document.querySelectorAll('.notification-item.unread').forEach(item => {
+                item.classList.remove('unread');
+                item.classList.add('read');
+                const btn = item.querySelector('.mark-read-btn');
+                if (btn) btn.remove();
+            });
+            fetchNotifications();
+        })
+        .catch(err => console.error(err));
 }
 
 // Utilities
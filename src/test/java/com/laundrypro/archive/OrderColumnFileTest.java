@@ -0,0 +1,76 @@
+package com.laundrypro.archive;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.Arrays;
+import java.util.Date;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class OrderColumnFileTest {
+
+    private static final LocalDate START = LocalDate.of(2024, 1, 1);
+    private static final String[] SERVICE_TYPES = {"Wash & Fold", "Dry Cleaning", "Ironing", null};
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void roundTripsEveryColumnThroughTheMapping() throws IOException {
+        int rows = 200_000;
+        long startSecond = START.atStartOfDay(ZoneOffset.UTC).toEpochSecond();
+        OrderColumnWriter writer = new OrderColumnWriter(START, START.plusDays(30));
+        for (int i = 0; i < rows; i++) {
+            writer.add(new Date((startSecond + i * 13L) * 1000), i % 11 == 0 ? null : i % 5_000,
+                    SERVICE_TYPES[i % SERVICE_TYPES.length], 1_000 + i % 5_000, i % 2 == 0 ? "Completed" : "Pending");
+        }
+        Path file = dir.resolve("period.lpoc");
+        long bytes = writer.writeTo(file);
+        assertEquals(Files.size(file), bytes);
+        assertTrue(bytes < rows * 8L, "expected under 8 bytes per row, got " + bytes);
+
+        OrderColumnReader reader = OrderColumnReader.open(file);
+        assertEquals(rows, reader.getRows());
+        assertEquals(START, reader.getPeriodStart());
+        assertEquals(START.plusDays(30), reader.getPeriodEnd());
+        assertEquals(4, reader.getServiceTypes().size());
+        assertEquals("", reader.getServiceTypes().get(3));
+
+        int[] i = {0};
+        reader.scan((second, customerId, serviceType, cents, status) -> {
+            int n = i[0]++;
+            assertEquals(startSecond + n * 13L, second);
+            assertEquals(n % 11 == 0 ? OrderColumnReader.NO_CUSTOMER : n % 5_000, customerId);
+            assertEquals(n % SERVICE_TYPES.length, serviceType);
+            assertEquals(1_000 + n % 5_000, cents);
+            assertEquals(n % 2 == 0 ? "Completed" : "Pending", reader.getStatuses().get(status));
+        });
+        assertEquals(rows, i[0]);
+    }
+
+    @Test
+    void rejectsFilesOfAnotherFormat() throws IOException {
+        Path file = dir.resolve("other.lpoc");
+        Files.write(file, new byte[]{1, 2, 3, 4, 5, 6, 7, 8});
+        assertThrows(IllegalArgumentException.class, () -> OrderColumnReader.open(file));
+    }
+
+    @Test
+    void rejectsColumnsRunningPastTheEndOfTheFile() throws IOException {
+        OrderColumnWriter writer = new OrderColumnWriter(START, START);
+        for (int i = 0; i < 100; i++) {
+            writer.add(new Date(i * 1000L), i, "Ironing", 500, "Pending");
+        }
+        Path file = dir.resolve("truncated.lpoc");
+        long bytes = writer.writeTo(file);
+        byte[] content = Files.readAllBytes(file);
+        Files.write(file, Arrays.copyOf(content, (int) bytes - 10));
+        assertThrows(IllegalArgumentException.class, () -> OrderColumnReader.open(file));
+    }
+}
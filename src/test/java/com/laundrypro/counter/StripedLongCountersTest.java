@@ -0,0 +1,85 @@
+package com.laundrypro.counter;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+import java.util.concurrent.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class StripedLongCountersTest {
+
+    @Test
+    void matchesAHashMapUnderRandomOperations() {
+        StripedLongCounters counters = new StripedLongCounters(4);
+        Map<Long, Long> expected = new HashMap<>();
+        Random random = new Random(42);
+
+        for (int i = 0; i < 200_000; i++) {
+            // Small key space so inserts, deletes and probe-run collisions all happen often
+            long key = random.nextInt(500) - 250L;
+            switch (random.nextInt(5)) {
+                case 0 -> {
+                    long value = random.nextInt(100);
+                    assertEquals((long) expected.computeIfAbsent(key, k -> value), counters.putIfAbsent(key, value));
+                }
+                case 1 -> {
+                    long delta = random.nextInt(7) - 3;
+                    assertEquals(expected.containsKey(key), counters.addIfPresent(key, delta));
+                    expected.computeIfPresent(key, (k, v) -> v + delta);
+                }
+                case 2 -> assertEquals(expected.remove(key) != null, counters.remove(key));
+                case 3 -> {
+                    long value = random.nextInt(100);
+                    counters.put(key, value);
+                    expected.put(key, value);
+                }
+                default -> assertEquals(expected.getOrDefault(key, StripedLongCounters.ABSENT), counters.get(key));
+            }
+        }
+
+        assertEquals(expected.size(), counters.size());
+        long[] keys = counters.keys();
+        Arrays.sort(keys);
+        assertArrayEquals(expected.keySet().stream().mapToLong(Long::longValue).sorted().toArray(), keys);
+        for (Map.Entry<Long, Long> e : expected.entrySet()) {
+            assertEquals((long) e.getValue(), counters.get(e.getKey()));
+        }
+    }
+
+    @Test
+    void addToAllOnlyTouchesPresentKeys() {
+        StripedLongCounters counters = new StripedLongCounters(8);
+        for (long key = 0; key < 100; key++) counters.put(key, key);
+        counters.addToAll(5);
+
+        for (long key = 0; key < 100; key++) assertEquals(key + 5, counters.get(key));
+        assertEquals(StripedLongCounters.ABSENT, counters.get(100));
+    }
+
+    @Test
+    void concurrentIncrementsAreNotLost() throws Exception {
+        StripedLongCounters counters = new StripedLongCounters(16);
+        int keys = 64;
+        int threads = 8;
+        int perThread = 50_000;
+        for (long key = 0; key < keys; key++) counters.put(key, 0);
+
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                futures.add(pool.submit(() -> {
+                    for (int i = 0; i < perThread; i++) counters.addIfPresent(i % keys, 1);
+                }));
+            }
+            for (Future<?> f : futures) f.get(30, TimeUnit.SECONDS);
+        } finally {
+            pool.shutdownNow();
+        }
+
+        long total = 0;
+        for (long key = 0; key < keys; key++) total += counters.get(key);
+        assertEquals((long) threads * perThread, total);
+    }
+}
@@ -0,0 +1,63 @@
+package com.laundrypro.money;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Sums the totals of one million DECIMAL(10,2) orders with a BigDecimal reduce and with
+ * {@link CentsAccumulator}. Run {@link #main} (or org.openjdk.jmh.Main with this class name)
+ * from the test classpath; the GC profiler reports the allocation rate per operation.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MoneyAccumulationBenchmark {
+
+    private static final int ORDERS = 1_000_000;
+
+    private BigDecimal[] totals;
+
+    @Setup
+    public void setUp() {
+        SplittableRandom random = new SplittableRandom(42);
+        totals = new BigDecimal[ORDERS];
+        for (int i = 0; i < ORDERS; i++) {
+            totals[i] = BigDecimal.valueOf(random.nextLong(100, 50_000), 2);
+        }
+        if (bigDecimalReduce().compareTo(centsAccumulator()) != 0) {
+            throw new IllegalStateException("Accumulators disagree");
+        }
+    }
+
+    @Benchmark
+    public BigDecimal bigDecimalReduce() {
+        return Arrays.stream(totals).reduce(BigDecimal.ZERO, BigDecimal::add);
+    }
+
+    @Benchmark
+    public BigDecimal centsAccumulator() {
+        CentsAccumulator sum = new CentsAccumulator();
+        for (BigDecimal total : totals) sum.add(total);
+        return sum.toDecimal();
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options options = new OptionsBuilder()
+                .include(MoneyAccumulationBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .build();
+        new Runner(options).run();
+    }
+}
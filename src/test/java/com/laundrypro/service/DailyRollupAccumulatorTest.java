@@ -0,0 +1,107 @@
+package com.laundrypro.service;
+
+import com.laundrypro.model.OrderDailyRollup;
+import com.laundrypro.repository.projection.OrderScalar;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.Date;
+import java.util.List;
+import java.util.stream.LongStream;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Feeds a million synthetic orders through the accumulator the way a rollup rebuild streams
+ * them from the database, and checks that heap use stays flat while totals stay exact.
+ */
+class DailyRollupAccumulatorTest {
+
+    private static final ZoneId ZONE = ZoneId.of("UTC");
+    private static final LocalDate FIRST_DAY = LocalDate.of(2020, 1, 1);
+    private static final long ORDERS = 1_000_000;
+    private static final long ORDERS_PER_DAY = 1_000;
+    private static final String[] SERVICE_TYPES = {"Wash & Fold", "Dry Cleaning", "Ironing", null};
+
+    @Test
+    void millionOrdersAggregateInConstantMemory() {
+        long[] emitted = new long[4]; // rows, orders, completed, revenue cents
+        DailyRollupAccumulator accumulator = new DailyRollupAccumulator(ZONE, rows -> {
+            for (OrderDailyRollup r : rows) {
+                emitted[0]++;
+                emitted[1] += r.getOrderCount();
+                emitted[2] += r.getCompletedCount();
+                emitted[3] += r.getRevenue().movePointRight(2).longValueExact();
+            }
+        });
+
+        long baseline = usedHeapAfterGc();
+        long peak = 0;
+        try (Stream<OrderScalar> orders = syntheticOrders()) {
+            long[] seen = {0};
+            for (OrderScalar order : (Iterable<OrderScalar>) orders::iterator) {
+                accumulator.add(order);
+                if (++seen[0] % 100_000 == 0) peak = Math.max(peak, usedHeapAfterGc() - baseline);
+            }
+        }
+        accumulator.finish();
+
+        long days = ORDERS / ORDERS_PER_DAY;
+        assertEquals(ORDERS, accumulator.getOrders());
+        assertEquals(days * SERVICE_TYPES.length, emitted[0]);
+        assertEquals(ORDERS, emitted[1]);
+        assertEquals(ORDERS / 2, emitted[2]);
+        assertEquals(expectedRevenueCents(), emitted[3]);
+
+        assertTrue(peak < 16L * 1024 * 1024, "heap grew by " + peak + " bytes while streaming");
+    }
+
+    @Test
+    void rejectsOrdersOutOfDateOrder() {
+        DailyRollupAccumulator accumulator = new DailyRollupAccumulator(ZONE, rows -> { });
+        accumulator.add(order(1, 0));
+        assertThrows(IllegalArgumentException.class, () -> accumulator.add(order(0, 0)));
+    }
+
+    @Test
+    void countsDistinctCustomersPerDayAndServiceType() {
+        long[] customers = {0};
+        DailyRollupAccumulator accumulator = new DailyRollupAccumulator(ZONE,
+                rows -> rows.forEach(r -> customers[0] += r.getDistinctCustomers()));
+        // Indexes 0 and 28 share both service type (i % 4) and customer (i % 7) on the same day
+        for (long i : new long[]{0, 1, 2, 3, 28}) accumulator.add(order(0, i));
+        accumulator.finish();
+        assertEquals(4, customers[0]);
+    }
+
+    private static Stream<OrderScalar> syntheticOrders() {
+        return LongStream.range(0, ORDERS).mapToObj(i -> order(i / ORDERS_PER_DAY, i));
+    }
+
+    private static long expectedRevenueCents() {
+        long sum = 0;
+        for (long i = 0; i < ORDERS; i++) sum += 1_000 + i % 5_000;
+        return sum;
+    }
+
+    private static OrderScalar order(long dayOffset, long i) {
+        Date date = Date.from(FIRST_DAY.plusDays(dayOffset).atStartOfDay(ZONE).toInstant().plusSeconds(i % 86_400));
+        return new OrderScalar() {
+            public Date getDate() { return date; }
+            public Integer getCustomerId() { return (int) (i % 7); }
+            public String getServiceType() { return SERVICE_TYPES[(int) (i % SERVICE_TYPES.length)]; }
+            public BigDecimal getTotal() { return BigDecimal.valueOf(1_000 + i % 5_000, 2); }
+            public BigDecimal getTax() { return BigDecimal.valueOf(i % 100, 2); }
+            public String getStatus() { return i % 2 == 0 ? "Completed" : "Pending"; }
+        };
+    }
+
+    private static long usedHeapAfterGc() {
+        Runtime rt = Runtime.getRuntime();
+        System.gc();
+        return rt.totalMemory() - rt.freeMemory();
+    }
+}
@@ -0,0 +1,212 @@
+package com.laundrypro.service.admin;
+
+import com.laundrypro.repository.CustomerOrderIndexRepository;
+import com.laundrypro.repository.CustomerRepository;
+import com.laundrypro.repository.OrderDailyRollupRepository;
+import com.laundrypro.repository.OrdersRepository;
+import com.laundrypro.repository.ReviewDailyRatingRepository;
+import com.laundrypro.repository.projection.MonthlyCount;
+import com.laundrypro.repository.projection.PeriodTotals;
+import com.laundrypro.repository.projection.RatingTotals;
+import com.laundrypro.repository.projection.ServiceTypeTotals;
+import com.laundrypro.service.CustomerSketchService;
+import com.laundrypro.web.admin.dto.AnalyticsResponse;
+import org.mockito.invocation.InvocationOnMock;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * Latency of {@link AnalyticsService#getAnalytics(String)} with its sections loaded one after
+ * another (one section thread) and fanned out (five), over three years of seeded daily rollups.
+ * Every repository call waits a simulated database round trip before answering from the
+ * seeded data. Run {@link #main} (or org.openjdk.jmh.Main with this class name) from the
+ * test classpath.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class AnalyticsFanOutBenchmark {
+
+    private static final String[] SERVICE_TYPES = {"Wash & Fold", "Dry Cleaning", "Ironing", "Express"};
+
+    @Param({"1", "5"})
+    public int sectionThreads;
+
+    @Param({"month", "year"})
+    public String timeRange;
+
+    @Param({"2000"})
+    public long roundTripMicros;
+
+    private final List<PeriodTotals> days = new ArrayList<>();
+    private final List<PeriodTotals> months = new ArrayList<>();
+    private final List<MonthlyCount> firstOrders = new ArrayList<>();
+    private final Map<YearMonth, Long> activeCustomers = new TreeMap<>();
+    private AnalyticsService service;
+
+    @Setup
+    public void setUp() {
+        seed(LocalDate.now().minusYears(3), LocalDate.now());
+
+        OrdersRepository orders = mock(OrdersRepository.class);
+        OrderDailyRollupRepository rollups = mock(OrderDailyRollupRepository.class);
+        CustomerOrderIndexRepository customerIndex = mock(CustomerOrderIndexRepository.class);
+        ReviewDailyRatingRepository ratings = mock(ReviewDailyRatingRepository.class);
+        CustomerSketchService sketches = mock(CustomerSketchService.class);
+        PlatformTransactionManager transactionManager = mock(PlatformTransactionManager.class);
+
+        when(transactionManager.getTransaction(any())).thenReturn(new SimpleTransactionStatus());
+        when(rollups.sumByDay(any(), any())).thenAnswer(inv -> roundTrip(between(days, inv)));
+        when(rollups.sumByMonth(any(), any())).thenAnswer(inv -> roundTrip(between(months, inv)));
+        when(rollups.sumByServiceType(any(), any())).thenAnswer(inv -> roundTrip(serviceTypes(inv)));
+        when(customerIndex.countFirstOrdersByMonth(any(), any())).thenAnswer(inv -> roundTrip(firstOrdersBetween(inv)));
+        when(customerIndex.countByFirstOrderDateBetween(any(), any())).thenAnswer(inv -> roundTrip(
+                firstOrdersBetween(inv).stream().mapToLong(MonthlyCount::getCustomerCount).sum()));
+        when(sketches.estimateDistinctCustomersByMonth(any(), any())).thenAnswer(inv -> roundTrip(activeBetween(inv)));
+        when(ratings.sumByDimension(any())).thenAnswer(inv -> roundTrip(rating(48_000)));
+        when(ratings.sumByDimensionBetween(any(), any(), any())).thenAnswer(inv -> roundTrip(rating(1_200)));
+
+        service = new AnalyticsService(orders, mock(CustomerRepository.class), ratings, rollups, customerIndex,
+                sketches, transactionManager, false, sectionThreads, 60_000);
+        if (!service.getAnalytics(timeRange).getIncompleteSections().isEmpty()) {
+            throw new IllegalStateException("Seeded analytics left sections incomplete");
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        service.shutdown();
+    }
+
+    @Benchmark
+    public AnalyticsResponse getAnalytics() {
+        return service.getAnalytics(timeRange);
+    }
+
+    private void seed(LocalDate first, LocalDate last) {
+        SplittableRandom random = new SplittableRandom(42);
+        Map<YearMonth, long[]> byMonth = new TreeMap<>(); // {orders, completed, cents}
+        for (LocalDate day = first; !day.isAfter(last); day = day.plusDays(1)) {
+            long orderCount = random.nextLong(20, 120);
+            long completed = orderCount - random.nextLong(0, 10);
+            long cents = orderCount * random.nextLong(1_500, 6_000);
+            days.add(totals(day, orderCount, completed, cents));
+            long[] month = byMonth.computeIfAbsent(YearMonth.from(day), k -> new long[3]);
+            month[0] += orderCount;
+            month[1] += completed;
+            month[2] += cents;
+        }
+        byMonth.forEach((month, t) -> {
+            LocalDate start = month.atDay(1).isBefore(first) ? first : month.atDay(1);
+            months.add(totals(start, t[0], t[1], t[2]));
+            long newCustomers = random.nextLong(40, 200);
+            firstOrders.add(monthly(start, newCustomers));
+            activeCustomers.put(month, newCustomers * 4 + random.nextLong(0, 300));
+        });
+    }
+
+    private List<PeriodTotals> between(List<PeriodTotals> rows, InvocationOnMock inv) {
+        LocalDate start = inv.getArgument(0);
+        LocalDate end = inv.getArgument(1);
+        List<PeriodTotals> out = new ArrayList<>();
+        for (PeriodTotals t : rows) {
+            if (!t.getPeriodStart().isBefore(start) && !t.getPeriodStart().isAfter(end)) out.add(t);
+        }
+        return out;
+    }
+
+    private List<MonthlyCount> firstOrdersBetween(InvocationOnMock inv) {
+        LocalDate start = inv.getArgument(0);
+        LocalDate end = inv.getArgument(1);
+        List<MonthlyCount> out = new ArrayList<>();
+        for (MonthlyCount c : firstOrders) {
+            if (!c.getPeriodStart().isBefore(start) && !c.getPeriodStart().isAfter(end)) out.add(c);
+        }
+        return out;
+    }
+
+    private Map<YearMonth, Long> activeBetween(InvocationOnMock inv) {
+        YearMonth start = YearMonth.from(inv.<LocalDate>getArgument(0));
+        YearMonth end = YearMonth.from(inv.<LocalDate>getArgument(1));
+        Map<YearMonth, Long> out = new TreeMap<>();
+        activeCustomers.forEach((month, count) -> {
+            if (!month.isBefore(start) && !month.isAfter(end)) out.put(month, count);
+        });
+        return out;
+    }
+
+    private List<ServiceTypeTotals> serviceTypes(InvocationOnMock inv) {
+        long orderCount = between(days, inv).stream().mapToLong(PeriodTotals::getOrderCount).sum();
+        List<ServiceTypeTotals> out = new ArrayList<>();
+        for (int i = 0; i < SERVICE_TYPES.length; i++) {
+            String type = SERVICE_TYPES[i];
+            long typeOrders = orderCount / (i + 2);
+            BigDecimal revenue = BigDecimal.valueOf(typeOrders * 3_000, 2);
+            out.add(new ServiceTypeTotals() {
+                public String getServiceType() { return type; }
+                public long getOrderCount() { return typeOrders; }
+                public BigDecimal getRevenue() { return revenue; }
+            });
+        }
+        return out;
+    }
+
+    private <T> T roundTrip(T value) {
+        LockSupport.parkNanos(TimeUnit.MICROSECONDS.toNanos(roundTripMicros));
+        return value;
+    }
+
+    private static PeriodTotals totals(LocalDate start, long orderCount, long completed, long cents) {
+        BigDecimal revenue = BigDecimal.valueOf(cents, 2);
+        return new PeriodTotals() {
+            public LocalDate getPeriodStart() { return start; }
+            public long getOrderCount() { return orderCount; }
+            public long getCompletedCount() { return completed; }
+            public BigDecimal getRevenue() { return revenue; }
+        };
+    }
+
+    private static MonthlyCount monthly(LocalDate start, long count) {
+        return new MonthlyCount() {
+            public LocalDate getPeriodStart() { return start; }
+            public long getCustomerCount() { return count; }
+        };
+    }
+
+    private static RatingTotals rating(long count) {
+        return new RatingTotals() {
+            public long getRatingSum() { return count * 4; }
+            public long getRatingCount() { return count; }
+            public long getCount1() { return count / 20; }
+            public long getCount2() { return count / 20; }
+            public long getCount3() { return count / 10; }
+            public long getCount4() { return count * 3 / 10; }
+            public long getCount5() { return count - count / 20 * 2 - count / 10 - count * 3 / 10; }
+        };
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options options = new OptionsBuilder()
+                .include(AnalyticsFanOutBenchmark.class.getSimpleName())
+                .build();
+        new Runner(options).run();
+    }
+}
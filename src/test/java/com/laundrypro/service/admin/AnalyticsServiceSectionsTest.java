@@ -0,0 +1,119 @@
+package com.laundrypro.service.admin;
+
+import com.laundrypro.repository.CustomerOrderIndexRepository;
+import com.laundrypro.repository.CustomerRepository;
+import com.laundrypro.repository.OrderDailyRollupRepository;
+import com.laundrypro.repository.OrdersRepository;
+import com.laundrypro.repository.ReviewDailyRatingRepository;
+import com.laundrypro.repository.projection.RatingTotals;
+import com.laundrypro.service.CustomerSketchService;
+import com.laundrypro.web.admin.dto.AnalyticsResponse;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.stubbing.Answer;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * Section fan-out of {@link AnalyticsService}: sections that fail or miss the deadline are
+ * left out and listed, the others still make it into the response.
+ */
+class AnalyticsServiceSectionsTest {
+
+    private static final long TIMEOUT_MS = 500;
+
+    private final OrdersRepository orders = mock(OrdersRepository.class);
+    private final OrderDailyRollupRepository rollups = mock(OrderDailyRollupRepository.class);
+    private final CustomerOrderIndexRepository customerIndex = mock(CustomerOrderIndexRepository.class);
+    private final ReviewDailyRatingRepository ratings = mock(ReviewDailyRatingRepository.class);
+    private final CustomerSketchService sketches = mock(CustomerSketchService.class);
+    private final PlatformTransactionManager transactionManager = mock(PlatformTransactionManager.class);
+    // Held closed for the duration of a test, so a section waiting on it cannot finish in time
+    private final CountDownLatch release = new CountDownLatch(1);
+
+    private AnalyticsService service;
+
+    @BeforeEach
+    void setUp() {
+        when(transactionManager.getTransaction(any())).thenReturn(new SimpleTransactionStatus());
+        when(rollups.sumByDay(any(), any())).thenReturn(Collections.emptyList());
+        when(rollups.sumByMonth(any(), any())).thenReturn(Collections.emptyList());
+        when(rollups.sumByServiceType(any(), any())).thenReturn(Collections.emptyList());
+        when(customerIndex.countFirstOrdersByMonth(any(), any())).thenReturn(Collections.emptyList());
+        when(customerIndex.countByFirstOrderDateBetween(any(), any())).thenReturn(0L);
+        when(orders.countDistinctCustomersBetween(any(), any())).thenReturn(0L);
+        when(sketches.estimateDistinctCustomersByMonth(any(), any())).thenReturn(Collections.emptyMap());
+        when(ratings.sumByDimension(any())).thenReturn(null);
+        when(ratings.sumByDimensionBetween(any(), any(), any())).thenReturn(null);
+
+        service = new AnalyticsService(orders, mock(CustomerRepository.class), ratings, rollups, customerIndex,
+                sketches, transactionManager, false, 5, TIMEOUT_MS);
+    }
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        service.shutdown();
+    }
+
+    @Test
+    void allSectionsCompleteWhenNothingIsSlow() {
+        AnalyticsResponse response = service.getAnalytics("month");
+
+        assertEquals(List.of(), response.getIncompleteSections());
+        assertNotNull(response.getRevenueData());
+        assertNotNull(response.getServiceDistribution());
+        assertNotNull(response.getSummaryStats());
+    }
+
+    @Test
+    void sectionPastTheDeadlineIsReportedAsIncomplete() {
+        when(ratings.sumByDimension(any())).thenAnswer(blocked((RatingTotals) null));
+        when(ratings.sumByDimensionBetween(any(), any(), any())).thenAnswer(blocked((RatingTotals) null));
+
+        AnalyticsResponse response = service.getAnalytics("month");
+
+        assertEquals(List.of("ratings"), response.getIncompleteSections());
+        assertNotNull(response.getRevenueData());
+        assertNotNull(response.getSummaryStats());
+    }
+
+    @Test
+    void failingSectionIsReportedAsIncomplete() {
+        when(rollups.sumByServiceType(any(), any())).thenThrow(new IllegalStateException("connection reset"));
+
+        AnalyticsResponse response = service.getAnalytics("month");
+
+        assertEquals(List.of("serviceDistribution"), response.getIncompleteSections());
+        assertNull(response.getServiceDistribution());
+        assertNotNull(response.getRevenueData());
+    }
+
+    @Test
+    void everySlowSectionIsListedInSectionOrder() {
+        when(rollups.sumByServiceType(any(), any())).thenAnswer(blocked(Collections.emptyList()));
+        when(ratings.sumByDimension(any())).thenAnswer(blocked((RatingTotals) null));
+        when(ratings.sumByDimensionBetween(any(), any(), any())).thenAnswer(blocked((RatingTotals) null));
+
+        AnalyticsResponse response = service.getAnalytics("month");
+
+        assertEquals(List.of("serviceDistribution", "ratings"), response.getIncompleteSections());
+        assertNotNull(response.getRevenueData());
+    }
+
+    private <T> Answer<T> blocked(T value) {
+        return invocation -> {
+            release.await();
+            return value;
+        };
+    }
+}
@@ -0,0 +1,80 @@
+package com.laundrypro.service.admin;
+
+import com.laundrypro.model.OrderDailyRollup;
+import com.laundrypro.model.ReviewDailyRating;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DailyPrefixSumsTest {
+
+    private static final LocalDate FIRST = LocalDate.of(2020, 1, 1);
+    private static final LocalDate LAST = LocalDate.of(2024, 12, 31);
+    private static final String[] TYPES = {"Dry Clean", "Ironing", "Wash & Fold"};
+
+    @Test
+    void rangesMatchSummingTheDays() {
+        Random random = new Random(7);
+        List<OrderDailyRollup> rollups = new ArrayList<>();
+        List<ReviewDailyRating> ratings = new ArrayList<>();
+        for (LocalDate day = FIRST; !day.isAfter(LAST); day = day.plusDays(1)) {
+            for (String type : TYPES) {
+                if (random.nextInt(4) == 0) continue;
+                long orders = 1 + random.nextInt(20);
+                rollups.add(new OrderDailyRollup(day, type, orders, orders / 2,
+                        BigDecimal.valueOf(random.nextInt(100_000), 2), BigDecimal.ZERO, orders));
+            }
+            long count = random.nextInt(5);
+            ratings.add(new ReviewDailyRating(day, ReviewDailyRating.OVERALL, count * 4, count, 0, 0, 0, count, 0));
+            ratings.add(new ReviewDailyRating(day, ReviewDailyRating.SERVICE, 99, 1, 0, 0, 0, 0, 1));
+        }
+        DailyPrefixSums sums = DailyPrefixSums.build(FIRST, LAST, rollups, ratings);
+
+        for (int i = 0; i < 200; i++) {
+            LocalDate from = FIRST.plusDays(random.nextInt(1900));
+            LocalDate to = from.plusDays(random.nextInt(400));
+            long orders = 0, completed = 0, cents = 0, washOrders = 0, ratingCount = 0;
+            for (OrderDailyRollup r : rollups) {
+                if (r.getRollupDate().isBefore(from) || r.getRollupDate().isAfter(to)) continue;
+                orders += r.getOrderCount();
+                completed += r.getCompletedCount();
+                cents += r.getRevenue().movePointRight(2).longValueExact();
+                if (r.getServiceType().equals("Wash & Fold")) washOrders += r.getOrderCount();
+            }
+            for (ReviewDailyRating r : ratings) {
+                if (r.getDimension().equals(ReviewDailyRating.OVERALL)
+                        && !r.getRatingDate().isBefore(from) && !r.getRatingDate().isAfter(to)) {
+                    ratingCount += r.getRatingCount();
+                }
+            }
+            assertEquals(orders, sums.orders(from, to));
+            assertEquals(completed, sums.completed(from, to));
+            assertEquals(cents, sums.cents(from, to));
+            assertEquals(ratingCount, sums.ratingCount(from, to));
+            assertEquals(ratingCount * 4, sums.ratingSum(from, to));
+            Map<String, long[]> byType = sums.byServiceType(from, to);
+            assertEquals(washOrders, byType.containsKey("Wash & Fold") ? byType.get("Wash & Fold")[0] : 0L);
+        }
+    }
+
+    @Test
+    void rangesOutsideTheIndexAreClamped() {
+        List<OrderDailyRollup> rollups = List.of(
+                new OrderDailyRollup(FIRST, "Ironing", 3, 1, new BigDecimal("12.50"), BigDecimal.ZERO, 2),
+                new OrderDailyRollup(LAST, "Ironing", 2, 2, new BigDecimal("7.50"), BigDecimal.ZERO, 1));
+        DailyPrefixSums sums = DailyPrefixSums.build(FIRST, LAST, rollups, List.of());
+
+        assertEquals(5, sums.orders(FIRST.minusYears(1), LAST.plusYears(1)));
+        assertEquals(2000, sums.cents(FIRST.minusDays(3), LAST));
+        assertEquals(0, sums.orders(LAST.plusDays(1), LAST.plusDays(30)));
+        assertEquals(0, sums.orders(FIRST.minusDays(30), FIRST.minusDays(1)));
+        assertTrue(sums.byServiceType(FIRST.plusDays(1), LAST.minusDays(1)).isEmpty());
+    }
+}
@@ -0,0 +1,131 @@
+package com.laundrypro.service.admin;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.laundrypro.repository.OrdersRepository;
+import com.laundrypro.repository.projection.OrderExportRow;
+import org.junit.jupiter.api.Test;
+
+import java.io.*;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.Date;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Streams a million synthetic orders through the export in each format and checks each pass
+ * stays above a throughput floor. The repository is mocked, so this covers formatting,
+ * compression and buffering only.
+ */
+class OrderExportThroughputTest {
+
+    private static final long ROWS = 1_000_000;
+    // Roughly a tenth of what a single core manages; only a regression to per-row flushing trips it.
+    private static final long MIN_ROWS_PER_SECOND = 25_000;
+    private static final LocalDate DAY = LocalDate.of(2024, 1, 1);
+
+    @Test
+    void millionRowThroughput() throws IOException {
+        OrderExportService service = serviceStreaming(ROWS);
+        ReportPeriod period = new ReportPeriod(DAY, DAY.plusDays(30));
+
+        for (OrderExportFormat format : OrderExportFormat.values()) {
+            long plainBytes = 0;
+            for (boolean gzip : new boolean[]{false, true}) {
+                CountingOutputStream out = new CountingOutputStream();
+                long started = System.nanoTime();
+                long rows = service.export(period, format, gzip, out);
+                double seconds = (System.nanoTime() - started) / 1e9;
+
+                assertEquals(ROWS, rows);
+                assertTrue(out.closed, "export must close the stream");
+                assertTrue(rows / seconds >= MIN_ROWS_PER_SECOND, String.format(
+                        "%s gzip=%s exported %,.0f rows/sec", format, gzip, rows / seconds));
+                if (gzip) {
+                    assertTrue(out.bytes < plainBytes, format + " gzip output is not smaller than plain");
+                } else {
+                    plainBytes = out.bytes;
+                }
+            }
+        }
+    }
+
+    @Test
+    void csvQuotesFieldsAndRoundTripsThroughGzip() throws IOException {
+        OrderExportService service = serviceStreaming(3);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        service.export(new ReportPeriod(DAY, DAY), OrderExportFormat.CSV, true, out);
+
+        List<String> lines;
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(
+                new GZIPInputStream(new ByteArrayInputStream(out.toByteArray())), StandardCharsets.UTF_8))) {
+            lines = reader.lines().collect(Collectors.toList());
+        }
+        assertEquals(String.join(",", OrderExportWriter.COLUMNS), lines.get(0));
+        assertEquals(4, lines.size());
+        assertTrue(lines.get(1).startsWith("0,2024-01-01 00:00:00,0,\"Doe, \"\"Jane\"\"\",Wash & Fold,10.00,0.00,10.00,Completed,,"),
+                lines.get(1));
+    }
+
+    @Test
+    void ndjsonWritesOneObjectPerLine() throws IOException {
+        OrderExportService service = serviceStreaming(2);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        service.export(new ReportPeriod(DAY, DAY), OrderExportFormat.NDJSON, false, out);
+
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+        assertEquals(2, lines.length);
+        JsonNode first = new ObjectMapper().readTree(lines[0]);
+        assertEquals("Doe, \"Jane\"", first.get("customerName").asText());
+        assertTrue(lines[0].contains("\"total\":10.00"), lines[0]);
+        assertTrue(first.get("paymentId").isNull());
+    }
+
+    private static OrderExportService serviceStreaming(long rows) {
+        OrdersRepository ordersRepository = mock(OrdersRepository.class);
+        when(ordersRepository.streamExportRowsBetween(any(), any()))
+                .thenAnswer(inv -> LongStream.range(0, rows).mapToObj(OrderExportThroughputTest::row));
+        return new OrderExportService(ordersRepository);
+    }
+
+    private static OrderExportRow row(long i) {
+        Date date = Date.from(DAY.atStartOfDay(ZoneId.systemDefault()).toInstant().plusSeconds(i % 86_400));
+        return new OrderExportRow() {
+            public Integer getOrderId() { return (int) i; }
+            public Date getDate() { return date; }
+            public Integer getCustomerId() { return (int) (i % 5_000); }
+            public String getCustomerName() { return i % 3 == 0 ? "Doe, \"Jane\"" : "Customer " + (i % 5_000); }
+            public String getServiceType() { return "Wash & Fold"; }
+            public BigDecimal getSubTotal() { return BigDecimal.valueOf(1_000 + i % 5_000, 2); }
+            public BigDecimal getTax() { return BigDecimal.valueOf(i % 100, 2); }
+            public BigDecimal getTotal() { return BigDecimal.valueOf(1_000 + i % 5_000 + i % 100, 2); }
+            public String getStatus() { return i % 2 == 0 ? "Completed" : "Pending"; }
+            public Integer getPaymentId() { return i % 2 == 0 ? null : (int) i; }
+            public Integer getStaffId() { return i % 2 == 0 ? null : 7; }
+        };
+    }
+
+    private static final class CountingOutputStream extends OutputStream {
+        private long bytes;
+        private boolean closed;
+
+        @Override
+        public void write(int b) { bytes++; }
+
+        @Override
+        public void write(byte[] b, int off, int len) { bytes += len; }
+
+        @Override
+        public void close() { closed = true; }
+    }
+}
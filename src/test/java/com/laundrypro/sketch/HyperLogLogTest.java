@@ -0,0 +1,71 @@
+package com.laundrypro.sketch;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class HyperLogLogTest {
+
+    // Three standard errors of the default precision (~4.9%); failures beyond this are not chance
+    private static final double TOLERANCE = 3 * HyperLogLog.relativeStandardError(HyperLogLog.DEFAULT_PRECISION);
+
+    @Test
+    void estimatesStayWithinErrorBounds() {
+        for (int n : new int[]{10, 100, 1_000, 10_000, 100_000, 1_000_000}) {
+            HyperLogLog sketch = new HyperLogLog();
+            for (int id = 1; id <= n; id++) sketch.offer(id);
+            assertWithinBound(n, sketch.estimate());
+        }
+    }
+
+    @Test
+    void duplicatesDoNotChangeTheEstimate() {
+        HyperLogLog sketch = new HyperLogLog();
+        SplittableRandom random = new SplittableRandom(7);
+        for (int i = 0; i < 200_000; i++) sketch.offer(random.nextInt(5_000));
+        assertWithinBound(5_000, sketch.estimate());
+    }
+
+    @Test
+    void mergedDailySketchesEstimateTheUnion() {
+        // 30 days of 2,000 customers each, drawn from a pool of 20,000 ids
+        SplittableRandom random = new SplittableRandom(11);
+        boolean[] seen = new boolean[20_000];
+        HyperLogLog month = new HyperLogLog();
+        for (int day = 0; day < 30; day++) {
+            HyperLogLog daily = new HyperLogLog();
+            for (int i = 0; i < 2_000; i++) {
+                int id = random.nextInt(seen.length);
+                seen[id] = true;
+                daily.offer(id);
+            }
+            HyperLogLog restored = HyperLogLog.fromBytes(daily.getPrecision(), daily.toBytes());
+            assertEquals(daily, restored);
+            month.merge(restored);
+        }
+        int distinct = 0;
+        for (boolean s : seen) if (s) distinct++;
+        assertWithinBound(distinct, month.estimate());
+    }
+
+    @Test
+    void emptySketchEstimatesZero() {
+        HyperLogLog sketch = new HyperLogLog();
+        assertTrue(sketch.isEmpty());
+        assertEquals(0, sketch.estimate());
+    }
+
+    @Test
+    void rejectsMismatchedPrecision() {
+        assertThrows(IllegalArgumentException.class, () -> new HyperLogLog(12).merge(new HyperLogLog(10)));
+        assertThrows(IllegalArgumentException.class, () -> HyperLogLog.fromBytes(12, new byte[16]));
+    }
+
+    private static void assertWithinBound(long actual, long estimate) {
+        double error = Math.abs(estimate - actual) / (double) actual;
+        assertTrue(error <= TOLERANCE,
+                "estimate " + estimate + " for " + actual + " is off by " + String.format("%.2f%%", error * 100));
+    }
+}